@@ -0,0 +1,106 @@
+package net.dalamori.GMFriend.interpreter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nested MapCommand lookups vs. the compiled {@link CommandTrie}, over a tree shaped like the real one: a
+ * prefixed root of ten menus, each with a dozen subcommands plus aliases. Leaves do nothing, so only the walk
+ * down the tree is measured.
+ *
+ * Run with ./gradlew jmh; add profilers = ['gc'] to the jmh block in build.gradle to see allocation per command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+    private static final String PREFIX = ";;";
+    private static final String[] MENUS = {"creature", "goto", "help", "here", "location", "mobile", "note", "ping",
+            "turn", "var"};
+    private static final String[] SUBCOMMANDS = {"blank", "damage", "delete", "heal", "init", "kill", "list", "maxhp",
+            "move", "new", "set", "show", "unset"};
+
+    @Param({";;mob dmg goblin 3", ";; turn next", ";;CREATURE show Goblin", ";;chatter that isn't a command"})
+    public String line;
+
+    private List<String> tokens;
+    private MapCommand mapRoot;
+    private CommandTrie trie;
+
+    @Setup
+    public void setup() {
+        AbstractCommand leaf = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) {
+                context.setResponse("");
+            }
+        };
+
+        MapCommand unprefixed = new MapCommand();
+        unprefixed.setDefaultAction(leaf);
+        for (String menuName : MENUS) {
+            MapCommand menu = new MapCommand();
+            menu.setDefaultAction(leaf);
+            for (String subcommand : SUBCOMMANDS) {
+                menu.getMap().put(subcommand, leaf);
+            }
+            menu.alias("dmg", "damage");
+            menu.alias("remove", "delete");
+            unprefixed.getMap().put(menuName, menu);
+        }
+        unprefixed.alias("cret", "creature");
+        unprefixed.alias("mob", "mobile");
+        unprefixed.alias("room", "location");
+
+        // built the same way InterpreterConfig builds the root
+        mapRoot = new MapCommand();
+        for (Map.Entry<String, AbstractCommand> entry : unprefixed.getMap().entrySet()) {
+            mapRoot.getMap().put(PREFIX.concat(entry.getKey()), entry.getValue());
+            mapRoot.getLabels().put(PREFIX.concat(entry.getKey()), unprefixed.labelOf(entry.getKey()));
+        }
+        mapRoot.getMap().put(PREFIX, unprefixed);
+        mapRoot.getLabels().put(PREFIX, "");
+        mapRoot.setDefaultAction(leaf);
+
+        trie = CommandTrie.compile(mapRoot);
+        tokens = Arrays.asList(line.split("\\s+"));
+    }
+
+    @Benchmark
+    public CommandContext mapCommand() throws Exception {
+        CommandContext context = newContext();
+        mapRoot.handle(context);
+        return context;
+    }
+
+    @Benchmark
+    public CommandContext commandTrie() throws Exception {
+        CommandContext context = newContext();
+        trie.handle(context);
+        return context;
+    }
+
+    private CommandContext newContext() {
+        CommandContext context = new CommandContext();
+        context.setCommand(tokens);
+        return context;
+    }
+}
@@ -0,0 +1,54 @@
+package net.dalamori.GMFriend.interpreter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The old split("\\s+") tokenizer vs. {@link TokenView}, for parsing a line, looking up the command, and
+ * reading the rest of the line the way PropertySetCommand and the note commands do.
+ *
+ * Allocation is the point here; run with profilers = ['gc'] in the jmh block of build.gradle and compare
+ * gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizeBenchmark {
+
+    @Param({";;mob dmg goblin 3", ";;mob set goblin notes The goblin is hiding behind the third barrel on the left"})
+    public String line;
+
+    @Benchmark
+    public String split() {
+        CommandContext context = new CommandContext();
+        context.setCommand(Arrays.asList(line.split("\\s+")));
+        return read(context);
+    }
+
+    @Benchmark
+    public String tokenView() {
+        CommandContext context = new CommandContext();
+        context.setCommand(TokenView.parse(line));
+        return read(context);
+    }
+
+    private static String read(CommandContext context) {
+        context.setIndex(2);
+        String name = AbstractCommand.getCurrentCommandPart(context);
+        return name.length() + AbstractCommand.getRemainingCommand(context, 1);
+    }
+}
@@ -0,0 +1,169 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.models.Location;
+import net.dalamori.GMFriend.models.LocationLink;
+import net.dalamori.GMFriend.models.Note;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The old String +=, String.format and replaceAll printers vs. the {@link Template} ones, for a location sheet
+ * and the note list. At 2000 notes the list is well past the 20000 char budget, where the template printer stops
+ * early and the old one built the whole string for the channel to refuse.
+ *
+ * Run with ./gradlew jmh; add profilers = ['gc'] to the jmh block in build.gradle and compare
+ * gc.alloc.rate.norm for allocation per print.
+ *
+ * Results on JDK 1.8.0_392, one CPU, the settings below with -prof gc (average time, then gc.alloc.rate.norm):
+ *
+ * <pre>
+ * benchmark   notes   String.format (before)          Template (after)
+ * location       10       74.5 ± 16.8 us   169,256 B      7.8 ± 3.1 us    5,064 B
+ * location     2000      185.8 ± 136 us    385,704 B     12.0 ± 9.2 us    8,512 B
+ * noteList       10       20.8 ± 6.2 us     22,680 B      1.4 ± 0.3 us    1,160 B
+ * noteList     2000     74,278 ± 41,025 us  277.7 MB    113.2 ± 53.3 us  108,528 B
+ * </pre>
+ *
+ * (the location sheet holds at most 20 of the notes, so its 2000 row prints 20.)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrinterBenchmark {
+
+    private static final String HR = "-=-=-=-=-=-=-=-=-=-\n";
+    private static final String BULLET = "▸";
+
+    @Param({"10", "2000"})
+    public int notes;
+
+    private Location location;
+    private List<Note> noteList;
+    private PrettyPrinter<Location> locationPrinter;
+    private PrettyPrinter<Iterable<Note>> noteListPrinter;
+
+    @Setup
+    public void setup() {
+        DmFriendConfig config = new DmFriendConfig();
+        config.setInterpreterPrinterHr(HR);
+        config.setInterpreterPrinterBullet(BULLET);
+        config.setInterpreterPrinterEmphasisBullet("★");
+        config.setDiscordOutboundMaxBacklogChars(20000);
+
+        PrinterFactory factory = new PrinterFactory();
+        factory.setConfig(config);
+        locationPrinter = factory.getLocationPrinter();
+        noteListPrinter = factory.getNoteListPrinter();
+
+        noteList = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            Note note = new Note();
+            note.setId((long) i);
+            note.setTitle("Rumour_number_" + i);
+            note.setBody("The innkeeper swears the cellar door was locked from the inside; nobody believes him.\n");
+            note.setOwner("Spiderman");
+            noteList.add(note);
+        }
+
+        location = new Location();
+        location.setId(7L);
+        location.setName("The_Prancing_Pony");
+        location.setOwner("Spiderman");
+        location.getNotes().addAll(noteList.subList(0, Math.min(notes, 20)));
+        for (int i = 0; i < 6; i++) {
+            Location destination = new Location();
+            destination.setId((long) (100 + i));
+            destination.setName("Road_" + i);
+
+            LocationLink link = new LocationLink();
+            link.setDestination(destination);
+            link.setShortDescription("a muddy track heading off into the rain");
+            location.getLinks().add(link);
+        }
+    }
+
+    @Benchmark
+    public String locationFormat() {
+        return legacyLocation(location);
+    }
+
+    @Benchmark
+    public String locationTemplate() {
+        return locationPrinter.print(location);
+    }
+
+    @Benchmark
+    public String noteListFormat() {
+        return legacyNoteList(noteList);
+    }
+
+    @Benchmark
+    public String noteListTemplate() {
+        return noteListPrinter.print(noteList);
+    }
+
+    // the printers as they were
+
+    private static String legacyLocation(Location location) {
+        String output = String.format("[Location #%d] **%s**\n", location.getId(), location.getName().replaceAll("_", " ")) +
+                HR;
+
+        if (location.getNotes().size() > 0) {
+            output += "__Notes__:\n";
+            for (Note note : location.getNotes()) {
+                output += String.format("%s [N#%d] **%s**: %s\n",
+                        BULLET,
+                        note.getId(),
+                        note.getTitle().replaceAll("_", " "),
+                        PrettyPrinter.truncate(note.getBody(), 64));
+            }
+        }
+
+        if (location.getLinks().size() > 0) {
+            output += "__Links__:\n";
+            for (LocationLink link : location.getLinks()) {
+                output += String.format("%s [L#%d] **%s**: %s\n",
+                        BULLET,
+                        link.getDestination().getId(),
+                        link.getDestination().getName(),
+                        link.getShortDescription());
+            }
+        }
+
+        output += HR + String.format("by: %s\n\r", location.getOwner());
+
+        return output;
+    }
+
+    private static String legacyNoteList(Iterable<Note> noteList) {
+        String output = HR;
+        for (Note note : noteList) {
+            output = output
+                    .concat(String.format("%s **[N#%d]** %s\n", BULLET, note.getId(), note.getTitle()))
+                    .concat("\n\r");
+        }
+
+        if (!noteList.iterator().hasNext()) {
+            output = output + "Empty List";
+        }
+
+        return output;
+    }
+}
@@ -20,7 +20,9 @@ package net.dalamori.GMFriend;
 
 import net.dalamori.GMFriend.config.DmFriendConfig;
 import net.dalamori.GMFriend.discord.DiscordClient;
+import net.dalamori.GMFriend.metrics.CommandMetrics;
 import net.dalamori.GMFriend.services.SimpleCrudeService;
+import net.dalamori.GMFriend.transport.IngressPipeline;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -28,7 +30,8 @@ import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
 @EntityScan(basePackages = {"net.dalamori.GMFriend.models"})
-@ComponentScan(basePackageClasses = {DmFriendConfig.class, DiscordClient.class, SimpleCrudeService.class})
+@ComponentScan(basePackageClasses = {DmFriendConfig.class, DiscordClient.class, IngressPipeline.class,
+		CommandMetrics.class, SimpleCrudeService.class})
 public class GmFriendApplication {
 
 	public static void main(String[] args) {
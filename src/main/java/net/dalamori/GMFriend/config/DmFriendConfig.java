@@ -17,6 +17,36 @@ public class DmFriendConfig {
     @Value("${creatures.properties.maxHpName:maxHp}")
     private String creaturePropertyMaxHpName;
 
+    @Value("${discord.board.debounceMillis:500}")
+    private long discordBoardDebounceMillis;
+
+    @Value("${discord.cache.profile:lean}")
+    private String discordCacheProfile;
+
+    @Value("${discord.dispatch.busyMessage:I'm swamped right now; please try that again in a moment.}")
+    private String discordDispatchBusyMessage;
+
+    @Value("${discord.dispatch.queueSize:256}")
+    private int discordDispatchQueueSize;
+
+    @Value("${discord.dispatch.threads:4}")
+    private int discordDispatchThreads;
+
+    @Value("${discord.outbound.bucketSize:5}")
+    private int discordOutboundBucketSize;
+
+    @Value("${discord.outbound.maxBacklogChars:20000}")
+    private int discordOutboundMaxBacklogChars;
+
+    @Value("${discord.outbound.mergeWindowMillis:250}")
+    private long discordOutboundMergeWindowMillis;
+
+    @Value("${discord.outbound.refillMillis:1000}")
+    private long discordOutboundRefillMillis;
+
+    @Value("${discord.shards.total:1}")
+    private int discordShardsTotal;
+
     @Value("${groups.system.collisionPrefix:!!LOST+FOUND=}")
     private String systemGroupCollisionPrefix;
 
@@ -41,9 +71,30 @@ public class DmFriendConfig {
     @Value("${groups.system.prefix:__SYS__}")
     private String systemGroupPrefix;
 
+    @Value("${ingress.rateLimit.guild.bucketSize:30}")
+    private int ingressRateLimitGuildBucketSize;
+
+    @Value("${ingress.rateLimit.guild.refillMillis:200}")
+    private long ingressRateLimitGuildRefillMillis;
+
+    @Value("${ingress.rateLimit.user.bucketSize:5}")
+    private int ingressRateLimitUserBucketSize;
+
+    @Value("${ingress.rateLimit.user.refillMillis:2000}")
+    private long ingressRateLimitUserRefillMillis;
+
+    @Value("${interpreter.batch.maxCommands:10}")
+    private int interpreterBatchMaxCommands;
+
     @Value("${interpreter.commandPrefix:;;}")
     private String interpreterCommandPrefix;
 
+    @Value("${interpreter.list.pageSize:25}")
+    private int interpreterListPageSize;
+
+    @Value("${interpreter.macros.cachePerGuild:64}")
+    private int interpreterMacrosCachePerGuild;
+
     @Value("${interpreter.printer.bullet:▸}")
     private String interpreterPrinterBullet;
 
@@ -53,6 +104,18 @@ public class DmFriendConfig {
     @Value("${interpreter.printer.hr:-=-=-=-=-=-=-=-=-=-\n}")
     private String interpreterPrinterHr;
 
+    @Value("${interpreter.printer.renderCache.maxEntries:256}")
+    private int interpreterPrinterRenderCacheMaxEntries;
+
+    @Value("${interpreter.responseCache.idleMillis:300000}")
+    private long interpreterResponseCacheIdleMillis;
+
+    @Value("${interpreter.responseCache.maxEntries:512}")
+    private int interpreterResponseCacheMaxEntries;
+
+    @Value("${interpreter.slowCommandMillis:500}")
+    private long interpreterSlowCommandMillis;
+
     @Value("${location.here.globalName:__$HERE__}")
     private String locationHereGlobalName;
 
@@ -61,6 +124,12 @@ public class DmFriendConfig {
 
     @Value("${mobiles.active.globalName:__$ACTIVE__}")
     private String mobileActiveGlobalName;
+
+    @Value("${shutdown.deadlineMillis:25000}")
+    private long shutdownDeadlineMillis;
+
+    @Value("${transport.http.timeoutMillis:30000}")
+    private long transportHttpTimeoutMillis;
 }
 
 
@@ -5,44 +5,63 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.exceptions.MacroException;
 import net.dalamori.GMFriend.exceptions.NoteException;
 import net.dalamori.GMFriend.exceptions.PropertyException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.AttachCommand;
+import net.dalamori.GMFriend.interpreter.BoardAction;
+import net.dalamori.GMFriend.interpreter.BoardMarkCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.CommandTrie;
 import net.dalamori.GMFriend.interpreter.CreateCommand;
 import net.dalamori.GMFriend.interpreter.DeleteCommand;
 import net.dalamori.GMFriend.interpreter.DisplayCommand;
 import net.dalamori.GMFriend.interpreter.GlobalPropertySetCommand;
 import net.dalamori.GMFriend.interpreter.InfoCommand;
+import net.dalamori.GMFriend.interpreter.MacroCache;
+import net.dalamori.GMFriend.interpreter.MacroPlan;
 import net.dalamori.GMFriend.interpreter.MapCommand;
+import net.dalamori.GMFriend.interpreter.MobileBulkCommand;
 import net.dalamori.GMFriend.interpreter.PropertyDeleteCommand;
 import net.dalamori.GMFriend.interpreter.PropertySetCommand;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
+import net.dalamori.GMFriend.interpreter.TurnState;
 import net.dalamori.GMFriend.interpreter.UpdateCommand;
 import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
 import net.dalamori.GMFriend.interpreter.printer.PrinterFactory;
+import net.dalamori.GMFriend.interpreter.printer.RenderCache;
+import net.dalamori.GMFriend.metrics.Explain;
 import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Location;
 import net.dalamori.GMFriend.models.LocationLink;
+import net.dalamori.GMFriend.models.Macro;
 import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.services.CreatureService;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
 import net.dalamori.GMFriend.services.LocationService;
+import net.dalamori.GMFriend.services.MacroService;
 import net.dalamori.GMFriend.services.MobileService;
 import net.dalamori.GMFriend.services.NoteService;
 import net.dalamori.GMFriend.services.PropertyService;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.sound.sampled.Line;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 
 @Data
@@ -68,8 +87,18 @@ public class InterpreterConfig {
     @Autowired
     private PropertyService propertyService;
 
+    @Autowired
+    private MacroService macroService;
+
+    @Autowired
+    private DataVersions dataVersions;
+
     private AbstractCommand rootCommand;
+    private CommandTrie commandTrie;
+    private MacroCache macroCache;
     private PrinterFactory printerFactory;
+    private RenderCache renderCache;
+    private ResponseCache responseCache;
 
     private static final AbstractCommand DO_NOTHING = new AbstractCommand() {
         @Override
@@ -84,12 +113,31 @@ public class InterpreterConfig {
             printerFactory = new PrinterFactory();
             printerFactory.setConfig(config);
             printerFactory.setCreatureService(creatureService);
-            printerFactory.setPropertyService(propertyService);
+            printerFactory.setRenderCache(renderCache());
         }
 
         return printerFactory;
     }
 
+    @Bean
+    public RenderCache renderCache() {
+        if (renderCache == null) {
+            renderCache = new RenderCache(config.getInterpreterPrinterRenderCacheMaxEntries());
+        }
+
+        return renderCache;
+    }
+
+    @Bean
+    public ResponseCache responseCache() {
+        if (responseCache == null) {
+            responseCache = new ResponseCache(dataVersions, config.getInterpreterResponseCacheMaxEntries(),
+                    config.getInterpreterResponseCacheIdleMillis());
+        }
+
+        return responseCache;
+    }
+
     /* Root Command Menu (Unprefixed master) */
     private MapCommand unprefixedRoot() {
         MapCommand unprefixedRoot = new MapCommand();
@@ -101,9 +149,11 @@ public class InterpreterConfig {
         String rootHelp = "GM's Friend Main Help:\n" + config.getInterpreterPrinterHr() +
                 "__Commands__:\n" +
                 bulletPrefix + "cret [...] - Creature commands; see \"creature help\" for more info\n" +
+                bulletPrefix + "explain [COMMAND...] - runs a command, then shows its SQL statements and timings\n" +
                 bulletPrefix + "goto [LOCATION_NAME/ID] - shortcut for \"location move\"; sets $HERE\n" +
                 bulletPrefix + "help - displays this message\n" +
                 bulletPrefix + "here - shortcut for \"location here\"; displays $HERE\n" +
+                bulletPrefix + "macro [...] - stored command macros; see \"macro help\" for more info\n" +
                 bulletPrefix + "mob [...] - Mobile commands; see \"mobile help\" for more info\n" +
                 bulletPrefix + "note [...] - Note commands; see \"note help\" for more info\n" +
                 bulletPrefix + "room [...] - Location commands; see \"location help\" for more info\n" +
@@ -115,10 +165,12 @@ public class InterpreterConfig {
 
         // Root-level Commands
         commandMap.put("creature", creature());
+        commandMap.put("explain", explain());
         commandMap.put("goto", locationMove());
         commandMap.put("help", help);
         commandMap.put("here", locationHere());
         commandMap.put("location", location());
+        commandMap.put("macro", macro());
         commandMap.put("mobile", mobile());
         commandMap.put("note", note());
         commandMap.put("ping", ping());
@@ -126,10 +178,10 @@ public class InterpreterConfig {
         commandMap.put("var", var());
 
         // aliases
-        commandMap.put("?", commandMap.get("help"));
-        commandMap.put("cret", commandMap.get("creature"));
-        commandMap.put("room", commandMap.get("location"));
-        commandMap.put("mob", commandMap.get("mobile"));
+        unprefixedRoot.alias("?", "help");
+        unprefixedRoot.alias("cret", "creature");
+        unprefixedRoot.alias("room", "location");
+        unprefixedRoot.alias("mob", "mobile");
 
         return unprefixedRoot;
     }
@@ -145,16 +197,20 @@ public class InterpreterConfig {
             MapCommand unprefixedRoot = unprefixedRoot();
             MapCommand root = new MapCommand();
 
-            // copy all un-prefixed commands, and prefix them;
+            // copy all un-prefixed commands, and prefix them; labels drop the prefix again
             for (Map.Entry<String, AbstractCommand> entry : unprefixedRoot.getMap().entrySet()) {
                 root.getMap().put(commandPrefix.concat(entry.getKey()), entry.getValue());
+                root.getLabels().put(commandPrefix.concat(entry.getKey()), unprefixedRoot.labelOf(entry.getKey()));
             }
             root.getMap().put(commandPrefix, unprefixedRoot);
+            root.getLabels().put(commandPrefix, "");
 
             // no-op command to absorb all non-actions
             root.setDefaultAction(DO_NOTHING);
 
-            rootCommand = root;
+            // macros compile against the trie, so it's kept alongside
+            commandTrie = CommandTrie.compile(root);
+            rootCommand = commandTrie;
         }
 
         return rootCommand;
@@ -195,7 +251,7 @@ public class InterpreterConfig {
         DeleteCommand<Creature> deleteCommand = new DeleteCommand<>();
         deleteCommand.setService(creatureService);
         creatureHandler.getMap().put("delete", deleteCommand);
-        creatureHandler.getMap().put("remove", deleteCommand);
+        creatureHandler.alias("remove", "delete");
 
         // CREATURE NEW
         CreateCommand<Creature> createCommand = new CreateCommand<Creature>() {
@@ -226,6 +282,7 @@ public class InterpreterConfig {
         DisplayCommand<Creature> show = new DisplayCommand<>();
         show.setPrinter(printerFactory.getCreaturePrinter());
         show.setService(creatureService);
+        cacheResponses(show, PropertyType.CREATURE, PropertyType.PROPERTY);
         creatureHandler.getMap().put("show", show);
 
         // CREATURE UNSET
@@ -239,6 +296,57 @@ public class InterpreterConfig {
     }
 
 
+    private AbstractCommand explain() {
+        return new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                List<String> command = context.getCommand();
+                if (getCurrentCommandPart(context).isEmpty()) {
+                    context.setResponse("usage: explain [COMMAND...]");
+                    return;
+                }
+
+                // re-root the rest of the line under the bare prefix, e.g. [;;, mob, list]
+                List<String> tokens = new ArrayList<>();
+                tokens.add(config.getInterpreterCommandPrefix());
+                tokens.addAll(command.subList(context.getIndex(), command.size()));
+
+                CommandContext explained = new CommandContext();
+                explained.setOwner(context.getOwner());
+                explained.setGuild(context.getGuild());
+                explained.setCommand(tokens);
+
+                // already explaining (a macro step, say); just run it
+                if (Explain.current() != null) {
+                    commandTrie.handle(explained);
+                    context.setResponse(explained.getResponse());
+                    context.getData().putAll(explained.getData());
+                    return;
+                }
+
+                Explain explain = Explain.begin();
+                try {
+                    commandTrie.handle(explained);
+                } finally {
+                    explain.end();
+                }
+
+                String response = explained.getResponse() == null ? "" : explained.getResponse();
+                if (!response.isEmpty() && !response.endsWith("\n")) {
+                    response = response.concat("\n");
+                }
+                context.setResponse(response.concat(explain.report(config.getInterpreterPrinterBullet())));
+                context.getPath().addAll(explained.getPath());
+
+                // the board must not swallow the breakdown, so a view only asks for a redraw
+                BoardAction board = BoardAction.of(explained);
+                if (board != null) {
+                    context.getData().put(BoardAction.DATA_KEY, board == BoardAction.VIEW ? BoardAction.REFRESH : board);
+                }
+            }
+        };
+    }
+
     private AbstractCommand location() {
         MapCommand locationHandler = new MapCommand();
         InfoCommand locationInfo = new InfoCommand();
@@ -272,7 +380,7 @@ public class InterpreterConfig {
         // LOCATION MOVE
         AbstractCommand move = locationMove();
         locationHandler.getMap().put("move", move);
-        locationHandler.getMap().put("go", move);
+        locationHandler.alias("go", "move");
 
         // LOCATION NEW
         CreateCommand<Location> create = new CreateCommand<Location>() {
@@ -289,7 +397,7 @@ public class InterpreterConfig {
         create.setPrinter(printerFactory.getLocationPrinter());
         create.setService(locationService);
         locationHandler.getMap().put("new", create);
-        locationHandler.getMap().put("+", create);
+        locationHandler.alias("+", "new");
 
         // LOCATION NOTE
         locationHandler.getMap().put("note", locationNote());
@@ -297,13 +405,14 @@ public class InterpreterConfig {
         // LOCATION REMOVE
         DeleteCommand<Location> remove = new DeleteCommand<>();
         remove.setService(locationService);
-        locationHandler.getMap().put("remove", remove);
         locationHandler.getMap().put("delete", remove);
+        locationHandler.alias("remove", "delete");
 
         // LOCATION SHOW
         DisplayCommand<Location> show = new DisplayCommand<>();
         show.setPrinter(printerFactory.getLocationPrinter());
         show.setService(locationService);
+        cacheResponses(show, PropertyType.LOCATION, PropertyType.NOTE);
         locationHandler.getMap().put("show", show);
 
         // LOCATION UN-LINK
@@ -333,6 +442,7 @@ public class InterpreterConfig {
         };
         here.setPrinter(printerFactory.getLocationPrinter());
         here.setService(locationService);
+        cacheResponses(here, PropertyType.LOCATION, PropertyType.NOTE, PropertyType.PROPERTY);
 
         return here;
     }
@@ -486,6 +596,213 @@ public class InterpreterConfig {
     }
 
 
+    private AbstractCommand macro() {
+        MapCommand macroHandler = new MapCommand();
+        InfoCommand macroInfo = new InfoCommand();
+        String bullet = config.getInterpreterPrinterBullet();
+        macroCache = new MacroCache(config.getInterpreterMacrosCachePerGuild());
+
+        String macroHelp = "macro help:\n" +
+                config.getInterpreterPrinterHr() +
+                "__Subcommands__:\n" +
+                bullet + " macro def [NAME] = [STEP]; [STEP]... - (re)defines a macro; steps are commands without " +
+                "the prefix, and may use $1, $2... for arguments\n" +
+                bullet + " macro delete [NAME] - deletes a macro\n" +
+                bullet + " macro help - show this message\n" +
+                bullet + " macro list - lists this server's macros\n" +
+                bullet + " macro run [NAME] [ARGS...] - runs a macro; \"macro [NAME] [ARGS...]\" works too\n" +
+                bullet + " macro show [NAME] - shows a macro's steps\n" +
+                "\n\r";
+
+        // MACRO HELP
+        macroInfo.setInfo(macroHelp);
+        macroHandler.getMap().put("help", macroInfo);
+
+        // MACRO DEF
+        AbstractCommand define = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                String name = getCurrentCommandPart(context).toLowerCase();
+                String body = getRemainingCommand(context, 1).trim();
+
+                if (name.isEmpty() || !getCurrentCommandPart(context, 1).equals("=") || body.isEmpty()) {
+                    context.setResponse("usage: macro def [NAME] = [STEP]; [STEP]...");
+                    return;
+                }
+
+                if (!name.matches("[a-z0-9_-]+")) {
+                    context.setResponse("macro names are letters, digits, '-' and '_' only");
+                    return;
+                }
+
+                if (macroHandler.getMap().containsKey(name)) {
+                    context.setResponse(String.format("\"%s\" is a macro subcommand; pick another name", name));
+                    return;
+                }
+
+                MacroPlan plan;
+                try {
+                    plan = MacroPlan.compile(commandTrie, config.getInterpreterCommandPrefix(), name, body);
+                } catch (InterpreterException ex) {
+                    context.setResponse("Can't define macro: ".concat(ex.getMessage()));
+                    return;
+                }
+
+                Macro macro = new Macro();
+                macro.setGuild(guildOf(context));
+                macro.setName(name);
+                macro.setBody(body);
+                macro.setOwner(context.getOwner());
+
+                try {
+                    if (macroService.exists(macro.getGuild(), name)) {
+                        Macro existing = macroService.read(macro.getGuild(), name);
+                        if (!ownsMacro(context, existing)) {
+                            context.setResponse(String.format("macro %s belongs to %s; only they can redefine it",
+                                    name, existing.getOwner()));
+                            return;
+                        }
+                    }
+
+                    macroService.define(macro);
+                } catch (MacroException ex) {
+                    throw new InterpreterException("failed to save macro: ".concat(ex.getMessage()), ex);
+                }
+
+                macroCache.put(macro.getGuild(), name, plan);
+                context.setResponse("OK");
+            }
+        };
+        macroHandler.getMap().put("def", define);
+        macroHandler.alias("define", "def");
+
+        // MACRO DELETE
+        AbstractCommand delete = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                String guild = guildOf(context);
+                String name = getCurrentCommandPart(context).toLowerCase();
+
+                if (!macroService.exists(guild, name)) {
+                    context.setResponse("Not Found!");
+                    return;
+                }
+
+                try {
+                    Macro macro = macroService.read(guild, name);
+                    if (!ownsMacro(context, macro)) {
+                        context.setResponse(String.format("macro %s belongs to %s; only they can delete it",
+                                name, macro.getOwner()));
+                        return;
+                    }
+
+                    macroService.delete(macro);
+                } catch (MacroException ex) {
+                    throw new InterpreterException("failed to delete macro: ".concat(ex.getMessage()), ex);
+                }
+
+                macroCache.invalidate(guild, name);
+                context.setResponse("OK");
+            }
+        };
+        macroHandler.getMap().put("delete", delete);
+        macroHandler.alias("remove", "delete");
+
+        // MACRO LIST
+        AbstractCommand list = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                List<Macro> macros = macroService.list(guildOf(context));
+                if (macros.isEmpty()) {
+                    context.setResponse("No macros defined.");
+                    return;
+                }
+
+                StringBuilder response = new StringBuilder("Macros:\n").append(config.getInterpreterPrinterHr());
+                for (Macro macro : macros) {
+                    response.append(bullet).append(" ").append(macro.getName()).append(" = ")
+                            .append(macro.getBody()).append("\n");
+                }
+                context.setResponse(response.toString());
+            }
+        };
+        macroHandler.getMap().put("list", list);
+
+        // MACRO RUN
+        AbstractCommand run = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                String name = getCurrentCommandPart(context).toLowerCase();
+                if (name.isEmpty()) {
+                    context.setResponse(macroHelp);
+                    return;
+                }
+
+                MacroPlan plan = macroPlan(guildOf(context), name);
+                if (plan == null) {
+                    context.setResponse(String.format("No macro named \"%s\"", name));
+                    return;
+                }
+
+                List<String> command = context.getCommand();
+                plan.run(context, command.subList(Math.min(context.getIndex() + 1, command.size()), command.size()));
+            }
+        };
+        macroHandler.getMap().put("run", run);
+        macroHandler.setDefaultAction(run);
+
+        // MACRO SHOW
+        AbstractCommand show = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                String guild = guildOf(context);
+                String name = getCurrentCommandPart(context).toLowerCase();
+
+                try {
+                    Macro macro = macroService.read(guild, name);
+                    context.setResponse(String.format("%s = %s", macro.getName(), macro.getBody()));
+                } catch (MacroException ex) {
+                    context.setResponse("Not Found!");
+                }
+            }
+        };
+        macroHandler.getMap().put("show", show);
+
+        return macroHandler;
+    }
+
+    /**
+     * the compiled plan for a macro, from the cache or else the database; null if there is no such macro.
+     */
+    private MacroPlan macroPlan(String guild, String name) throws InterpreterException {
+        MacroPlan plan = macroCache.get(guild, name);
+        if (plan != null) {
+            return plan;
+        }
+
+        long stamp = macroCache.stamp(guild);
+        if (!macroService.exists(guild, name)) {
+            return null;
+        }
+
+        try {
+            Macro macro = macroService.read(guild, name);
+            plan = MacroPlan.compile(commandTrie, config.getInterpreterCommandPrefix(), name, macro.getBody());
+        } catch (MacroException ex) {
+            throw new InterpreterException("failed to load macro: ".concat(ex.getMessage()), ex);
+        }
+
+        return macroCache.putIfCurrent(guild, name, plan, stamp);
+    }
+
+    private static boolean ownsMacro(CommandContext context, Macro macro) {
+        return macro.getOwner() != null && macro.getOwner().equals(context.getOwner());
+    }
+
+    private static String guildOf(CommandContext context) {
+        return context.getGuild() == null ? "" : context.getGuild();
+    }
+
     private AbstractCommand mobile() {
         MapCommand mobileHandler = new MapCommand();
         InfoCommand mobileInfo = new InfoCommand();
@@ -503,8 +820,8 @@ public class InterpreterConfig {
                 bullet + " mobile heal [ID/NAME] [AMOUNT] - increases a mobiles HP by an amount\n" +
                 bullet + " mobile init [ID/NAME] [NEW_INITIATIVE] - sets a mobile's initiative\n" +
                 bullet + " mobile kill [ID/NAME] - insta-kill a mobile\n" +
-                bullet + " mobile list - show a list of living mobiles sorted by initiative order\n" +
-                bullet + " mobile list all - show a list of all mobiles, sorted by initiative order\n" +
+                bullet + " mobile list [page N/after ID†] - show a list of living mobiles sorted by initiative order\n" +
+                bullet + " mobile list all [page N/after ID†] - show a list of all mobiles, sorted by initiative order\n" +
                 bullet + " mobile maxHp [ID/NAME] [NEW_MAX] - sets a mobile's max HP, doesn't heal them.\n" +
                 bullet + " mobile move [ID/NAME] [NEW_POSITION] - moves a mobile to a new position\n" +
                 bullet + " mobile new [CREATURE_NAME/ID] [INITIATIVE†] - creates a new mobile from a creature template, optionally with initiative\n" +
@@ -512,6 +829,8 @@ public class InterpreterConfig {
                 bullet + " mobile show [MOBILE_ID/NAME] - displays a mobile\n" +
                 bullet + " mobile restore [ID/NAME] - resets a mobile to alive, and full hp\n" +
                 bullet + " mobile unset [MOBILE_ID/NAME] [KEY] - deletes a property of the mobile\n" +
+                "__Selectors__: damage, heal, init, kill, maxHp, move and restore also take a selector in place of [ID/NAME], " +
+                "updating every match at once: a name pattern (goblin*, orc_?), @alive, @dead, @all, or @pos:POSITION\n" +
                 "\n\r";
 
         String mobileHelp2 = "mobile help: (Page 2 of 2)\n" +
@@ -539,21 +858,23 @@ public class InterpreterConfig {
         mobileHandler.getMap().put("help2", mobileInfo2);
 
         // MOBILE BLANK
-        mobileHandler.getMap().put("blank", mobileBlank());
+        mobileHandler.getMap().put("blank", refreshesBoard(mobileBlank()));
 
         // MOBILE DAMAGE
-        AbstractCommand damage = mobileDamage();
+        AbstractCommand damage = refreshesBoard(mobileBulk(mobileDamage(),
+                (context, selector) -> mobileService.damageAll(selector, amountOf(context))));
         mobileHandler.getMap().put("damage", damage);
-        mobileHandler.getMap().put("dmg", damage);
+        mobileHandler.alias("dmg", "damage");
 
         // MOBILE DELETE
         DeleteCommand<Mobile> delete = new DeleteCommand<>();
         delete.setService(mobileService);
-        mobileHandler.getMap().put("delete", delete);
-        mobileHandler.getMap().put("remove", delete);
+        mobileHandler.getMap().put("delete", refreshesBoard(delete));
+        mobileHandler.alias("remove", "delete");
 
         // MOBILE HEAL
-        mobileHandler.getMap().put("heal", mobileHeal());
+        mobileHandler.getMap().put("heal", refreshesBoard(mobileBulk(mobileHeal(),
+                (context, selector) -> mobileService.healAll(selector, amountOf(context)))));
 
         // MOBILE INIT
         UpdateCommand<Mobile> init = new UpdateCommand<Mobile>() {
@@ -570,7 +891,13 @@ public class InterpreterConfig {
         };
         init.setService(mobileService);
         init.setPrinter(printerFactory.getMobilePrinter());
-        mobileHandler.getMap().put("init", init);
+        mobileHandler.getMap().put("init", refreshesBoard(mobileBulk(init, (context, selector) -> {
+            String argument = AbstractCommand.getCurrentCommandPart(context, 1);
+            if (!StringUtils.isNumeric(argument)) {
+                throw new InterpreterException("unable to parse numeric initiative in mobile_init");
+            }
+            return mobileService.setInitiativeAll(selector, Integer.valueOf(argument));
+        })));
 
         // MOBILE KILL
         UpdateCommand<Mobile> kill = new UpdateCommand<Mobile>() {
@@ -583,28 +910,28 @@ public class InterpreterConfig {
         };
         kill.setService(mobileService);
         kill.setPrinter(printerFactory.getMobilePrinter());
-        mobileHandler.getMap().put("kill", kill);
+        mobileHandler.getMap().put("kill", refreshesBoard(mobileBulk(kill,
+                (context, selector) -> mobileService.killAll(selector))));
 
         // MOBILE LIST
-        DisplayCommand<Iterable<Mobile>> list = new DisplayCommand<Iterable<Mobile>>(){
+        DisplayCommand<ListPage<TurnState>> list = new DisplayCommand<ListPage<TurnState>>(){
             @Override
-            public Iterable<Mobile> getItem(CommandContext context) throws DmFriendGeneralServiceException {
-                Iterable<Mobile> mobileList = mobileService.initiativeList();
-
+            public ListPage<TurnState> getItem(CommandContext context) throws DmFriendGeneralServiceException {
                 // only show the living unless "all" is passed.
-                if (!getCurrentCommandPart(context).equals("all")) {
-                    Iterator<Mobile> iterator = mobileList.iterator();
-                    while (iterator.hasNext()) {
-                        if (!iterator.next().isAlive()) {
-                            iterator.remove();
-                        }
-                    }
-                }
-                return mobileList;
+                boolean all = getCurrentCommandPart(context).equals("all");
+                ListPage<List<Mobile>> page = mobileService.initiativePage(all, cursorOf(context, all ? 1 : 0));
+
+                // the turn pointer is read here, once, so the printer never has to; the database finds the mobile
+                // it lands on, so the marks agree with the order the rows came back in, on whichever page holds it
+                Property active = propertyService.getGlobalProperty(config.getMobileActiveGlobalName());
+                TurnState pointer = TurnState.of(active);
+                Mobile turn = mobileService.initiativeFrom(all, pointer.getInitiative(), pointer.getName());
+                return page.map(mobiles -> TurnState.of(active, mobiles, turn));
             }
         };
-        list.setPrinter(printerFactory.getInitiativeListPrinter());
-        mobileHandler.getMap().put("list", list);
+        list.setPrinter(printerFactory.getPagePrinter(printerFactory.getInitiativeListPrinter()));
+        cacheResponses(list, PropertyType.MOBILE, PropertyType.PROPERTY, PropertyType.CREATURE);
+        mobileHandler.getMap().put("list", new BoardMarkCommand(list, BoardAction.VIEW));
 
         // MOBILE MAX HP
         UpdateCommand<Mobile> maxHp = new UpdateCommand<Mobile>() {
@@ -627,11 +954,17 @@ public class InterpreterConfig {
         };
         maxHp.setPrinter(printerFactory.getMobilePrinter());
         maxHp.setService(mobileService);
-        mobileHandler.getMap().put("maxHp", maxHp);
-        mobileHandler.getMap().put("maxhp", maxHp);
+        mobileHandler.getMap().put("maxhp", refreshesBoard(mobileBulk(maxHp, (context, selector) -> {
+            String argument = AbstractCommand.getCurrentCommandPart(context, 1);
+            if (!StringUtils.isNumeric(argument)) {
+                throw new InterpreterException("couldn't parse new HP");
+            }
+            return mobileService.setMaxHpAll(selector, Long.valueOf(argument));
+        })));
+        mobileHandler.alias("maxHp", "maxhp");
 
         // MOBILE NEW
-        mobileHandler.getMap().put("new", mobileNew());
+        mobileHandler.getMap().put("new", refreshesBoard(mobileNew()));
 
         // MOBILE POS;
         UpdateCommand<Mobile> move = new UpdateCommand<Mobile>() {
@@ -648,9 +981,10 @@ public class InterpreterConfig {
         };
         move.setService(mobileService);
         move.setPrinter(printerFactory.getMobilePrinter());
-        mobileHandler.getMap().put("pos", move);
-        mobileHandler.getMap().put("position", move);
-        mobileHandler.getMap().put("move", move);
+        mobileHandler.getMap().put("move", refreshesBoard(mobileBulk(move,
+                (context, selector) -> mobileService.moveAll(selector, AbstractCommand.getRemainingCommand(context)))));
+        mobileHandler.alias("pos", "move");
+        mobileHandler.alias("position", "move");
 
         // MOBILE RESTORE
         UpdateCommand<Mobile> restore = new UpdateCommand<Mobile>() {
@@ -663,8 +997,9 @@ public class InterpreterConfig {
         };
         restore.setPrinter(printerFactory.getMobilePrinter());
         restore.setService(mobileService);
-        mobileHandler.getMap().put("res", restore);
-        mobileHandler.getMap().put("restore", restore);
+        mobileHandler.getMap().put("restore", refreshesBoard(mobileBulk(restore,
+                (context, selector) -> mobileService.restoreAll(selector))));
+        mobileHandler.alias("res", "restore");
 
         // MOBILE SET
         PropertySetCommand<Mobile> propertySet = new PropertySetCommand<>();
@@ -680,6 +1015,7 @@ public class InterpreterConfig {
         DisplayCommand<Mobile> show = new DisplayCommand<>();
         show.setService(mobileService);
         show.setPrinter(printerFactory.getMobilePrinter());
+        cacheResponses(show, PropertyType.MOBILE, PropertyType.PROPERTY, PropertyType.CREATURE);
         mobileHandler.getMap().put("show", show);
 
         // MOBILE UNSET
@@ -721,6 +1057,61 @@ public class InterpreterConfig {
         return create;
     }
 
+    /**
+     * lets a single-mobile update take a selector (goblin*, @alive, @dead, @all, @pos:POSITION) in place of the name.
+     */
+    private AbstractCommand mobileBulk(AbstractCommand single, MobileBulkCommand.Operation operation) {
+        MobileBulkCommand bulk = new MobileBulkCommand();
+        bulk.setSingle(single);
+        bulk.setOperation(operation);
+        bulk.setPrinter(printerFactory.getMobileSummaryPrinter());
+
+        return bulk;
+    }
+
+    /**
+     * reads "page N" or "after ID" from the command part at offset on; the first page if there's neither.
+     */
+    private ListCursor cursorOf(CommandContext context, int offset) throws InterpreterException {
+        String mode = AbstractCommand.getCurrentCommandPart(context, offset).toLowerCase();
+        String argument = AbstractCommand.getCurrentCommandPart(context, offset + 1);
+        int size = config.getInterpreterListPageSize();
+
+        if (mode.isEmpty()) {
+            return ListCursor.first(size);
+        }
+
+        if (!StringUtils.isNumeric(argument)) {
+            throw new InterpreterException("usage: [page N] or [after ID]");
+        }
+
+        // isNumeric takes any run of digits; anything too long to be a page or an id gets the usage too
+        long number = NumberUtils.toLong(argument, -1L);
+        switch (mode) {
+            case "page":
+                if (number < 1 || number > Integer.MAX_VALUE) {
+                    throw new InterpreterException("usage: [page N] or [after ID]");
+                }
+                return ListCursor.page((int) number, size);
+            case "after":
+                if (number < 0) {
+                    throw new InterpreterException("usage: [page N] or [after ID]");
+                }
+                return ListCursor.after(number, size);
+            default:
+                throw new InterpreterException("usage: [page N] or [after ID]");
+        }
+    }
+
+    private static long amountOf(CommandContext context) throws InterpreterException {
+        String argument = AbstractCommand.getCurrentCommandPart(context, 1);
+        if (!StringUtils.isNumeric(argument)) {
+            throw new InterpreterException("unable to parse numeric amount");
+        }
+
+        return Long.valueOf(argument);
+    }
+
     private AbstractCommand mobileDamage() {
         UpdateCommand<Mobile> damage = new UpdateCommand<Mobile>() {
             @Override
@@ -800,7 +1191,7 @@ public class InterpreterConfig {
                 "__Subcommands__:\n" +
                 bullet + " note append [ID/NAME] [CONTENT...] - adds add'l content to the end of a note\n" +
                 bullet + " note help - show this message\n" +
-                bullet + " note list - lists global notes\n" +
+                bullet + " note list [page N/after ID†] - lists global notes\n" +
                 bullet + " note new [NAME] [CONTENT...] - creates a new note\n" +
                 bullet + " note remove [ID/NAME] - deletes a note\n" +
                 bullet + " note set [ID/NAME] [CONTENT...] - updates a note\n" +
@@ -823,16 +1214,17 @@ public class InterpreterConfig {
         append.setPrinter(printerFactory.getNotePrinter());
         append.setService(noteService);
         noteHandler.getMap().put("append", append);
-        noteHandler.getMap().put("++", append);
+        noteHandler.alias("++", "append");
 
         // NOTE LIST
-        DisplayCommand<Iterable<Note>> list = new DisplayCommand<Iterable<Note>>() {
+        DisplayCommand<ListPage<List<Note>>> list = new DisplayCommand<ListPage<List<Note>>>() {
             @Override
-            public List<Note> getItem(CommandContext context) throws NoteException {
-                return noteService.getGlobalNotes();
+            public ListPage<List<Note>> getItem(CommandContext context) throws DmFriendGeneralServiceException {
+                return noteService.getGlobalNotes(cursorOf(context, 0));
             }
         };
-        list.setPrinter(printerFactory.getNoteListPrinter());
+        list.setPrinter(printerFactory.getPagePrinter(printerFactory.getNoteListPrinter()));
+        cacheResponses(list, PropertyType.NOTE);
         noteHandler.getMap().put("list", list);
 
         // NOTE NEW
@@ -856,13 +1248,13 @@ public class InterpreterConfig {
         create.setService(noteService);
         create.setPrinter(printerFactory.getNotePrinter());
         noteHandler.getMap().put("new", create);
-        noteHandler.getMap().put("+", create);
+        noteHandler.alias("+", "new");
 
         // NOTE REMOVE
         DeleteCommand<Note> remove = new DeleteCommand<>();
         remove.setService(noteService);
         noteHandler.getMap().put("delete", remove);
-        noteHandler.getMap().put("remove", remove);
+        noteHandler.alias("remove", "delete");
 
         // NOTE SET
         UpdateCommand<Note> set = new UpdateCommand<Note>() {
@@ -882,6 +1274,7 @@ public class InterpreterConfig {
         DisplayCommand<Note> show = new DisplayCommand<>();
         show.setPrinter(printerFactory.getNotePrinter());
         show.setService(noteService);
+        cacheResponses(show, PropertyType.NOTE);
         noteHandler.getMap().put("show", show);
 
         // return
@@ -904,9 +1297,11 @@ public class InterpreterConfig {
         String turnHelp = "turn help:\n" +
                 config.getInterpreterPrinterHr() +
                 "__Subcommands__:\n" +
+                bullet + " turn board [on/off] - keep a pinned initiative board in this channel, edited as turns change\n" +
                 bullet + " turn done - end the current turn immediately\n" +
                 bullet + " turn help - show this help message\n" +
                 bullet + " turn next - move to the next mobile's turn, making them $ACTIVE\n" +
+                bullet + " turn prev - move back to the previous mobile's turn, making them $ACTIVE\n" +
                 bullet + " turn show - show the $ACTIVE mobile\n" +
                 "\n\r";
 
@@ -914,13 +1309,15 @@ public class InterpreterConfig {
         turnInfo.setInfo(turnHelp);
         turnHandler.setDefaultAction(turnInfo);
 
+        // TURN BOARD
+        turnHandler.getMap().put("board", turnBoard());
+
         // TURN DONE
         AbstractCommand done = new AbstractCommand() {
             @Override
             public void handle(CommandContext context) throws InterpreterException {
                 try {
-                    Property activeProperty = propertyService.getGlobalProperties()
-                            .getOrDefault(config.getMobileActiveGlobalName(), null);
+                    Property activeProperty = propertyService.getGlobalProperty(config.getMobileActiveGlobalName());
 
                     if (activeProperty != null) {
                         propertyService.detachFromGlobalContext(activeProperty);
@@ -936,10 +1333,14 @@ public class InterpreterConfig {
                 }
             }
         };
-        turnHandler.getMap().put("done", done);
+        turnHandler.getMap().put("done", refreshesBoard(done));
 
         // TURN NEXT
-        turnHandler.getMap().put("next", turnNext());
+        turnHandler.getMap().put("next", new BoardMarkCommand(turnNext(), BoardAction.VIEW));
+
+        // TURN PREV
+        turnHandler.getMap().put("prev", new BoardMarkCommand(turnPrev(), BoardAction.VIEW));
+        turnHandler.alias("previous", "prev");
 
         // TURN SHOW
         turnHandler.getMap().put("show", turnShow());
@@ -953,12 +1354,11 @@ public class InterpreterConfig {
             public void handle(CommandContext context) throws InterpreterException {
 
                 try {
-                    int activeInit = 0;
-                    String activeName = "";
-                    Property activeProperty = propertyService.getGlobalProperties()
-                            .getOrDefault(config.getMobileActiveGlobalName(), null);
+                    Property activeProperty = propertyService.getGlobalProperty(config.getMobileActiveGlobalName());
+                    TurnState turn = TurnState.of(activeProperty, mobileService.initiativeList());
+                    int activeInit = turn.getInitiative();
+                    String activeName = turn.getName();
 
-                    // figure out active name, init
                     if (activeProperty == null) {
                         // construct new $ACTIVE property
                         activeProperty = new Property();
@@ -966,16 +1366,9 @@ public class InterpreterConfig {
                         activeProperty.setOwner(config.getSystemGroupOwner());
                         activeProperty.setName(config.getMobileActiveGlobalName());
                         activeProperty.setPrivacy(PrivacyType.NORMAL);
-                    } else {
-                        // parse the existing values out of $ACTIVE
-                        int indexOfDelimiter = activeProperty.getValue().indexOf('|');
-                        if (indexOfDelimiter > 0) {
-                            activeInit = Integer.valueOf(activeProperty.getValue().substring(0,indexOfDelimiter));
-                            activeName = activeProperty.getValue().substring(indexOfDelimiter + 1);
-                        }
                     }
 
-                    for (Mobile mobile : mobileService.initiativeList()) {
+                    for (Mobile mobile : turn.getOrder()) {
                         // don't disturb the dead.
                         if (!mobile.isAlive()) {
                             continue;
@@ -988,7 +1381,7 @@ public class InterpreterConfig {
                                 (mobile.getInitiative() == activeInit && activeName.compareToIgnoreCase(mobile.getName()) < 0)) {
 
                             // then we found what we were looking for; save, reply, and return
-                            saveAndRespond(context, mobile, activeProperty);
+                            saveActive(context, mobile, activeProperty);
                             return;
                         }
                     }
@@ -1006,41 +1399,112 @@ public class InterpreterConfig {
                     throw new InterpreterException("Failed to increment $ACTIVE: ".concat(ex.getMessage()), ex);
                 }
             }
+        };
+    }
+
+    private AbstractCommand turnPrev() {
+        return new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+
+                try {
+                    Property activeProperty = propertyService.getGlobalProperty(config.getMobileActiveGlobalName());
+
+                    if (activeProperty == null) {
+                        context.setResponse("No active turn.");
+                        return;
+                    }
 
-            private void saveAndRespond(CommandContext context, Mobile mob, Property property) throws PropertyException {
-                PrettyPrinter<Mobile> printer = printerFactory.getMobilePrinter();
-                property.setValue(String.format("%d|%s", mob.getInitiative(), mob.getName()));
+                    TurnState turn = TurnState.of(activeProperty, mobileService.initiativeList());
+                    int activeInit = turn.getInitiative();
+                    String activeName = turn.getName();
 
-                if (property.getId() == null) {
-                    Property savedProperty = propertyService.create(property);
-                    propertyService.attachToGlobalContext(savedProperty);
+                    // walk the initiative list backwards; the mirror image of turn next
+                    List<Mobile> initiativeList = turn.getOrder();
+                    ListIterator<Mobile> iterator = initiativeList.listIterator(initiativeList.size());
+                    while (iterator.hasPrevious()) {
+                        Mobile mobile = iterator.previous();
+                        if (!mobile.isAlive()) {
+                            continue;
+                        }
 
-                    context.setResponse(printer.print(mob));
+                        if ((mobile.getInitiative() < activeInit) ||
+                                (mobile.getInitiative() == activeInit && activeName.compareToIgnoreCase(mobile.getName()) > 0)) {
+                            saveActive(context, mobile, activeProperty);
+                            return;
+                        }
+                    }
+
+                    // back before the first mobile...
+                    context.setResponse("**START of TURN**\n\r");
+                    propertyService.detachFromGlobalContext(activeProperty);
+                    propertyService.delete(activeProperty);
+
+                } catch (DmFriendGeneralServiceException ex) {
+                    throw new InterpreterException("Failed to decrement $ACTIVE: ".concat(ex.getMessage()), ex);
+                }
+            }
+        };
+    }
+
+    private void saveActive(CommandContext context, Mobile mob, Property property) throws PropertyException {
+        PrettyPrinter<Mobile> printer = printerFactory.getMobilePrinter();
+        property.setValue(TurnState.valueOf(mob));
+
+        if (property.getId() == null) {
+            Property savedProperty = propertyService.create(property);
+            propertyService.attachToGlobalContext(savedProperty);
+
+            context.setResponse(Explain.print(printer, mob));
+        } else {
+            context.setResponse(Explain.print(printer, mob));
+            propertyService.update(property);
+        }
+    }
+
+    private AbstractCommand turnBoard() {
+        return new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                String argument = getCurrentCommandPart(context).toLowerCase();
+
+                if (argument.equals("on")) {
+                    context.getData().put(BoardAction.DATA_KEY, BoardAction.ON);
+                    context.setResponse("OK");
+                } else if (argument.equals("off")) {
+                    context.getData().put(BoardAction.DATA_KEY, BoardAction.OFF);
+                    context.setResponse("OK");
                 } else {
-                    context.setResponse(printer.print(mob));
-                    propertyService.update(property);
+                    context.setResponse("usage: turn board [on/off]");
                 }
             }
         };
     }
 
+    /**
+     * @param dependsOn the kinds of data the command's output is built from; a write to any of them invalidates it
+     */
+    private void cacheResponses(DisplayCommand<?> command, PropertyType... dependsOn) {
+        command.setResponseCache(responseCache());
+        command.setDependsOn(dependsOn);
+    }
+
+    private static AbstractCommand refreshesBoard(AbstractCommand command) {
+        return new BoardMarkCommand(command, BoardAction.REFRESH);
+    }
+
     private AbstractCommand turnShow() {
         DisplayCommand<Mobile> show = new DisplayCommand<Mobile>(){
             @Override
             public Mobile getItem(CommandContext context) throws DmFriendGeneralServiceException {
 
-                String activeName = "";
-                Property activeProperty = propertyService.getGlobalProperties()
-                        .getOrDefault(config.getMobileActiveGlobalName(), null);
+                Property activeProperty = propertyService.getGlobalProperty(config.getMobileActiveGlobalName());
 
                 if (activeProperty == null) {
                     throw new InterpreterException("No active turn.");
                 }
 
-                int indexOfDelimiter = activeProperty.getValue().indexOf('|');
-                if (indexOfDelimiter > 0) {
-                    activeName = activeProperty.getValue().substring(indexOfDelimiter + 1);
-                }
+                String activeName = TurnState.of(activeProperty).getName();
 
                 if (mobileService.exists(activeName)) {
                     return mobileService.read(activeName);
@@ -1050,6 +1514,7 @@ public class InterpreterConfig {
             }
         };
         show.setPrinter(printerFactory.getMobilePrinter());
+        cacheResponses(show, PropertyType.MOBILE, PropertyType.PROPERTY, PropertyType.CREATURE);
         return show;
     }
 
@@ -1063,7 +1528,7 @@ public class InterpreterConfig {
                 config.getInterpreterPrinterHr() +
                 "__Subcommands__:\n" +
                 bullet + " var delete [KEY] - remove a variable\n" +
-                bullet + " var list - prints out all variables\n" +
+                bullet + " var list [page N/after ID†] - prints out all variables\n" +
                 bullet + " var set [KEY] [VALUE] - sets a variable to a given value\n" +
                 bullet + " var set [KEY] add [AMOUNT†] - increases a numeric variable value by 1, or optionally another amount\n" +
                 bullet + " var set [KEY] creature [CREATURE_ID/NAME] - sets a variable to a given creature\n" +
@@ -1100,16 +1565,17 @@ public class InterpreterConfig {
             }
         };
         varHandler.getMap().put("delete", delete);
-        varHandler.getMap().put("remove", delete);
+        varHandler.alias("remove", "delete");
 
         // VAR LIST
-        DisplayCommand<Map<String,Property>> list = new DisplayCommand<Map<String, Property>>() {
+        DisplayCommand<ListPage<List<Property>>> list = new DisplayCommand<ListPage<List<Property>>>() {
             @Override
-            public Map<String, Property> getItem(CommandContext context) throws DmFriendGeneralServiceException {
-                return propertyService.getGlobalProperties();
+            public ListPage<List<Property>> getItem(CommandContext context) throws DmFriendGeneralServiceException {
+                return propertyService.getGlobalProperties(cursorOf(context, 0));
             }
         };
-        list.setPrinter(printerFactory.getPropertyMapPrinter());
+        list.setPrinter(printerFactory.getPagePrinter(printerFactory.getPropertyListPrinter()));
+        cacheResponses(list, PropertyType.PROPERTY);
         varHandler.getMap().put("list", list);
 
         // VAR SET
@@ -0,0 +1,40 @@
+package net.dalamori.GMFriend.discord;
+
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+
+import java.util.EnumSet;
+
+/**
+ * Which JDA caches the bot keeps.
+ *
+ * The interpreter only ever reads a message's raw content and its author's tag, so LEAN drops the caches nothing
+ * here reads: presences/activities, voice state and guild emotes.
+ */
+public enum CacheProfile {
+    DEFAULT(EnumSet.noneOf(CacheFlag.class)),
+    LEAN(EnumSet.of(CacheFlag.ACTIVITY, CacheFlag.VOICE_STATE, CacheFlag.EMOTE));
+
+    private final EnumSet<CacheFlag> disabledFlags;
+
+    CacheProfile(EnumSet<CacheFlag> disabledFlags) {
+        this.disabledFlags = disabledFlags;
+    }
+
+    public EnumSet<CacheFlag> getDisabledFlags() {
+        return EnumSet.copyOf(disabledFlags);
+    }
+
+    public EnumSet<CacheFlag> getEnabledFlags() {
+        return EnumSet.complementOf(disabledFlags);
+    }
+
+    public static CacheProfile fromName(String name) {
+        for (CacheProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+
+        throw new IllegalArgumentException("unknown discord cache profile: " + name);
+    }
+}
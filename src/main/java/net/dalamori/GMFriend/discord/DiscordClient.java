@@ -1,42 +1,165 @@
 package net.dalamori.GMFriend.discord;
 
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 import net.dalamori.GMFriend.config.DmFriendConfig;
-import net.dalamori.GMFriend.config.InterpreterConfig;
 import net.dalamori.GMFriend.config.Secrets;
+import net.dalamori.GMFriend.transport.IngressPipeline;
 import net.dv8tion.jda.api.AccountType;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.sharding.ShardManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.security.auth.login.LoginException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Connects to the Discord gateway.
+ *
+ * With discord.shards.total = 1 (the default) the bot runs one gateway session. Any other count starts a shard
+ * manager with that many shards, and a count of 0 or less lets Discord pick the shard count. Every shard gets its
+ * own {@link DiscordInterpreter} listener; all of them feed the one shared {@link IngressPipeline} and command tree.
+ *
+ * discord.cache.profile picks which JDA caches are kept; see {@link CacheProfile}.
+ *
+ * Setting discord.enabled = false skips the gateway entirely, leaving the bot reachable only through the other
+ * transports (see {@link net.dalamori.GMFriend.transport.HttpTransport}).
+ */
 @Data
+@Slf4j
 @Component("discordClient")
+@ConditionalOnProperty(name = "discord.enabled", havingValue = "true", matchIfMissing = true)
 public class DiscordClient {
 
+    private static final long SAMPLE_PERIOD_SECONDS = 60;
+
     private DmFriendConfig config;
     private JDABuilder jdaBuilder;
-    private ListenerAdapter listenerAdapter;
+    private JDA jda;
+    private ShardManager shardManager;
+    private DiscordTransport transport;
+    private Map<Integer, DiscordInterpreter> listeners = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sampler;
 
     @Autowired
-    public DiscordClient(Secrets secrets, InterpreterConfig interpreter, DmFriendConfig config) throws LoginException {
+    public DiscordClient(Secrets secrets, DmFriendConfig config, IngressPipeline pipeline, DiscordTransport transport)
+            throws LoginException {
         this.config = config;
+        this.transport = transport;
 
-        jdaBuilder = new JDABuilder(AccountType.BOT);
-        jdaBuilder.setToken(secrets.getDiscordToken());
+        Activity status = Activity.listening(config.getInterpreterCommandPrefix().concat("? for help"));
+        int shardsTotal = config.getDiscordShardsTotal();
+        CacheProfile cacheProfile = CacheProfile.fromName(config.getDiscordCacheProfile());
 
-        DiscordInterpreter listener = new DiscordInterpreter();
-        listener.setInterpreter(interpreter.rootCommand());
+        log.info("DiscordClient cache profile {}: caching {}, not caching {}", cacheProfile,
+                cacheProfile.getEnabledFlags(), cacheProfile.getDisabledFlags());
 
-        jdaBuilder.addEventListeners(listener);
+        if (shardsTotal == 1) {
+            jdaBuilder = new JDABuilder(AccountType.BOT);
+            jdaBuilder.setToken(secrets.getDiscordToken());
+            jdaBuilder.addEventListeners(makeListener(0, pipeline));
+            jdaBuilder.setActivity(status);
+            jdaBuilder.setDisabledCacheFlags(cacheProfile.getDisabledFlags());
 
-        Activity status = Activity.listening(config.getInterpreterCommandPrefix().concat("? for help"));
-        jdaBuilder.setActivity(status);
+            jda = jdaBuilder.build();
+        } else {
+            DefaultShardManagerBuilder shardBuilder = new DefaultShardManagerBuilder();
+            shardBuilder.setToken(secrets.getDiscordToken());
+            shardBuilder.setShardsTotal(shardsTotal > 0 ? shardsTotal : -1);
+            shardBuilder.addEventListenerProvider(shardId -> makeListener(shardId, pipeline));
+            shardBuilder.setActivity(status);
+            shardBuilder.setDisabledCacheFlags(cacheProfile.getDisabledFlags());
+
+            shardManager = shardBuilder.build();
+            log.info("DiscordClient started shard manager with {} shards", shardManager.getShardsTotal());
+        }
+
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gmfriend-shard-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sampleShards, SAMPLE_PERIOD_SECONDS, SAMPLE_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public List<ShardStats> getShardStats() {
+        Collection<JDA> sessions = shardManager == null ? Collections.singletonList(jda) : shardManager.getShards();
+        List<ShardStats> stats = new ArrayList<>();
+
+        for (JDA session : sessions) {
+            int shardId = shardManager == null ? 0 : session.getShardInfo().getShardId();
+            DiscordInterpreter listener = listeners.get(shardId);
+
+            ShardStats shard = new ShardStats();
+            shard.setShardId(shardId);
+            shard.setStatus(session.getStatus().name());
+            shard.setGatewayPing(session.getGatewayPing());
+            shard.setGuilds(session.getGuildCache().size());
+            if (listener != null) {
+                shard.setEvents(listener.getEvents());
+                shard.setEventsPerSecond(listener.getEventsPerSecond());
+            }
+            stats.add(shard);
+        }
+
+        stats.sort(Comparator.comparingInt(ShardStats::getShardId));
+        return stats;
+    }
+
+    /**
+     * closes the gateway connection(s); rest actions already queued are still sent.
+     */
+    public void disconnect() {
+        if (shardManager != null) {
+            shardManager.shutdown();
+        } else {
+            jda.shutdown();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdown();
+    }
+
+    private DiscordInterpreter makeListener(int shardId, IngressPipeline pipeline) {
+        DiscordInterpreter listener = new DiscordInterpreter();
+        listener.setPipeline(pipeline);
+        listener.setTransport(transport);
+        listener.setShardId(shardId);
+        listeners.put(shardId, listener);
+
+        return listener;
+    }
 
-        jdaBuilder.build();
+    private void sampleShards() {
+        try {
+            for (DiscordInterpreter listener : listeners.values()) {
+                listener.sampleEventRate();
+            }
 
+            for (ShardStats shard : getShardStats()) {
+                log.debug("DiscordClient shard {}: {} ping {}ms, {} guilds, {} events/s", shard.getShardId(),
+                        shard.getStatus(), shard.getGatewayPing(), shard.getGuilds(),
+                        String.format("%.2f", shard.getEventsPerSecond()));
+            }
+        } catch (Throwable ex) {
+            log.warn("DiscordClient::sampleShards failed to sample shard health", ex);
+        }
     }
 }
@@ -3,23 +3,33 @@ package net.dalamori.GMFriend.discord;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
-import net.dalamori.GMFriend.exceptions.InterpreterException;
-import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.transport.IngressPipeline;
+import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
-import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
 @Data
 @Slf4j
 @EqualsAndHashCode(callSuper = false)
 public class DiscordInterpreter extends ListenerAdapter {
 
-    private static final int MAX_DISCORD_MESSAGE_LENGTH = 1995;  // actually 2000, but I want a little room at the end.
+    private IngressPipeline pipeline;
+    private DiscordTransport transport;
+    private int shardId;
 
-    AbstractCommand interpreter;
+    private final LongAdder events = new LongAdder();
+    private long sampledEvents = 0;
+    private long sampledAt = System.nanoTime();
+    private double eventsPerSecond = 0;
+
+    @Override
+    public void onGenericEvent(GenericEvent event) {
+        events.increment();
+    }
 
     @Override
     public void onMessageReceived(MessageReceivedEvent event) {
@@ -28,35 +38,49 @@ public class DiscordInterpreter extends ListenerAdapter {
             return;
         }
 
-        CommandContext context = interpret(event.getMessage().getContentRaw(), event.getAuthor().getAsTag());
+        pipeline.accept(transport, event);
+    }
 
-        if (context.getResponse() != null) {
-            String output = context.getResponse();
-            if (output.length() > MAX_DISCORD_MESSAGE_LENGTH) {
-                output = StringUtils.abbreviate(output, "...", MAX_DISCORD_MESSAGE_LENGTH);
-            }
+    @Override
+    public void onMessageReactionAdd(MessageReactionAddEvent event) {
 
-            event.getChannel().sendMessage(output).queue();
+        if (event.getUser() == null || event.getUser().isBot()) {
+            return;
+        }
+
+        // a board button was pressed; take the click back off so it can be pressed again.
+        if (pipeline.accept(transport.getReactions(), event)) {
+            event.getReaction().removeReaction(event.getUser()).queue(null, ex -> log.debug(
+                    "DiscordInterpreter::onMessageReactionAdd can't remove reactions in channel {}",
+                    event.getChannel().getIdLong()));
         }
     }
 
     public CommandContext interpret(String rawCommand, String owner) {
-        CommandContext context = new CommandContext();
-
-        context.setOwner(owner);
+        return pipeline.interpret(rawCommand, owner);
+    }
 
-        context.setCommand(Arrays.asList(rawCommand.split("\\s+")));
+    public long getEvents() {
+        return events.sum();
+    }
 
-        context.setIndex(0);
-        try {
-            interpreter.handle(context);
+    /**
+     * updates the event rate with everything seen since the previous sample.
+     */
+    public synchronized double sampleEventRate() {
+        long now = System.nanoTime();
+        long count = events.sum();
 
-        } catch (InterpreterException ex) {
-            context.setResponse("Error Received, and not caught!: " + ex.getMessage());
-            log.debug("DiscordInterpreter::interpret got an error parsing the command: {}",
-                    rawCommand, ex);
+        if (now > sampledAt) {
+            eventsPerSecond = (count - sampledEvents) * 1e9 / (now - sampledAt);
         }
+        sampledEvents = count;
+        sampledAt = now;
+
+        return eventsPerSecond;
+    }
 
-        return context;
+    public synchronized double getEventsPerSecond() {
+        return eventsPerSecond;
     }
 }
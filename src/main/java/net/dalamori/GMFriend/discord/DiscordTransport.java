@@ -0,0 +1,156 @@
+package net.dalamori.GMFriend.discord;
+
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.interpreter.BoardAction;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.transport.ReplyChannel;
+import net.dalamori.GMFriend.transport.Transport;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds gateway messages into the ingress pipeline; responses go back to the message's channel through the
+ * {@link OutboundScheduler}, or onto the channel's {@link InitiativeBoard} when it has one.
+ *
+ * {@link #getReactions()} is a second transport for the board's reaction buttons.
+ */
+@Component("discordTransport")
+@ConditionalOnProperty(name = "discord.enabled", havingValue = "true", matchIfMissing = true)
+public class DiscordTransport implements Transport<MessageReceivedEvent> {
+
+    private final OutboundScheduler outbound;
+    private final InitiativeBoard board;
+    private final Transport<MessageReactionAddEvent> reactions;
+
+    @Autowired
+    public DiscordTransport(DmFriendConfig config, OutboundScheduler outbound, InitiativeBoard board) {
+        this.outbound = outbound;
+        this.board = board;
+        this.reactions = new BoardReactions(config.getInterpreterCommandPrefix());
+    }
+
+    public Transport<MessageReactionAddEvent> getReactions() {
+        return reactions;
+    }
+
+    @Override
+    public String getName() {
+        return "discord";
+    }
+
+    @Override
+    public String getContent(MessageReceivedEvent event) {
+        return event.getMessage().getContentRaw();
+    }
+
+    @Override
+    public String getOwner(MessageReceivedEvent event) {
+        return event.getAuthor().getAsTag();
+    }
+
+    @Override
+    public String getGuild(MessageReceivedEvent event) {
+        return event.isFromType(ChannelType.TEXT) ? event.getGuild().getId() : null;
+    }
+
+    @Override
+    public ReplyChannel getChannel(MessageReceivedEvent event) {
+        return new DiscordReplyChannel(event.getChannel());
+    }
+
+    private class DiscordReplyChannel implements ReplyChannel {
+
+        private final MessageChannel channel;
+
+        private DiscordReplyChannel(MessageChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public long getId() {
+            return channel.getIdLong();
+        }
+
+        @Override
+        public void reply(String response) {
+            if (response != null) {
+                outbound.enqueue(channel, response);
+            }
+        }
+
+        @Override
+        public void reply(CommandContext context) {
+            BoardAction action = BoardAction.of(context);
+
+            if (action == BoardAction.ON) {
+                board.enable(channel);
+            } else if (action == BoardAction.OFF) {
+                board.disable(channel);
+            } else if (action != null && board.isActive(channel.getIdLong())) {
+                board.refresh(channel);
+
+                // the board is the response
+                if (action == BoardAction.VIEW) {
+                    return;
+                }
+            }
+
+            reply(context.getResponse());
+        }
+    }
+
+    /**
+     * turns clicks on a board's reactions into turn prev / turn next commands from whoever clicked.
+     */
+    private class BoardReactions implements Transport<MessageReactionAddEvent> {
+
+        private final String previousCommand;
+        private final String nextCommand;
+
+        private BoardReactions(String prefix) {
+            this.previousCommand = prefix + "turn prev";
+            this.nextCommand = prefix + "turn next";
+        }
+
+        @Override
+        public String getName() {
+            return "discord-board";
+        }
+
+        @Override
+        public String getContent(MessageReactionAddEvent event) {
+            if (!board.isBoardMessage(event.getChannel().getIdLong(), event.getMessageIdLong())) {
+                return null;
+            }
+
+            String emoji = event.getReactionEmote().getName();
+            if (InitiativeBoard.PREVIOUS.equals(emoji)) {
+                return previousCommand;
+            } else if (InitiativeBoard.NEXT.equals(emoji)) {
+                return nextCommand;
+            }
+
+            return null;
+        }
+
+        @Override
+        public String getOwner(MessageReactionAddEvent event) {
+            return event.getUser().getAsTag();
+        }
+
+        @Override
+        public String getGuild(MessageReactionAddEvent event) {
+            return event.isFromType(ChannelType.TEXT) ? event.getGuild().getId() : null;
+        }
+
+        @Override
+        public ReplyChannel getChannel(MessageReactionAddEvent event) {
+            return new DiscordReplyChannel(event.getChannel());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package net.dalamori.GMFriend.discord;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.transport.CommandDispatcher;
+import net.dalamori.GMFriend.transport.IngressPipeline;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live initiative boards: one pinned message per channel, edited in place as turns and mobiles change.
+ *
+ * Redraws are debounced; any number of changes inside discord.board.debounceMillis become one render and one
+ * edit, and an edit that wouldn't change the text is skipped. Renders run on the {@link CommandDispatcher} in the
+ * channel's queue, so they see every command that came before them. Boards live in memory only; after a restart
+ * the channel has to turn its board on again.
+ */
+@Slf4j
+@Component("initiativeBoard")
+@ConditionalOnProperty(name = "discord.enabled", havingValue = "true", matchIfMissing = true)
+public class InitiativeBoard {
+
+    public static final String PREVIOUS = "◀";
+    public static final String NEXT = "▶";
+
+    private static final String TITLE = "**Initiative Board** (" + PREVIOUS + " previous turn, " + NEXT + " next turn)\n";
+
+    private final IngressPipeline pipeline;
+    private final CommandDispatcher dispatcher;
+    private final String listCommand;
+    private final String owner;
+    private final long debounceMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    private final MessageSplitter splitter = new MessageSplitter(OutboundScheduler.MAX_DISCORD_MESSAGE_LENGTH);
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder edits = new LongAdder();
+
+    @Autowired
+    public InitiativeBoard(DmFriendConfig config, IngressPipeline pipeline, CommandDispatcher dispatcher) {
+        this.pipeline = pipeline;
+        this.dispatcher = dispatcher;
+        this.listCommand = config.getInterpreterCommandPrefix() + "mobile list";
+        this.owner = config.getSystemGroupOwner();
+        this.debounceMillis = config.getDiscordBoardDebounceMillis();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gmfriend-board");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isActive(long channelId) {
+        return boards.containsKey(channelId);
+    }
+
+    public boolean isBoardMessage(long channelId, long messageId) {
+        Board board = boards.get(channelId);
+        return board != null && board.messageId == messageId;
+    }
+
+    /**
+     * posts and pins a board in the channel, or redraws the existing one.
+     */
+    public void enable(MessageChannel channel) {
+        long channelId = channel.getIdLong();
+        Board board = new Board();
+
+        if (boards.putIfAbsent(channelId, board) != null) {
+            refresh(channel);
+            return;
+        }
+
+        board.text = render();
+        channel.sendMessage(board.text).queue(
+                message -> {
+                    board.messageId = message.getIdLong();
+                    message.pin().queue(null, ex -> log.info("InitiativeBoard::enable can't pin in channel {}: {}",
+                            channelId, ex.getMessage()));
+                    message.addReaction(PREVIOUS).queue();
+                    message.addReaction(NEXT).queue();
+                },
+                ex -> {
+                    log.warn("InitiativeBoard::enable failed to post board in channel {}", channelId, ex);
+                    boards.remove(channelId, board);
+                });
+    }
+
+    public void disable(MessageChannel channel) {
+        Board board = boards.remove(channel.getIdLong());
+
+        if (board != null && board.messageId != 0) {
+            channel.unpinMessageById(board.messageId).queue(null, ex -> log.debug(
+                    "InitiativeBoard::disable couldn't unpin board in channel {}", channel.getIdLong()));
+        }
+    }
+
+    /**
+     * marks the channel's board as out of date; it's redrawn once the debounce window closes.
+     */
+    public void refresh(MessageChannel channel) {
+        long channelId = channel.getIdLong();
+        Board board = boards.get(channelId);
+        if (board == null) {
+            return;
+        }
+
+        refreshes.increment();
+        if (!board.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        scheduler.schedule(() -> {
+            if (!dispatcher.submit(channelId, () -> redraw(channel, board))) {
+                // dispatcher is saturated; the next change will try again.
+                board.scheduled.set(false);
+            }
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public long getEdits() {
+        return edits.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private void redraw(MessageChannel channel, Board board) {
+        board.scheduled.set(false);
+
+        // board was turned off, or its first post hasn't landed yet
+        if (boards.get(channel.getIdLong()) != board || board.messageId == 0) {
+            return;
+        }
+
+        String text = render();
+        if (text.equals(board.text)) {
+            return;
+        }
+        board.text = text;
+
+        channel.editMessageById(board.messageId, text).queue(
+                message -> edits.increment(),
+                ex -> {
+                    // most likely someone deleted the board message; stop tracking it.
+                    log.info("InitiativeBoard::redraw dropping board in channel {}: {}", channel.getIdLong(),
+                            ex.getMessage());
+                    boards.remove(channel.getIdLong(), board);
+                });
+    }
+
+    private String render() {
+        CommandContext context = pipeline.interpret(listCommand, owner);
+        return splitter.split(TITLE + context.getResponse()).get(0);
+    }
+
+    private static class Board {
+        private volatile long messageId = 0;
+        private volatile String text;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    }
+}
@@ -0,0 +1,52 @@
+package net.dalamori.GMFriend.discord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Breaks long output into ordered chunks that each fit in one Discord message.
+ *
+ * Cuts are made after a newline where possible, then at the last space, and only as a last resort mid-word; so a
+ * long sheet arrives whole, over several messages, instead of being abbreviated.
+ */
+public class MessageSplitter {
+
+    private final int maxLength;
+
+    public MessageSplitter(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public List<String> split(String text) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+
+        while (text.length() - start > maxLength) {
+            int end = start + maxLength;
+            int cut = text.lastIndexOf('\n', end - 1);
+
+            if (cut < start) {
+                cut = text.lastIndexOf(' ', end - 1);
+            }
+            if (cut < start) {
+                cut = end - 1;
+            }
+
+            addChunk(chunks, text, start, cut + 1);
+            start = cut + 1;
+        }
+
+        addChunk(chunks, text, start, text.length());
+        return chunks;
+    }
+
+    private static void addChunk(List<String> chunks, String text, int start, int end) {
+        // discord refuses blank messages, so don't emit whitespace-only trailers
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                chunks.add(text.substring(start, end));
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package net.dalamori.GMFriend.discord;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends command output to Discord.
+ *
+ * Responses for a channel are held for a short merge window, so a burst of commands produces one combined message
+ * rather than one message apiece. The merged text is split at line boundaries into as many messages as it needs,
+ * and sent in order. Each channel keeps a token bucket mirroring Discord's per-channel send limit; while the
+ * bucket is empty, new responses keep merging into the backlog, and once the backlog is full further responses
+ * are refused. A refused response leaves a short notice in its place, so the user knows output was lost; only one
+ * notice is held at a time, which keeps the backlog's overshoot to the notice's length.
+ */
+@Slf4j
+@Component("outboundScheduler")
+public class OutboundScheduler {
+
+    public static final int MAX_DISCORD_MESSAGE_LENGTH = 1995;  // actually 2000, but I want a little room at the end.
+    public static final String DROPPED_NOTICE = "*(output dropped: this channel is busy, try again shortly)*";
+    private static final long FLUSH_POLL_MILLIS = 10;
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final MessageSplitter splitter = new MessageSplitter(MAX_DISCORD_MESSAGE_LENGTH);
+
+    private final long mergeWindowMillis;
+    private final int maxBacklogChars;
+    private final int bucketSize;
+    private final long refillNanos;
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesFailed = new LongAdder();
+    private final LongAdder mergedAway = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    @Autowired
+    public OutboundScheduler(DmFriendConfig config) {
+        this(config.getDiscordOutboundMergeWindowMillis(), config.getDiscordOutboundMaxBacklogChars(),
+                config.getDiscordOutboundBucketSize(), config.getDiscordOutboundRefillMillis());
+    }
+
+    public OutboundScheduler(long mergeWindowMillis, int maxBacklogChars, int bucketSize, long refillMillis) {
+        this.mergeWindowMillis = mergeWindowMillis;
+        this.maxBacklogChars = maxBacklogChars;
+        this.bucketSize = bucketSize;
+        this.refillNanos = TimeUnit.MILLISECONDS.toNanos(refillMillis);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gmfriend-outbound");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * queues a response for the channel.
+     * @return false if the channel's backlog is full and the response was dropped in favour of a notice
+     */
+    public boolean enqueue(MessageChannel channel, String text) {
+        while (true) {
+            Outbox outbox = outboxes.computeIfAbsent(channel.getIdLong(), id -> new Outbox(channel, bucketSize));
+
+            synchronized (outbox) {
+                if (!outbox.retired) {
+                    return enqueue(outbox, text);
+                }
+            }
+        }
+    }
+
+    private boolean enqueue(Outbox outbox, String text) {
+        boolean accepted = true;
+
+        synchronized (outbox) {
+            if (outbox.backlogChars + text.length() > maxBacklogChars) {
+                refused.increment();
+                log.warn("OutboundScheduler::enqueue backlog full for channel {}; dropping a {} char response",
+                        outbox.channel.getIdLong(), text.length());
+
+                if (outbox.noticeQueued) {
+                    return false;
+                }
+
+                outbox.noticeQueued = true;
+                text = DROPPED_NOTICE;
+                accepted = false;
+            }
+
+            if (outbox.responses.isEmpty()) {
+                outbox.oldestNanos = System.nanoTime();
+            }
+            outbox.responses.add(text);
+            outbox.backlogChars += text.length();
+            responses.increment();
+
+            if (!outbox.busy) {
+                outbox.busy = true;
+                scheduler.schedule(() -> flush(outbox), mergeWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return accepted;
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getMessagesFailed() {
+        return messagesFailed.sum();
+    }
+
+    /** @return how many sends were avoided by merging responses together */
+    public long getMessagesSavedByMerging() {
+        return mergedAway.sum();
+    }
+
+    public long getRefused() {
+        return refused.sum();
+    }
+
+    public long getMeanSendLatencyMillis() {
+        long sent = messagesSent.sum();
+        return sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.sum() / sent);
+    }
+
+    public long getMaxSendLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    /**
+     * waits for every queued response to be sent (or to fail).
+     * @return false if some were still queued when the timeout ran out
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (!isIdle()) {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("OutboundScheduler::flush gave up with responses still queued");
+                return false;
+            }
+            Thread.sleep(FLUSH_POLL_MILLIS);
+        }
+
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private boolean isIdle() {
+        for (Outbox outbox : outboxes.values()) {
+            synchronized (outbox) {
+                if (outbox.busy) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void flush(Outbox outbox) {
+        String chunk;
+        long enqueuedNanos;
+
+        synchronized (outbox) {
+            if (outbox.chunks.isEmpty() && !outbox.responses.isEmpty()) {
+                merge(outbox);
+            }
+
+            if (outbox.chunks.isEmpty()) {
+                outbox.busy = false;
+                return;
+            }
+
+            long wait = outbox.takeToken(System.nanoTime(), refillNanos);
+            if (wait > 0) {
+                // rate limited; anything arriving meanwhile merges into the backlog
+                scheduler.schedule(() -> flush(outbox), wait, TimeUnit.NANOSECONDS);
+                return;
+            }
+
+            chunk = outbox.chunks.poll();
+            enqueuedNanos = outbox.chunkNanos;
+            outbox.backlogChars -= chunk.length();
+        }
+
+        outbox.channel.sendMessage(chunk).queue(
+                message -> {
+                    recordLatency(System.nanoTime() - enqueuedNanos);
+                    scheduler.execute(() -> flush(outbox));
+                },
+                ex -> {
+                    messagesFailed.increment();
+                    log.warn("OutboundScheduler::flush failed to send to channel {}", outbox.channel.getIdLong(), ex);
+                    scheduler.execute(() -> flush(outbox));
+                });
+    }
+
+    private void merge(Outbox outbox) {
+        int merged = outbox.responses.size();
+        StringBuilder text = new StringBuilder(outbox.backlogChars + merged);
+
+        while (!outbox.responses.isEmpty()) {
+            String response = outbox.responses.poll();
+            if (text.length() > 0 && text.charAt(text.length() - 1) != '\n') {
+                text.append('\n');
+            }
+            text.append(response);
+        }
+
+        outbox.chunks.addAll(splitter.split(text.toString()));
+        outbox.noticeQueued = false;
+        outbox.chunkNanos = outbox.oldestNanos;
+        outbox.backlogChars = 0;
+        for (String chunk : outbox.chunks) {
+            outbox.backlogChars += chunk.length();
+        }
+
+        // every response beyond the first that shares the batch's messages is a send we didn't make
+        int saved = merged - outbox.chunks.size();
+        if (saved > 0) {
+            mergedAway.add(saved);
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        messagesSent.increment();
+        totalLatencyNanos.add(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        outboxes.entrySet().removeIf(entry -> {
+            Outbox outbox = entry.getValue();
+            synchronized (outbox) {
+                outbox.retired = !outbox.busy && outbox.responses.isEmpty() && outbox.chunks.isEmpty()
+                        && outbox.isBucketFull(now, refillNanos);
+                return outbox.retired;
+            }
+        });
+    }
+
+    private static class Outbox {
+        private final MessageChannel channel;
+        private final ArrayDeque<String> responses = new ArrayDeque<>();
+        private final ArrayDeque<String> chunks = new ArrayDeque<>();
+        private final int bucketSize;
+        private int backlogChars = 0;
+        private long oldestNanos;
+        private long chunkNanos;
+        private boolean busy = false;
+        private boolean retired = false;
+        private boolean noticeQueued = false;
+
+        private double tokens;
+        private long refilledAt;
+
+        private Outbox(MessageChannel channel, int bucketSize) {
+            this.channel = channel;
+            this.bucketSize = bucketSize;
+            this.tokens = bucketSize;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * takes a send token if one is available.
+         * @return 0 if a token was taken, otherwise the nanos until the next one is due
+         */
+        private long takeToken(long now, long refillNanos) {
+            tokens = Math.min(bucketSize, tokens + (double) (now - refilledAt) / refillNanos);
+            refilledAt = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+
+            return (long) ((1 - tokens) * refillNanos) + 1;
+        }
+
+        private boolean isBucketFull(long now, long refillNanos) {
+            return tokens + (double) (now - refilledAt) / refillNanos >= bucketSize;
+        }
+    }
+}
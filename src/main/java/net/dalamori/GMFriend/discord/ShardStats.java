@@ -0,0 +1,17 @@
+package net.dalamori.GMFriend.discord;
+
+import lombok.Data;
+
+/**
+ * point-in-time health of one gateway session.
+ */
+@Data
+public class ShardStats {
+
+    private int shardId;
+    private String status;
+    private long gatewayPing;
+    private long guilds;
+    private long events;
+    private double eventsPerSecond;
+}
@@ -0,0 +1,10 @@
+package net.dalamori.GMFriend.exceptions;
+
+public class MacroException extends DmFriendGeneralServiceException {
+    public MacroException(String description, Throwable ex){
+        super(description,ex);
+    }
+    public MacroException(String description) {
+        super(description);
+    }
+}
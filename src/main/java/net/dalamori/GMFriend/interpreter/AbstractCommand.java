@@ -24,7 +24,10 @@ public abstract class AbstractCommand {
         String remaining = "";
         int fromIndex = context.getIndex() + 1 + offset;
 
-        if (fromIndex < context.getCommand().size()) {
+        if (context.getCommand() instanceof TokenView) {
+            // a slice of the original line; no re-joining
+            remaining = ((TokenView) context.getCommand()).remaining(fromIndex);
+        } else if (fromIndex < context.getCommand().size()) {
             remaining = String.join(" ",
                     context.getCommand().subList(fromIndex, context.getCommand().size())
             );
@@ -0,0 +1,37 @@
+package net.dalamori.GMFriend.interpreter;
+
+/**
+ * What a command asks of the channel's initiative board, if the channel has one; commands leave it in the
+ * context's data under {@link #DATA_KEY}. Transports without a board ignore it.
+ */
+public enum BoardAction {
+    /** put a board in this channel */
+    ON,
+    /** take this channel's board down */
+    OFF,
+    /** turn order or mobiles changed; the board should be redrawn */
+    REFRESH,
+    /** as REFRESH, and the board replaces this command's response */
+    VIEW;
+
+    public static final String DATA_KEY = "board";
+
+    public static BoardAction of(CommandContext context) {
+        Object action = context.getData().get(DATA_KEY);
+        return action instanceof BoardAction ? (BoardAction) action : null;
+    }
+
+    /**
+     * the board action for several commands run as one: switching the board on or off wins, anything else just
+     * redraws it. Nulls are "no action".
+     */
+    public static BoardAction merge(BoardAction current, BoardAction next) {
+        if (next == ON || next == OFF) {
+            return next;
+        } else if (next != null && current == null) {
+            return REFRESH;
+        }
+
+        return current;
+    }
+}
@@ -0,0 +1,27 @@
+package net.dalamori.GMFriend.interpreter;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+
+/**
+ * Runs another command, then tags the context with a {@link BoardAction} (unless the command already did).
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class BoardMarkCommand extends AbstractCommand {
+
+    private AbstractCommand command;
+    private BoardAction action;
+
+    public BoardMarkCommand(AbstractCommand command, BoardAction action) {
+        this.command = command;
+        this.action = action;
+    }
+
+    @Override
+    public void handle(CommandContext context) throws InterpreterException {
+        command.handle(context);
+        context.getData().putIfAbsent(BoardAction.DATA_KEY, action);
+    }
+}
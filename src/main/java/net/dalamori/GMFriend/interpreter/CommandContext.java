@@ -5,6 +5,7 @@ import lombok.Data;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,9 +22,23 @@ public class CommandContext {
     @NotBlank
     private String owner;
 
+    // the guild (server) the command came from; null outside of one
+    private String guild;
+
     @NotBlank
     private String response;
 
     @NotNull
     private Map<String, Object> data = new HashMap<>();
+
+    // canonical names of the menus followed so far, e.g. [mobile, damage]
+    @NotNull
+    private List<String> path = new ArrayList<>();
+
+    /**
+     * the command path as a dotted label, e.g. "mobile.damage"; "root" if no menu matched.
+     */
+    public String pathLabel() {
+        return path.isEmpty() ? "root" : String.join(".", path);
+    }
 }
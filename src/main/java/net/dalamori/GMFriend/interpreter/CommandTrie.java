@@ -0,0 +1,246 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled form of a {@link MapCommand} tree.
+ *
+ * Each menu becomes a node holding an open-addressed hash table keyed on lower-cased tokens. The hash is
+ * computed a character at a time with the case folded on the fly, and keys are compared with regionMatches, so
+ * a lookup never allocates (and with a {@link TokenView}, never cuts the token out of the line either);
+ * {@link #handle} then walks the whole command path in one loop rather than one
+ * handle() call per menu. Menus reachable under several keys (aliases like "mob", "cret", "room", and the
+ * prefixed copies of the root menu) compile to a single shared node.
+ *
+ * Only plain MapCommands are compiled; every other command is kept as the node's leaf, and run as-is.
+ */
+public final class CommandTrie extends AbstractCommand {
+
+    private final Node root;
+
+    private CommandTrie(Node root) {
+        this.root = root;
+    }
+
+    public static CommandTrie compile(MapCommand root) {
+        return new CommandTrie(compile(root, new IdentityHashMap<>()));
+    }
+
+    @Override
+    public void handle(CommandContext context) throws InterpreterException {
+        walk(root, context);
+    }
+
+    /**
+     * resolves as much of a command's path as possible ahead of time.
+     * @param literals how many leading tokens are fixed; the walk stops before the first one that isn't
+     */
+    public Route resolve(List<String> tokens, int literals) {
+        Node node = root;
+        List<String> path = new ArrayList<>();
+        int index = 0;
+
+        while (index < literals) {
+            String token = index < tokens.size() ? tokens.get(index) : "";
+            int slot = node.find(token, 0, token.length());
+
+            if (slot < 0) {
+                // with no default action, leave the walk (and its error) to run time
+                return node.defaultAction == null
+                        ? new Route(node, null, index, path)
+                        : new Route(null, node.defaultAction, index, path);
+            }
+
+            if (!node.labels[slot].isEmpty()) {
+                path.add(node.labels[slot]);
+            }
+            index++;
+
+            if (node.children[slot] == null) {
+                return new Route(null, node.commands[slot], index, path);
+            }
+            node = node.children[slot];
+        }
+
+        return new Route(node, null, index, path);
+    }
+
+    private static void walk(Node start, CommandContext context) throws InterpreterException {
+        Node node = start;
+        TokenView view = context.getCommand() instanceof TokenView ? (TokenView) context.getCommand() : null;
+
+        while (true) {
+            int slot;
+            if (view != null && context.getIndex() < view.size()) {
+                slot = node.find(view.getRaw(), view.start(context.getIndex()), view.end(context.getIndex()));
+            } else {
+                String token = getCurrentCommandPart(context);
+                slot = node.find(token, 0, token.length());
+            }
+
+            if (slot < 0) {
+                node.defaultAction().handle(context);
+                return;
+            }
+
+            if (!node.labels[slot].isEmpty()) {
+                context.getPath().add(node.labels[slot]);
+            }
+            context.setIndex(context.getIndex() + 1);
+
+            if (node.children[slot] == null) {
+                node.commands[slot].handle(context);
+                return;
+            }
+            node = node.children[slot];
+        }
+    }
+
+    private static Node compile(MapCommand menu, Map<MapCommand, Node> compiled) {
+        Node node = compiled.get(menu);
+        if (node != null) {
+            return node;
+        }
+
+        int size = Integer.highestOneBit(Math.max(menu.getMap().size(), 1) * 2) * 2;
+        node = new Node(size, menu.getDefaultAction());
+        compiled.put(menu, node);
+
+        for (Map.Entry<String, AbstractCommand> entry : menu.getMap().entrySet()) {
+            String key = entry.getKey().toLowerCase();
+
+            // mixed-case keys are unreachable through MapCommand's lower-cased lookup; don't make them reachable here
+            if (!key.equals(entry.getKey())) {
+                continue;
+            }
+
+            AbstractCommand command = entry.getValue();
+            Node child = command != null && command.getClass() == MapCommand.class
+                    ? compile((MapCommand) command, compiled)
+                    : null;
+
+            node.put(key, menu.labelOf(entry.getKey()), command, child);
+        }
+
+        return node;
+    }
+
+    /**
+     * a pre-resolved command path: either the command at its end, or the menu to carry on walking from when the
+     * path runs into a token that isn't known ahead of time.
+     */
+    public static final class Route {
+        private final Node node;
+        private final AbstractCommand command;
+        private final int index;
+        private final List<String> path;
+
+        private Route(Node node, AbstractCommand command, int index, List<String> path) {
+            this.node = node;
+            this.command = command;
+            this.index = index;
+            this.path = Collections.unmodifiableList(path);
+        }
+
+        /**
+         * runs a context whose tokens start with the ones this route was resolved from.
+         */
+        public void handle(CommandContext context) throws InterpreterException {
+            context.setIndex(index);
+            context.getPath().addAll(path);
+
+            if (command != null) {
+                command.handle(context);
+            } else {
+                walk(node, context);
+            }
+        }
+
+        /**
+         * canonical names of the menus on the route, as {@link CommandContext#getPath()}.
+         */
+        public List<String> getPath() {
+            return path;
+        }
+
+        /**
+         * @return how many tokens the route consumed
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isResolved() {
+            return command != null;
+        }
+    }
+
+    private static int hash(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+        }
+
+        // spread the high bits down, as HashMap does
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Node {
+        private final String[] keys;
+        private final String[] labels;
+        private final AbstractCommand[] commands;
+        private final Node[] children;
+        private final AbstractCommand defaultAction;
+        private final int mask;
+
+        private Node(int size, AbstractCommand defaultAction) {
+            this.keys = new String[size];
+            this.labels = new String[size];
+            this.commands = new AbstractCommand[size];
+            this.children = new Node[size];
+            this.defaultAction = defaultAction;
+            this.mask = size - 1;
+        }
+
+        private void put(String key, String label, AbstractCommand command, Node child) {
+            int slot = hash(key, 0, key.length()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            labels[slot] = label;
+            commands[slot] = command;
+            children[slot] = child;
+        }
+
+        private int find(String text, int start, int end) {
+            int length = end - start;
+            int slot = hash(text, start, end) & mask;
+
+            while (keys[slot] != null) {
+                String key = keys[slot];
+                if (key.length() == length && key.regionMatches(true, 0, text, start, length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        private AbstractCommand defaultAction() throws InterpreterException {
+            if (defaultAction == null) {
+                throw new InterpreterException("Default Action not set!");
+            }
+
+            return defaultAction;
+        }
+    }
+}
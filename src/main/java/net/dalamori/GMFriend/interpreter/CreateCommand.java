@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.exceptions.InterpreterException;
 import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.metrics.Explain;
 import net.dalamori.GMFriend.services.SimpleCrudeService;
 
 @Data
@@ -21,7 +22,7 @@ public abstract class CreateCommand<T> extends AbstractCommand {
 
             T savedItem = save(buildItem(context));
             afterSave(context, savedItem);
-            context.setResponse(printer.print(savedItem));
+            context.setResponse(Explain.print(printer, savedItem));
         } catch (DmFriendGeneralServiceException ex) {
             log.debug("CreateCommand::handle Failed to create item", ex);
             throw new InterpreterException("failed to create item", ex);
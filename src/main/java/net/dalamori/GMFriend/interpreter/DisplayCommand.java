@@ -5,6 +5,8 @@ import lombok.EqualsAndHashCode;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.exceptions.InterpreterException;
 import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.metrics.Explain;
+import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.services.SimpleCrudeService;
 
 @Data
@@ -13,12 +15,34 @@ public class DisplayCommand<T> extends AbstractCommand {
     protected PrettyPrinter<T> printer;
     protected SimpleCrudeService<T> service;
 
+    // optional; responses are only cached if set, and only until a write to one of the dependsOn kinds
+    protected ResponseCache responseCache;
+    protected PropertyType[] dependsOn = PropertyType.values();
+
     private static final String NOT_FOUND = "Sorry, that item was not found.";
 
     @Override
     public void handle(CommandContext context) throws InterpreterException {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            context.setResponse(render(context));
+            return;
+        }
+
+        String key = ResponseCache.key(context);
+        long[] versions = responseCache.versions(dependsOn);
+        String response = responseCache.get(key, versions);
+
+        if (response == null) {
+            response = render(context);
+            responseCache.put(key, versions, response);
+        }
+
+        context.setResponse(response);
+    }
+
+    private String render(CommandContext context) throws InterpreterException {
         try {
-            context.setResponse(printer.print(getItem(context)));
+            return Explain.print(printer, getItem(context));
         } catch (DmFriendGeneralServiceException ex) {
             throw new InterpreterException("failed to display: ".concat(ex.getMessage()), ex);
         }
@@ -6,6 +6,7 @@ import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.exceptions.InterpreterException;
 import net.dalamori.GMFriend.exceptions.PropertyException;
 import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.metrics.Explain;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
@@ -33,7 +34,7 @@ public class GlobalPropertySetCommand extends PropertySetCommand<HasProperties>
             context.setIndex(index);
 
             target = saveProperty(target);
-            context.setResponse(propertyPrinter.print(target));
+            context.setResponse(Explain.print(propertyPrinter, target));
 
         } catch (DmFriendGeneralServiceException ex) {
             throw new InterpreterException("Unable to set global property", ex);
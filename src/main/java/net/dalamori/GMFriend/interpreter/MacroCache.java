@@ -0,0 +1,135 @@
+package net.dalamori.GMFriend.interpreter;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled macros, kept per guild with least-recently-used eviction, so one busy guild can't push out every
+ * other guild's macros.
+ *
+ * Each guild's shelf carries a stamp that moves on every (re)definition and deletion. A plan loaded from the
+ * database is only cached if the stamp hasn't moved since the load began, so a load racing a redefinition can't
+ * put the old plan back.
+ *
+ * Inside a transaction (a batch, say), a definition or deletion drops the cached plan at once, and only caches the
+ * new plan once the transaction commits; either way the name is dropped again when it completes, so nothing loaded
+ * from the uncommitted rows outlives a rollback.
+ */
+public class MacroCache {
+
+    private final int perGuild;
+    private final ConcurrentMap<String, Shelf> guilds = new ConcurrentHashMap<>();
+
+    public MacroCache(int perGuild) {
+        this.perGuild = perGuild;
+    }
+
+    public MacroPlan get(String guild, String name) {
+        Shelf shelf = shelf(guild);
+        synchronized (shelf) {
+            return shelf.plans.get(name);
+        }
+    }
+
+    /**
+     * take before loading a macro from the database; see {@link #putIfCurrent}.
+     */
+    public long stamp(String guild) {
+        Shelf shelf = shelf(guild);
+        synchronized (shelf) {
+            return shelf.stamp;
+        }
+    }
+
+    /**
+     * caches a plan loaded from the database, unless the guild's macros changed since the stamp was taken.
+     * @return the plan to run: the cached one if another load got there first
+     */
+    public MacroPlan putIfCurrent(String guild, String name, MacroPlan plan, long stamp) {
+        Shelf shelf = shelf(guild);
+        synchronized (shelf) {
+            if (shelf.stamp != stamp) {
+                return plan;
+            }
+
+            MacroPlan cached = shelf.plans.putIfAbsent(name, plan);
+            return cached == null ? plan : cached;
+        }
+    }
+
+    /**
+     * caches a newly (re)defined plan, replacing the old one, once the current transaction (if any) commits.
+     */
+    public void put(String guild, String name, MacroPlan plan) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(guild, name, plan);
+            return;
+        }
+
+        store(guild, name, null);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                store(guild, name, status == STATUS_COMMITTED ? plan : null);
+            }
+        });
+    }
+
+    public void invalidate(String guild, String name) {
+        store(guild, name, null);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    store(guild, name, null);
+                }
+            });
+        }
+    }
+
+    public int size(String guild) {
+        Shelf shelf = shelf(guild);
+        synchronized (shelf) {
+            return shelf.plans.size();
+        }
+    }
+
+    /**
+     * @param plan null to drop the name
+     */
+    private void store(String guild, String name, MacroPlan plan) {
+        Shelf shelf = shelf(guild);
+        synchronized (shelf) {
+            shelf.stamp++;
+            if (plan == null) {
+                shelf.plans.remove(name);
+            } else {
+                shelf.plans.put(name, plan);
+            }
+        }
+    }
+
+    private Shelf shelf(String guild) {
+        return guilds.computeIfAbsent(guild, key -> new Shelf(perGuild));
+    }
+
+    private static final class Shelf {
+        private final Map<String, MacroPlan> plans;
+        private long stamp;
+
+        private Shelf(int capacity) {
+            plans = new LinkedHashMap<String, MacroPlan>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, MacroPlan> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
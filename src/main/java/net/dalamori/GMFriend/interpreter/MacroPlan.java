@@ -0,0 +1,204 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A stored macro, compiled for running.
+ *
+ * Each step is tokenized once, and its command path walked through the {@link CommandTrie} once, as far as its
+ * first argument slot ($1, $2, ...). Running the macro only fills in the slots and picks each walk up where
+ * compilation left it; nothing is re-tokenized, and no menu is looked up twice. Plans are immutable, so one
+ * plan can run on several channels at once.
+ */
+public class MacroPlan {
+
+    public static final String EXPLAIN_LABEL = "explain";
+    public static final String MACRO_LABEL = "macro";
+    public static final String STEP_SEPARATOR = ";";
+
+    private static final Pattern SLOT = Pattern.compile("\\$([1-9][0-9]?)");
+
+    // set while a macro runs on this thread; a slot or an explain can still reach one at run time
+    private static final ThreadLocal<Boolean> RUNNING = new ThreadLocal<>();
+
+    private final String name;
+    private final List<Step> steps;
+    private final int arity;
+
+    private MacroPlan(String name, List<Step> steps, int arity) {
+        this.name = name;
+        this.steps = steps;
+        this.arity = arity;
+    }
+
+    /**
+     * @param body steps separated by ';', each written without the command prefix, e.g. "turn next; mob list"
+     */
+    public static MacroPlan compile(CommandTrie trie, String prefix, String name, String body)
+            throws InterpreterException {
+        List<Step> steps = new ArrayList<>();
+        int arity = 0;
+
+        for (String text : body.split(STEP_SEPARATOR)) {
+            if (text.trim().isEmpty()) {
+                continue;
+            }
+
+            List<String> tokens = new ArrayList<>(TokenView.parse(prefix.concat(text.trim())));
+            int[] slots = new int[tokens.size()];
+            int literals = tokens.size();
+
+            for (int i = 0; i < tokens.size(); i++) {
+                Matcher slot = SLOT.matcher(tokens.get(i));
+                if (slot.matches()) {
+                    slots[i] = Integer.parseInt(slot.group(1));
+                    arity = Math.max(arity, slots[i]);
+                    literals = Math.min(literals, i);
+                }
+            }
+
+            CommandTrie.Route route = trie.resolve(tokens, literals);
+            if (route.getPath().isEmpty()) {
+                throw new InterpreterException(String.format("step %d: unknown command \"%s\"",
+                        steps.size() + 1, text.trim()));
+            }
+            if (runsMacro(trie, prefix, tokens, literals)) {
+                throw new InterpreterException(String.format("step %d: macros can't run macros", steps.size() + 1));
+            }
+
+            steps.add(new Step(Collections.unmodifiableList(tokens), slots, route));
+        }
+
+        if (steps.isEmpty()) {
+            throw new InterpreterException("a macro needs at least one step");
+        }
+
+        return new MacroPlan(name, Collections.unmodifiableList(steps), arity);
+    }
+
+    /**
+     * runs each step in turn as the context's owner, with args filling the slots, and stops at the first step
+     * that fails. Responses are joined into the context's response, and board actions merged into its data.
+     */
+    public void run(CommandContext context, List<String> args) throws InterpreterException {
+        if (args.size() < arity) {
+            context.setResponse(String.format("macro %s takes %d argument%s", name, arity, arity == 1 ? "" : "s"));
+            return;
+        }
+
+        if (RUNNING.get() != null) {
+            throw new InterpreterException(String.format("macro %s can't run from inside another macro", name));
+        }
+
+        RUNNING.set(Boolean.TRUE);
+        try {
+            runSteps(context, args);
+        } finally {
+            RUNNING.remove();
+        }
+    }
+
+    private void runSteps(CommandContext context, List<String> args) {
+        StringBuilder response = new StringBuilder();
+        BoardAction board = null;
+
+        for (int i = 0; i < steps.size(); i++) {
+            CommandContext step = steps.get(i).bind(context, args);
+
+            try {
+                steps.get(i).route.handle(step);
+            } catch (InterpreterException ex) {
+                response.append(String.format("**Macro %s stopped at step %d: %s**", name, i + 1, ex.getMessage()));
+                break;
+            }
+
+            if (step.getResponse() != null) {
+                response.append(step.getResponse());
+                if (response.charAt(response.length() - 1) != '\n') {
+                    response.append('\n');
+                }
+            }
+            board = BoardAction.merge(board, BoardAction.of(step));
+        }
+
+        if (board != null) {
+            context.getData().put(BoardAction.DATA_KEY, board);
+        }
+        context.setResponse(response.length() > 0 ? response.toString() : null);
+    }
+
+    /**
+     * whether a step would run a macro, directly or as the command an explain runs.
+     */
+    private static boolean runsMacro(CommandTrie trie, String prefix, List<String> tokens, int literals) {
+        CommandTrie.Route route = trie.resolve(tokens, literals);
+        List<String> path = route.getPath();
+        if (path.isEmpty()) {
+            return false;
+        }
+        if (path.get(0).equals(MACRO_LABEL)) {
+            return true;
+        }
+
+        int index = route.getIndex();
+        if (path.get(0).equals(EXPLAIN_LABEL) && index < tokens.size()) {
+            List<String> rest = new ArrayList<>();
+            rest.add(prefix.concat(tokens.get(index)));
+            rest.addAll(tokens.subList(index + 1, tokens.size()));
+
+            return runsMacro(trie, prefix, rest, Math.max(0, literals - index));
+        }
+
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    private static final class Step {
+        private final List<String> tokens;
+        private final int[] slots;
+        private final CommandTrie.Route route;
+
+        private Step(List<String> tokens, int[] slots, CommandTrie.Route route) {
+            this.tokens = tokens;
+            this.slots = slots;
+            this.route = route;
+        }
+
+        private CommandContext bind(CommandContext parent, List<String> args) {
+            List<String> command = tokens;
+
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] > 0) {
+                    if (command == tokens) {
+                        command = new ArrayList<>(tokens);
+                    }
+                    command.set(i, args.get(slots[i] - 1));
+                }
+            }
+
+            CommandContext context = new CommandContext();
+            context.setOwner(parent.getOwner());
+            context.setGuild(parent.getGuild());
+            context.setCommand(command);
+
+            return context;
+        }
+    }
+}
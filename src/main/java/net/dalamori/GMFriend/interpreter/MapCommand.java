@@ -16,12 +16,20 @@ public class MapCommand extends AbstractCommand {
     private Map<String, AbstractCommand> map = new HashMap<>();
     private AbstractCommand defaultAction;
 
+    // label each key adds to the command path, when it isn't the key itself; "" adds nothing.
+    private Map<String, String> labels = new HashMap<>();
+
     @Override
     public void handle(CommandContext context) throws InterpreterException {
         String commandPart = getCurrentCommandPart(context).toLowerCase();
 
         // try to follow map
         if (map.containsKey(commandPart)) {
+            String label = labelOf(commandPart);
+            if (!label.isEmpty()) {
+                context.getPath().add(label);
+            }
+
             context.setIndex(context.getIndex() + 1);
             map.get(commandPart).handle(context);
 
@@ -32,6 +40,18 @@ public class MapCommand extends AbstractCommand {
         tryDefault(context);
     }
 
+    /**
+     * maps alias to the same command as key, under key's label.
+     */
+    public void alias(String alias, String key) {
+        map.put(alias, map.get(key));
+        labels.put(alias, labelOf(key));
+    }
+
+    public String labelOf(String key) {
+        return labels.getOrDefault(key, key);
+    }
+
     private void tryDefault(CommandContext context) throws InterpreterException {
         if (defaultAction == null) {
             log.error("MapCommand::handle Reached null default Action for command {} at index {}", context.getCommand(), context.getIndex());
@@ -0,0 +1,58 @@
+package net.dalamori.GMFriend.interpreter;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.metrics.Explain;
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.services.MobileSelector;
+
+import java.util.List;
+
+/**
+ * Runs a mobile update against every mobile a selector picks out (see {@link MobileSelector}), with one combined
+ * summary; a plain id or name goes to the single-mobile command as before.
+ */
+@Data
+@Slf4j
+@EqualsAndHashCode(callSuper = false)
+public class MobileBulkCommand extends AbstractCommand {
+
+    protected AbstractCommand single;
+    protected Operation operation;
+    protected PrettyPrinter<Iterable<Mobile>> printer;
+
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * @return the updated mobiles
+         */
+        List<Mobile> apply(CommandContext context, MobileSelector selector) throws DmFriendGeneralServiceException;
+    }
+
+    @Override
+    public void handle(CommandContext context) throws InterpreterException {
+        String target = getCurrentCommandPart(context);
+        if (!MobileSelector.isSelector(target)) {
+            single.handle(context);
+            return;
+        }
+
+        try {
+            MobileSelector selector = MobileSelector.parse(target);
+            List<Mobile> mobiles = operation.apply(context, selector);
+
+            String header = String.format("Updated %d mobile%s matching %s\n",
+                    mobiles.size(), mobiles.size() == 1 ? "" : "s", selector);
+            context.setResponse(header.concat(Explain.print(printer, mobiles)));
+        } catch (InterpreterException ex) {
+            throw ex;
+        } catch (DmFriendGeneralServiceException ex) {
+            log.debug("MobileBulkCommand::handle failed to update {}", target, ex);
+            throw new InterpreterException("Failed to update: ".concat(ex.getMessage()), ex);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.metrics.CacheStats;
+import net.dalamori.GMFriend.metrics.CacheStatsSource;
+import net.dalamori.GMFriend.models.enums.PropertyType;
+import net.dalamori.GMFriend.services.DataVersions;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Responses of read-only commands ({@link DisplayCommand}), keyed by command path and arguments.
+ *
+ * Each response remembers the {@link DataVersions} counters of the kinds of data it was built from, and is
+ * only served while none of them has moved; so ten players repeating ";;here" cost one set of reads, and the
+ * first write to a location, note or variable makes the next one read again. Entries are evicted least recently
+ * used past maxEntries, and once idle for longer than idleMillis.
+ */
+public class ResponseCache implements CacheStatsSource {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final DataVersions versions;
+    private final int maxEntries;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ResponseCache(DataVersions versions, int maxEntries, long idleMillis) {
+        this(versions, maxEntries, idleMillis, System::nanoTime);
+    }
+
+    ResponseCache(DataVersions versions, int maxEntries, long idleMillis, LongSupplier clock) {
+        this.versions = versions;
+        this.maxEntries = maxEntries;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * the command path, plus the arguments from the context's index on, verbatim.
+     */
+    public static String key(CommandContext context) {
+        List<String> command = context.getCommand();
+        StringBuilder key = new StringBuilder(context.pathLabel());
+
+        for (int i = context.getIndex(); i < command.size(); i++) {
+            key.append(SEPARATOR).append(command.get(i));
+        }
+
+        return key.toString();
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * take before reading anything; a response is cached against the counters as they were when reading began.
+     */
+    public long[] versions(PropertyType[] dependsOn) {
+        return versions.snapshot(dependsOn);
+    }
+
+    /**
+     * @return the cached response, or null if there is none, or it's stale or idle
+     */
+    public synchronized String get(String key, long[] current) {
+        Entry entry = entries.get(key);
+        long now = clock.getAsLong();
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        if (!Arrays.equals(entry.versions, current) || now - entry.lastUsed > idleNanos) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+
+        entry.lastUsed = now;
+        hits++;
+        return entry.response;
+    }
+
+    public synchronized void put(String key, long[] versions, String response) {
+        if (!isEnabled() || response == null) {
+            return;
+        }
+
+        entries.put(key, new Entry(versions, response, clock.getAsLong()));
+    }
+
+    /**
+     * drops every entry; for writes that bypass the services.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized CacheStats getCacheStats() {
+        CacheStats stats = new CacheStats();
+        stats.setCache("responses");
+        stats.setSize(entries.size());
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setEvictions(evictions);
+
+        return stats;
+    }
+
+    private static final class Entry {
+        private final long[] versions;
+        private final String response;
+        private long lastUsed;
+
+        private Entry(long[] versions, String response, long lastUsed) {
+            this.versions = versions;
+            this.response = response;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.dalamori.GMFriend.interpreter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Tokens of a raw command line, kept as offsets into the original string.
+ *
+ * Tokens are split on whitespace; a token that opens with a double quote runs to the next double quote (or the
+ * end of the line), so multi-word names like "Goblin Chief" are one token, without the quotes. A token's String
+ * is only cut from the line the first time it's asked for, and {@link #remaining(int)} serves the rest of the
+ * line as one slice of the original, instead of re-joining tokens.
+ */
+public final class TokenView extends AbstractList<String> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String raw;
+    private int[] starts;
+    private int[] ends;
+    private boolean[] quoted;
+    private final String[] tokens;
+    private int size = 0;
+
+    private TokenView(String raw) {
+        this.raw = raw;
+        this.starts = new int[INITIAL_CAPACITY];
+        this.ends = new int[INITIAL_CAPACITY];
+        this.quoted = new boolean[INITIAL_CAPACITY];
+        scan();
+        this.tokens = new String[size];
+    }
+
+    public static TokenView parse(String raw) {
+        return new TokenView(raw);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("token " + index + " of " + size);
+        }
+
+        String token = tokens[index];
+        if (token == null) {
+            token = raw.substring(starts[index], ends[index]);
+            tokens[index] = token;
+        }
+
+        return token;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    /** @return offset in the raw line where the token's text starts (after any opening quote) */
+    public int start(int index) {
+        return starts[index];
+    }
+
+    /** @return offset in the raw line just past the token's text (before any closing quote) */
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * @return the line from token fromIndex on, exactly as typed, quotes and all, however many tokens are left;
+     * "" if there's nothing left.
+     */
+    public String remaining(int fromIndex) {
+        if (fromIndex >= size) {
+            return "";
+        }
+
+        int from = quoted[fromIndex] ? starts[fromIndex] - 1 : starts[fromIndex];
+        int to = quoted[size - 1] && ends[size - 1] < raw.length() ? ends[size - 1] + 1 : ends[size - 1];
+        return raw.substring(from, to);
+    }
+
+    private void scan() {
+        int length = raw.length();
+        int position = 0;
+
+        while (true) {
+            while (position < length && Character.isWhitespace(raw.charAt(position))) {
+                position++;
+            }
+            if (position >= length) {
+                return;
+            }
+
+            if (raw.charAt(position) == '"') {
+                int close = raw.indexOf('"', position + 1);
+                int end = close < 0 ? length : close;
+
+                add(position + 1, end, true);
+                position = close < 0 ? length : close + 1;
+            } else {
+                int end = position;
+                while (end < length && !Character.isWhitespace(raw.charAt(end))) {
+                    end++;
+                }
+
+                add(position, end, false);
+                position = end;
+            }
+        }
+    }
+
+    private void add(int start, int end, boolean isQuoted) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            quoted = Arrays.copyOf(quoted, size * 2);
+        }
+
+        starts[size] = start;
+        ends[size] = end;
+        quoted[size] = isQuoted;
+        size++;
+    }
+}
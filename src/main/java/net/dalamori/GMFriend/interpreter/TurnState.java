@@ -0,0 +1,105 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.models.Property;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where the turn is, read once from the $ACTIVE global ("INITIATIVE|NAME"), together with the initiative order
+ * it points into and the mobile it lands on; so a printer can draw the list without looking anything up.
+ */
+public final class TurnState {
+
+    private static final char DELIMITER = '|';
+
+    private final int initiative;
+    private final String name;
+    private final List<Mobile> order;
+    private final Long turnId;
+    private final boolean activeListed;
+
+    private TurnState(int initiative, String name, List<Mobile> order, Long turnId, boolean activeListed) {
+        this.initiative = initiative;
+        this.name = name;
+        this.order = order;
+        this.turnId = turnId;
+        this.activeListed = activeListed;
+    }
+
+    /**
+     * @param active the $ACTIVE property, or null if no turn is running
+     * @param order the mobiles, in initiative order; one page of them, or all
+     * @param turn the first listed mobile at or after the pointer, or null if there is none
+     */
+    public static TurnState of(Property active, List<Mobile> order, Mobile turn) {
+        int initiative = 0;
+        String name = "";
+
+        if (active != null && active.getValue() != null) {
+            String value = active.getValue();
+            int indexOfDelimiter = value.indexOf(DELIMITER);
+            if (indexOfDelimiter > 0) {
+                initiative = Integer.parseInt(value.substring(0, indexOfDelimiter));
+                name = value.substring(indexOfDelimiter + 1);
+            }
+        }
+
+        if (turn == null) {
+            return new TurnState(initiative, name, order, null, false);
+        }
+
+        // names are unique as the database compares them, which ignores case
+        boolean activeListed = turn.getInitiative() == initiative && turn.getName().equalsIgnoreCase(name);
+        return new TurnState(initiative, name, order, turn.getId(), activeListed);
+    }
+
+    /**
+     * @param active the $ACTIVE property, or null if no turn is running
+     * @param order the mobiles, in initiative order
+     */
+    public static TurnState of(Property active, List<Mobile> order) {
+        return of(active, order, null);
+    }
+
+    public static TurnState of(Property active) {
+        return of(active, Collections.emptyList());
+    }
+
+    /**
+     * @return the $ACTIVE value that makes it mobile's turn
+     */
+    public static String valueOf(Mobile mobile) {
+        return Integer.toString(mobile.getInitiative()) + DELIMITER + mobile.getName();
+    }
+
+    public int getInitiative() {
+        return initiative;
+    }
+
+    /**
+     * @return the active mobile's name, or "" before the first turn
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<Mobile> getOrder() {
+        return order;
+    }
+
+    /**
+     * @return true if the pointer lands on mobile: the active mobile, or the next one after a gap
+     */
+    public boolean isTurnOf(Mobile mobile) {
+        return turnId != null && turnId.equals(mobile.getId());
+    }
+
+    /**
+     * @return true if the mobile the pointer lands on is the active one; false if it only goes next
+     */
+    public boolean isActiveListed() {
+        return activeListed;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.exceptions.InterpreterException;
 import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.metrics.Explain;
 import net.dalamori.GMFriend.services.SimpleCrudeService;
 
 @Data
@@ -25,7 +26,7 @@ public abstract class UpdateCommand<T> extends AbstractCommand {
 
             item = save(item);
             afterSave(context, item);
-            context.setResponse(printer.print(item));
+            context.setResponse(Explain.print(printer, item));
         } catch (DmFriendGeneralServiceException ex) {
             log.debug("UpdateCommand::handle failed to update {} item", item, ex);
             throw new InterpreterException("Failed to update", ex);
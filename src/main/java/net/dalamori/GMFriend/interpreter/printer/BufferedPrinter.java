@@ -0,0 +1,27 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+/**
+ * A printer that writes into an {@link OutputBuffer}; print(T) renders into this thread's reusable buffer.
+ */
+public abstract class BufferedPrinter<T> extends PrettyPrinter<T> {
+
+    private final OutputBuffer.Local buffers;
+
+    protected BufferedPrinter(OutputBuffer.Local buffers) {
+        this.buffers = buffers;
+    }
+
+    @Override
+    public final String print(T object) {
+        OutputBuffer out = buffers.acquire();
+        try {
+            print(object, out);
+            return out.toString();
+        } finally {
+            buffers.release(out);
+        }
+    }
+
+    @Override
+    public abstract void print(T object, OutputBuffer out);
+}
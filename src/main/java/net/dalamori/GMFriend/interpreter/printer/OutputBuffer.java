@@ -0,0 +1,158 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+/**
+ * A reusable, size-bounded text buffer for printers.
+ *
+ * Once the budget is reached, further appends are dropped and the buffer is marked full, so a printer can stop
+ * walking its items instead of building text nobody will see; the rendered text then ends with
+ * {@link #OVERFLOW_MARKER}, which the budget leaves room for.
+ */
+public final class OutputBuffer {
+
+    public static final String OVERFLOW_MARKER = "\n*(output truncated)*\n";
+
+    private final StringBuilder text;
+    private final int limit;
+    private boolean full;
+    private boolean inUse;
+
+    /**
+     * @param budget the most characters the rendered text may have, marker included
+     */
+    public OutputBuffer(int budget) {
+        this.limit = Math.max(0, budget - OVERFLOW_MARKER.length());
+        this.text = new StringBuilder(Math.min(limit, 1024));
+    }
+
+    public OutputBuffer append(CharSequence chars) {
+        return append(chars, 0, chars.length());
+    }
+
+    public OutputBuffer append(CharSequence chars, int start, int end) {
+        if (full) {
+            return this;
+        }
+
+        int room = limit - text.length();
+        if (end - start > room) {
+            text.append(chars, start, start + room);
+            full = true;
+        } else {
+            text.append(chars, start, end);
+        }
+
+        return this;
+    }
+
+    public OutputBuffer append(char c) {
+        if (text.length() < limit) {
+            text.append(c);
+        } else {
+            full = true;
+        }
+
+        return this;
+    }
+
+    public OutputBuffer append(long number) {
+        if (full) {
+            return this;
+        }
+
+        text.append(number);
+        if (text.length() > limit) {
+            text.setLength(limit);
+            full = true;
+        }
+
+        return this;
+    }
+
+    /**
+     * appends a name as {@link PrettyPrinter#formatName} would show it, underscores as spaces.
+     */
+    public OutputBuffer appendName(String name) {
+        int end = name.length();
+        for (int i = 0; i < end && !full; i++) {
+            char c = name.charAt(i);
+            append(c == '_' ? ' ' : c);
+        }
+
+        return this;
+    }
+
+    /**
+     * appends text as {@link PrettyPrinter#truncate} would cut it.
+     */
+    public OutputBuffer appendTruncated(String input, int length) {
+        int cutAt = length;
+        int firstNewline = input.indexOf('\n');
+
+        if (firstNewline > 0 && firstNewline < length) {
+            cutAt = firstNewline;
+        }
+
+        if (input.length() <= cutAt) {
+            return append(input);
+        }
+
+        return append(input, 0, cutAt).append("...");
+    }
+
+    /**
+     * @return true once an append didn't fit; everything after it was dropped
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * @return the text appended since the buffer was start characters long, without the overflow marker
+     */
+    public String substring(int start) {
+        return text.substring(start);
+    }
+
+    public void reset() {
+        text.setLength(0);
+        full = false;
+    }
+
+    @Override
+    public String toString() {
+        return full ? text.toString().concat(OVERFLOW_MARKER) : text.toString();
+    }
+
+    /**
+     * Hands out one buffer per thread, again and again. A printer that prints another through print(T) while
+     * holding its buffer gets a fresh one, rather than clobbering its own.
+     */
+    public static final class Local {
+        private final int budget;
+        private final ThreadLocal<OutputBuffer> buffers;
+
+        public Local(int budget) {
+            this.budget = budget;
+            this.buffers = ThreadLocal.withInitial(() -> new OutputBuffer(budget));
+        }
+
+        public OutputBuffer acquire() {
+            OutputBuffer buffer = buffers.get();
+            if (buffer.inUse) {
+                return new OutputBuffer(budget);
+            }
+
+            buffer.inUse = true;
+            buffer.reset();
+            return buffer;
+        }
+
+        public void release(OutputBuffer buffer) {
+            buffer.inUse = false;
+        }
+    }
+}
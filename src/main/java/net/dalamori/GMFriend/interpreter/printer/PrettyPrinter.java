@@ -6,9 +6,15 @@ public abstract class PrettyPrinter<T> {
 
     public abstract String print(T object);
 
+    /**
+     * writes the object into a buffer; printers that nest others pass their buffer down through this.
+     */
+    public void print(T object, OutputBuffer out) {
+        out.append(print(object));
+    }
 
     public static String formatName(String input) {
-        return input.replaceAll("_", " ");
+        return input.replace('_', ' ');
 
     }
 
@@ -1,10 +1,8 @@
 package net.dalamori.GMFriend.interpreter.printer;
 
-import com.fasterxml.jackson.databind.annotation.JsonAppend;
 import lombok.Data;
 import net.dalamori.GMFriend.config.DmFriendConfig;
-import net.dalamori.GMFriend.exceptions.CreatureException;
-import net.dalamori.GMFriend.exceptions.PropertyException;
+import net.dalamori.GMFriend.interpreter.TurnState;
 import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Location;
 import net.dalamori.GMFriend.models.LocationLink;
@@ -12,33 +10,59 @@ import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.services.CreatureService;
-import net.dalamori.GMFriend.services.PropertyService;
+import net.dalamori.GMFriend.services.ListPage;
 
+import java.util.Collections;
 import java.util.Map;
-
+import java.util.function.Consumer;
+
+import static net.dalamori.GMFriend.interpreter.printer.Template.escape;
+import static net.dalamori.GMFriend.interpreter.printer.Template.name;
+import static net.dalamori.GMFriend.interpreter.printer.Template.number;
+import static net.dalamori.GMFriend.interpreter.printer.Template.text;
+import static net.dalamori.GMFriend.interpreter.printer.Template.truncated;
+
+/**
+ * Builds the printers, each on {@link Template}s compiled the first time it's asked for.
+ *
+ * Everything renders into a per-thread {@link OutputBuffer} bounded by the outbound backlog: a response any longer
+ * would be refused by the channel whole, so the printers stop there, and say so, instead.
+ *
+ * Creature, location, mobile and note sheets are kept in a {@link RenderCache} by entity version, so showing the
+ * same thing again is a copy rather than a render.
+ */
 @Data
 public class PrinterFactory {
 
+    public static final int DEFAULT_BUDGET = 20000;
+    public static final String CREATURE_NOT_FOUND = "Not_Found";
+
     private DmFriendConfig config;
     private CreatureService creatureService;
-    private PropertyService propertyService;
 
     private PrettyPrinter<Creature> creaturePrinter;
-    private PrettyPrinter<Iterable<Mobile>> initiativeListPrinter;
+    private PrettyPrinter<TurnState> initiativeListPrinter;
     private PrettyPrinter<Location> locationPrinter;
     private PrettyPrinter<Mobile> mobilePrinter;
+    private PrettyPrinter<Iterable<Mobile>> mobileSummaryPrinter;
     private PrettyPrinter<Note> notePrinter;
     private PrettyPrinter<Iterable<Note>> noteListPrinter;
     private PrettyPrinter<Property> propertyPrinter;
+    private PrettyPrinter<Iterable<Property>> propertyListPrinter;
     private PrettyPrinter<Map<String, Property>> propertyMapPrinter;
 
 
     private String HR = "---";
     private String BULLET = "x ";
+    private String EMPHASIS_BULLET = "* ";
+    private OutputBuffer.Local buffers = new OutputBuffer.Local(DEFAULT_BUDGET);
+    private RenderCache renderCache = new RenderCache(0);
 
     public void setConfig(DmFriendConfig config) {
         HR = config.getInterpreterPrinterHr();
         BULLET = config.getInterpreterPrinterBullet();
+        EMPHASIS_BULLET = config.getInterpreterPrinterEmphasisBullet();
+        buffers = new OutputBuffer.Local(config.getDiscordOutboundMaxBacklogChars());
         this.config = config;
     }
 
@@ -47,100 +71,69 @@ public class PrinterFactory {
         PrettyPrinter<Map<String, Property>> propPrinter = getPropertyMapPrinter();
 
         if (creaturePrinter == null) {
-            creaturePrinter = new PrettyPrinter<Creature>() {
+            Template<Creature> header = Template.<Creature>layout("[Creature #{id}] **{name}**\n" + escape(HR))
+                    .field("id", text(Creature::getId))
+                    .field("name", text(Creature::getName))
+                    .compile();
+            Template<Creature> footer = Template.<Creature>layout(escape(HR) + "by: {owner}\n\r")
+                    .field("owner", text(Creature::getOwner))
+                    .compile();
+
+            creaturePrinter = new BufferedPrinter<Creature>(buffers) {
                 @Override
-                public String print(Creature creature) {
-                    String output = String.format("[Creature #%d] **%s**\n", creature.getId(), creature.getName()) +
-                            HR;
-
-                    if (creature.getPropertyMap().size() > 0) {
-                        output += propPrinter.print(creature.getPropertyMap());
-                    }
+                public void print(Creature creature, OutputBuffer out) {
+                    cached(RenderCache.key(creature), out, buffer -> {
+                        header.render(creature, buffer);
 
-                    output += HR + String.format("by: %s\n\r", creature.getOwner());
+                        if (creature.getPropertyMap().size() > 0) {
+                            propPrinter.print(creature.getPropertyMap(), buffer);
+                        }
 
-                    return output;
+                        footer.render(creature, buffer);
+                    });
                 }
             };
         }
         return creaturePrinter;
     }
 
-    public PrettyPrinter<Iterable<Mobile>> getInitiativeListPrinter() {
+    public PrettyPrinter<TurnState> getInitiativeListPrinter() {
         if (initiativeListPrinter == null) {
-            initiativeListPrinter = new PrettyPrinter<Iterable<Mobile>>() {
+            Template<Mobile> line = Template.<Mobile>layout(escape(BULLET) + " ({init}) {name}\n")
+                    .field("init", number(Mobile::getInitiative))
+                    .field("name", text(Mobile::getName))
+                    .compile();
+            Template<Mobile> nextLine = Template.<Mobile>layout(escape(BULLET) + " ({init}) {name} (Next Active)\n")
+                    .field("init", number(Mobile::getInitiative))
+                    .field("name", text(Mobile::getName))
+                    .compile();
+            Template<Mobile> activeLine = Template.<Mobile>layout(escape(EMPHASIS_BULLET) + " ({init}) {name} (Active)\n")
+                    .field("init", number(Mobile::getInitiative))
+                    .field("name", text(Mobile::getName))
+                    .compile();
+
+            initiativeListPrinter = new BufferedPrinter<TurnState>(buffers) {
                 @Override
-                public String print(Iterable<Mobile> mobileList) {
-
-                    // $ACTIVE lookup
-                    int activeInit = 0;
-                    String activeName = "";
-                    try {
-                        Property active = propertyService.getGlobalProperties().getOrDefault(config.getMobileActiveGlobalName(), null);
-                        if (active != null) {
-                            int indexOfDelimiter = active.getValue().indexOf('|');
-                            if (indexOfDelimiter > 0) {
-                                activeInit = Integer.valueOf(active.getValue().substring(0,indexOfDelimiter));
-                                activeName = active.getValue().substring(indexOfDelimiter + 1);
-                            }
-
+                public void print(TurnState turn, OutputBuffer out) {
+                    // one pass over the order, from the state the command loaded; no lookups
+                    out.append(HR);
+                    for (Mobile mobile : turn.getOrder()) {
+                        if (out.isFull()) {
+                            break;
                         }
-                    } catch (PropertyException ex) {
-                        activeInit = 0;
-                        activeName = "";
-                    }
 
-                    // Output
-                    StringBuilder output = new StringBuilder();
-                    output.append(HR);
-                    boolean activeFound = false;
-                    for (Mobile mobile : mobileList) {
-                        // check for active interstitial, and print empty line if needed.
-                        if (!activeFound) {
-                            if (activeInit <= mobile.getInitiative()) {
-                                if (mobile.getName().compareToIgnoreCase(activeName) > 0) {
-                                    // init pointer is before mobile; draw focus line
-                                    output.append(String.format("%s (%d) -- No Active Mobile --\n",
-                                            config.getInterpreterPrinterEmphasisBullet(), activeInit));
-                                    activeFound = true;
-
-                                    // show list entry with next notation
-                                    output.append(String.format("%s (%d) %s (Next Active)\n",
-                                            config.getInterpreterPrinterBullet(),
-                                            mobile.getInitiative(),
-                                            mobile.getName()));
-                                } else if (mobile.getName().compareToIgnoreCase(activeName) == 0) {
-                                    // init pointer hit
-                                    output.append(String.format("%s (%d) %s (Active)\n",
-                                            config.getInterpreterPrinterEmphasisBullet(),
-                                            mobile.getInitiative(),
-                                            mobile.getName()));
-                                    activeFound = true;
-                                } else {
-                                    // mob is tied w/ init pointer, but has already taken turn.
-                                    output.append(String.format("%s (%d) %s\n",
-                                            config.getInterpreterPrinterBullet(),
-                                            mobile.getInitiative(),
-                                            mobile.getName()));
-                                }
-                            } else {
-                                // mob has init lower than active, has already taken turn.
-                                output.append(String.format("%s (%d) %s\n",
-                                        config.getInterpreterPrinterBullet(),
-                                        mobile.getInitiative(),
-                                        mobile.getName()));
-                            }
+                        // the pointer lands on one mobile, on whichever page holds it; everyone else is plain
+                        if (!turn.isTurnOf(mobile)) {
+                            line.render(mobile, out);
+                        } else if (turn.isActiveListed()) {
+                            // init pointer hit
+                            activeLine.render(mobile, out);
                         } else {
-                            // active was already found
-                            output.append(String.format("%s (%d) %s\n",
-                                    config.getInterpreterPrinterBullet(),
-                                    mobile.getInitiative(),
-                                    mobile.getName()));
+                            // init pointer is before mobile; draw focus line, and show the entry with next notation
+                            out.append(EMPHASIS_BULLET).append(" (").append(turn.getInitiative()).append(") -- No Active Mobile --\n");
+                            nextLine.render(mobile, out);
                         }
-
                     }
-
-                    return output.toString();
                 }
             };
         }
@@ -150,38 +143,52 @@ public class PrinterFactory {
 
     public PrettyPrinter<Location> getLocationPrinter() {
         if (locationPrinter == null) {
-            locationPrinter = new PrettyPrinter<Location>() {
+            Template<Location> header = Template.<Location>layout("[Location #{id}] **{name}**\n" + escape(HR))
+                    .field("id", text(Location::getId))
+                    .field("name", name(Location::getName))
+                    .compile();
+            Template<Note> noteLine = Template.<Note>layout(escape(BULLET) + " [N#{id}] **{title}**: {body}\n")
+                    .field("id", text(Note::getId))
+                    .field("title", name(Note::getTitle))
+                    .field("body", truncated(Note::getBody, 64))
+                    .compile();
+            Template<LocationLink> linkLine = Template.<LocationLink>layout(escape(BULLET) + " [L#{id}] **{name}**: {description}\n")
+                    .field("id", text(link -> link.getDestination().getId()))
+                    .field("name", text(link -> link.getDestination().getName()))
+                    .field("description", text(LocationLink::getShortDescription))
+                    .compile();
+            Template<Location> footer = Template.<Location>layout(escape(HR) + "by: {owner}\n\r")
+                    .field("owner", text(Location::getOwner))
+                    .compile();
+
+            locationPrinter = new BufferedPrinter<Location>(buffers) {
                 @Override
-                public String print(Location location) {
-                    String output = String.format("[Location #%d] **%s**\n", location.getId(), formatName(location.getName())) +
-                            HR;
-
-                    if (location.getNotes().size() > 0) {
-
-                        output += "__Notes__:\n";
-                        for (Note note : location.getNotes()) {
-                            output += String.format("%s [N#%d] **%s**: %s\n",
-                                    BULLET,
-                                    note.getId(),
-                                    formatName(note.getTitle()),
-                                    truncate(note.getBody(), 64));
+                public void print(Location location, OutputBuffer out) {
+                    cached(RenderCache.key(location), out, buffer -> {
+                        header.render(location, buffer);
+
+                        if (location.getNotes().size() > 0) {
+                            buffer.append("__Notes__:\n");
+                            for (Note note : location.getNotes()) {
+                                if (buffer.isFull()) {
+                                    break;
+                                }
+                                noteLine.render(note, buffer);
+                            }
                         }
-                    }
 
-                    if (location.getLinks().size() > 0) {
-                        output += "__Links__:\n";
-                        for (LocationLink link : location.getLinks()) {
-                            output += String.format("%s [L#%d] **%s**: %s\n",
-                                    BULLET,
-                                    link.getDestination().getId(),
-                                    link.getDestination().getName(),
-                                    link.getShortDescription());
+                        if (location.getLinks().size() > 0) {
+                            buffer.append("__Links__:\n");
+                            for (LocationLink link : location.getLinks()) {
+                                if (buffer.isFull()) {
+                                    break;
+                                }
+                                linkLine.render(link, buffer);
+                            }
                         }
-                    }
 
-                    output += HR + String.format("by: %s\n\r", location.getOwner());
-
-                    return output;
+                        footer.render(location, buffer);
+                    });
                 }
             };
         }
@@ -192,45 +199,94 @@ public class PrinterFactory {
     public PrettyPrinter<Mobile> getMobilePrinter() {
         PrettyPrinter<Map<String,Property>> propPrinter = getPropertyMapPrinter();
         if (mobilePrinter == null) {
-            mobilePrinter = new PrettyPrinter<Mobile>() {
+            Template<Mobile> header = Template.<Mobile>layout("[Mobile #{id}] **{name}**\n")
+                    .field("id", text(Mobile::getId))
+                    .field("name", text(Mobile::getName))
+                    .compile();
+            Template<Mobile> status = Template.<Mobile>layout(escape(HR) + "__Status__:\n" +
+                            escape(BULLET) + " **HP**: (**{hp}**/{maxHp}) \n" +
+                            escape(BULLET) + " **Initiative**: {init} \n" +
+                            escape(BULLET) + " **Position**: {position}\n")
+                    .field("hp", number(Mobile::getHp))
+                    .field("maxHp", number(Mobile::getMaxHp))
+                    .field("init", number(Mobile::getInitiative))
+                    .field("position", text(Mobile::getPosition))
+                    .compile();
+            Template<Mobile> footer = Template.<Mobile>layout(escape(HR) + "by: {owner}\n\r")
+                    .field("owner", text(Mobile::getOwner))
+                    .compile();
+
+            mobilePrinter = new BufferedPrinter<Mobile>(buffers) {
                 @Override
-                public String print(Mobile mobile) {
-                    String output = String.format("[Mobile #%d] **%s**\n", mobile.getId(), mobile.getName());
+                public void print(Mobile mobile, OutputBuffer out) {
+                    header.render(mobile, out);
                     if (mobile.getCreatureId() != null) {
-                        Long creatureId = mobile.getCreatureId();
-                        output += String.format("**Creature Type**: [Creature #%d] %s\n", creatureId, getCreatureName(creatureId));
-                    }
-                    output += HR + String.format("__Status__:\n" +
-                                    "%1$s **HP**: (**%2$d**/%3$d) \n" +
-                                    "%1$s **Initiative**: %4$d \n" +
-                                    "%1$s **Position**: %5$s\n",
-                            BULLET, mobile.getHp(), mobile.getMaxHp(), mobile.getInitiative(), mobile.getPosition());
-
-                    if (mobile.getPropertyMap().size() > 0) {
-                        output += propPrinter.print(mobile.getPropertyMap());
+                        // a renamed creature doesn't bump the mobile, so this line is never cached
+                        String creatureName = creatureService.getNames(Collections.singleton(mobile.getCreatureId()))
+                                .getOrDefault(mobile.getCreatureId(), CREATURE_NOT_FOUND);
+                        out.append("**Creature Type**: [Creature #").append(mobile.getCreatureId()).append("] ")
+                                .append(creatureName).append('\n');
                     }
 
-                    output += HR + String.format("by: %s\n\r", mobile.getOwner());
+                    cached(RenderCache.key(mobile), out, buffer -> {
+                        status.render(mobile, buffer);
+
+                        if (mobile.getPropertyMap().size() > 0) {
+                            propPrinter.print(mobile.getPropertyMap(), buffer);
+                        }
 
-                    return output;
+                        footer.render(mobile, buffer);
+                    });
                 }
             };
         }
         return mobilePrinter;
     }
 
+    public PrettyPrinter<Iterable<Mobile>> getMobileSummaryPrinter() {
+        if (mobileSummaryPrinter == null) {
+            Template<Mobile> line = Template.<Mobile>layout(escape(BULLET) +
+                            " [Mobile #{id}] **{name}** HP: (**{hp}**/{maxHp}), Initiative: {init}, Position: {position}{dead}\n")
+                    .field("id", text(Mobile::getId))
+                    .field("name", text(Mobile::getName))
+                    .field("hp", number(Mobile::getHp))
+                    .field("maxHp", number(Mobile::getMaxHp))
+                    .field("init", number(Mobile::getInitiative))
+                    .field("position", text(Mobile::getPosition))
+                    .field("dead", text(mobile -> mobile.isAlive() ? "" : " (dead)"))
+                    .compile();
+
+            mobileSummaryPrinter = new BufferedPrinter<Iterable<Mobile>>(buffers) {
+                @Override
+                public void print(Iterable<Mobile> mobileList, OutputBuffer out) {
+                    // one line a mobile, from the mobile alone; no lookups
+                    out.append(HR);
+                    for (Mobile mobile : mobileList) {
+                        if (out.isFull()) {
+                            break;
+                        }
+                        line.render(mobile, out);
+                    }
+                }
+            };
+        }
+        return mobileSummaryPrinter;
+    }
+
     public PrettyPrinter<Note> getNotePrinter() {
         if (notePrinter == null) {
-            notePrinter = new PrettyPrinter<Note>() {
+            Template<Note> layout = Template.<Note>layout("[Note #{id}] **{title}**\n" + escape(HR) +
+                            "{body}\n" + escape(HR) + "by: *{owner}*\n\r")
+                    .field("id", text(Note::getId))
+                    .field("title", name(Note::getTitle))
+                    .field("body", text(Note::getBody))
+                    .field("owner", text(Note::getOwner))
+                    .compile();
+
+            notePrinter = new BufferedPrinter<Note>(buffers) {
                 @Override
-                public String print(Note note) {
-                    String output = String.format("[Note #%d] **%s**\n", note.getId(), formatName(note.getTitle())) +
-                            HR +
-                            note.getBody() + "\n" +
-                            HR +
-                            String.format("by: *%s*\n\r", note.getOwner());
-
-                    return output;
+                public void print(Note note, OutputBuffer out) {
+                    cached(RenderCache.key(note), out, buffer -> layout.render(note, buffer));
                 }
             };
         }
@@ -240,24 +296,28 @@ public class PrinterFactory {
 
     public PrettyPrinter<Iterable<Note>> getNoteListPrinter() {
         if (noteListPrinter == null) {
-            noteListPrinter = new PrettyPrinter<Iterable<Note>>() {
+            Template<Note> line = Template.<Note>layout(escape(BULLET) + " **[N#{id}]** {title}\n\n\r")
+                    .field("id", text(Note::getId))
+                    .field("title", text(Note::getTitle))
+                    .compile();
+
+            noteListPrinter = new BufferedPrinter<Iterable<Note>>(buffers) {
                 @Override
-                public String print(Iterable<Note> noteList) {
-                    int index = 0;
-                    String output = HR;
+                public void print(Iterable<Note> noteList, OutputBuffer out) {
+                    out.append(HR);
+                    boolean empty = true;
                     for (Note note : noteList) {
-                        index++;
-                        output = output
-                                .concat(String.format("%s **[N#%d]** %s\n", BULLET, note.getId(), note.getTitle()))
-                                .concat("\n\r");
+                        if (out.isFull()) {
+                            break;
+                        }
+                        empty = false;
+                        line.render(note, out);
                     }
 
                     // empty fallback
-                    if (!noteList.iterator().hasNext()) {
-                        output = output + "Empty List";
+                    if (empty) {
+                        out.append("Empty List");
                     }
-
-                    return output;
                 }
             };
         }
@@ -266,19 +326,16 @@ public class PrinterFactory {
 
     public PrettyPrinter<Property> getPropertyPrinter() {
         if (propertyPrinter == null) {
-            propertyPrinter = new PrettyPrinter<Property>() {
-                @Override
-                public String print(Property property) {
-                    String typeIndicator = "";
-                    switch (property.getType()) {
-                        case CREATURE:  typeIndicator = "(Creature) ";  break;
-                        case LOCATION:  typeIndicator = "(Location) ";  break;
-                        case MOBILE:    typeIndicator = "(Mobile) ";    break;
-                        case NOTE:      typeIndicator = "(Note) ";      break;
-                    }
+            Template<Property> line = Template.<Property>layout(escape(BULLET) + " **{name}**: {type}{value}\n")
+                    .field("name", name(Property::getName))
+                    .field("type", text(PrinterFactory::typeIndicator))
+                    .field("value", text(Property::getValue))
+                    .compile();
 
-                    return String.format("%s **%s**: %s%s\n",
-                            BULLET, PrettyPrinter.formatName(property.getName()), typeIndicator, property.getValue());
+            propertyPrinter = new BufferedPrinter<Property>(buffers) {
+                @Override
+                public void print(Property property, OutputBuffer out) {
+                    line.render(property, out);
                 }
             };
         }
@@ -288,30 +345,89 @@ public class PrinterFactory {
     public PrettyPrinter<Map<String, Property>> getPropertyMapPrinter() {
         if (propertyMapPrinter == null) {
 
+            PrettyPrinter<Iterable<Property>> listPrinter = getPropertyListPrinter();
+            propertyMapPrinter = new BufferedPrinter<Map<String, Property>>(buffers) {
+                @Override
+                public void print(Map<String, Property> propertyMap, OutputBuffer out) {
+                    listPrinter.print(propertyMap.values(), out);
+                }
+            };
+        }
+        return propertyMapPrinter;
+    }
+
+    public PrettyPrinter<Iterable<Property>> getPropertyListPrinter() {
+        if (propertyListPrinter == null) {
+
             PrettyPrinter<Property> propPrinter = getPropertyPrinter();
-            propertyMapPrinter = new PrettyPrinter<Map<String, Property>>() {
+            propertyListPrinter = new BufferedPrinter<Iterable<Property>>(buffers) {
                 @Override
-                public String print(Map<String, Property> propertyMap) {
-                    StringBuilder output = new StringBuilder();
-                    output.append("__Properties__:\n");
-                    for (Map.Entry<String, Property> entry : propertyMap.entrySet()) {
-                        output.append(propPrinter.print(entry.getValue()));
+                public void print(Iterable<Property> properties, OutputBuffer out) {
+                    out.append("__Properties__:\n");
+                    for (Property property : properties) {
+                        if (out.isFull()) {
+                            break;
+                        }
+                        propPrinter.print(property, out);
                     }
-
-                    return output.toString();
                 }
             };
         }
-        return propertyMapPrinter;
+        return propertyListPrinter;
+    }
+
+    /**
+     * prints a page with the given row printer, then how much of the list it shows, when it isn't all of it.
+     */
+    public <T> PrettyPrinter<ListPage<T>> getPagePrinter(PrettyPrinter<? super T> rows) {
+        return new BufferedPrinter<ListPage<T>>(buffers) {
+            @Override
+            public void print(ListPage<T> page, OutputBuffer out) {
+                rows.print(page.getRows(), out);
+
+                if (page.getShown() < page.getTotal()) {
+                    out.append("\n*").append(page.getShown()).append(" of ").append(page.getTotal()).append(" shown");
+                    if (page.getNext() != null) {
+                        out.append("; for more, add* `after ").append(page.getNext()).append('`');
+                    } else {
+                        out.append('*');
+                    }
+                    out.append('\n');
+                }
+            }
+        };
     }
 
 
-    private String getCreatureName(Long id) {
-        try {
-            Creature creature = creatureService.read(id);
-            return creature.getName();
-        } catch(CreatureException ex) {
-            return "Not_Found";
+    /**
+     * appends the text cached under key, or renders it and caches it if it came out whole.
+     */
+    private void cached(String key, OutputBuffer out, Consumer<OutputBuffer> render) {
+        if (key == null || !renderCache.isEnabled()) {
+            render.accept(out);
+            return;
+        }
+
+        String text = renderCache.get(key);
+        if (text != null) {
+            out.append(text);
+            return;
+        }
+
+        int start = out.length();
+        render.accept(out);
+        if (!out.isFull()) {
+            renderCache.put(key, out.substring(start));
+        }
+    }
+
+    private static String typeIndicator(Property property) {
+        switch (property.getType()) {
+            case CREATURE:  return "(Creature) ";
+            case LOCATION:  return "(Location) ";
+            case MOBILE:    return "(Mobile) ";
+            case NOTE:      return "(Note) ";
+            default:        return "";
         }
     }
 
@@ -0,0 +1,156 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.metrics.CacheStats;
+import net.dalamori.GMFriend.metrics.CacheStatsSource;
+import net.dalamori.GMFriend.models.Creature;
+import net.dalamori.GMFriend.models.Location;
+import net.dalamori.GMFriend.models.LocationLink;
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.models.Note;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rendered printer output, keyed by what it was rendered from: the entity's id and version, plus the versions of
+ * anything else the output shows.
+ *
+ * The services bump an entity's version on any change to it or to its properties, links or notes, so a key never
+ * names two different renderings and entries never need invalidating; stale ones just stop being asked for, and
+ * fall out least recently used past maxEntries.
+ *
+ * Versions bumped inside a transaction are handed out again if it rolls back, so a sheet rendered inside one is
+ * only kept once it commits.
+ */
+public class RenderCache implements CacheStatsSource {
+
+    private final int maxEntries;
+    private final Map<String, String> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public RenderCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() > RenderCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static String key(Creature creature) {
+        if (creature.getId() == null) {
+            return null;
+        }
+
+        return "C" + creature.getId() + ':' + creature.getVersion();
+    }
+
+    /**
+     * the location, and each note and link destination it lists; renaming a neighbour changes the sheet too.
+     */
+    public static String key(Location location) {
+        if (location.getId() == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder("L").append(location.getId()).append(':').append(location.getVersion());
+        for (Note note : location.getNotes()) {
+            if (note.getId() == null) {
+                return null;
+            }
+            key.append("|N").append(note.getId()).append(':').append(note.getVersion());
+        }
+        for (LocationLink link : location.getLinks()) {
+            Location destination = link.getDestination();
+            if (destination == null || destination.getId() == null) {
+                return null;
+            }
+            key.append("|L").append(destination.getId()).append(':').append(destination.getVersion());
+        }
+
+        return key.toString();
+    }
+
+    public static String key(Mobile mobile) {
+        if (mobile.getId() == null) {
+            return null;
+        }
+
+        return "M" + mobile.getId() + ':' + mobile.getVersion();
+    }
+
+    public static String key(Note note) {
+        if (note.getId() == null) {
+            return null;
+        }
+
+        return "N" + note.getId() + ':' + note.getVersion();
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @return the rendered text, or null if it isn't cached
+     */
+    public synchronized String get(String key) {
+        String text = entries.get(key);
+        if (text == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+
+        return text;
+    }
+
+    public void put(String key, String text) {
+        if (!isEnabled() || key == null || text == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(key, text);
+                }
+            });
+        } else {
+            store(key, text);
+        }
+    }
+
+    /**
+     * drops every entry; for writes that bypass the services, and so the versions.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized void store(String key, String text) {
+        entries.put(key, text);
+    }
+
+    @Override
+    public synchronized CacheStats getCacheStats() {
+        CacheStats stats = new CacheStats();
+        stats.setCache("renders");
+        stats.setSize(entries.size());
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setEvictions(evictions);
+
+        return stats;
+    }
+}
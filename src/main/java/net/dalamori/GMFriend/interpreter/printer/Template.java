@@ -0,0 +1,121 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A printer layout, compiled once into literal runs and field writers.
+ *
+ * Fields are written "{name}" in the layout, and "{{" stands for a literal brace. Rendering walks the compiled
+ * parts straight into an {@link OutputBuffer}: no format strings are parsed, and numbers and names are written
+ * without building intermediate strings.
+ */
+public final class Template<T> {
+
+    @FunctionalInterface
+    public interface Field<T> {
+        void write(T item, OutputBuffer out);
+    }
+
+    // literals[i] comes before fields[i]; the last literal comes after the last field
+    private final String[] literals;
+    private final List<Field<T>> fields;
+
+    private Template(String[] literals, List<Field<T>> fields) {
+        this.literals = literals;
+        this.fields = fields;
+    }
+
+    public static <T> Builder<T> layout(String layout) {
+        return new Builder<>(layout);
+    }
+
+    /**
+     * @return the text with its braces doubled, to splice config values like the bullet into a layout
+     */
+    public static String escape(String text) {
+        return text.replace("{", "{{");
+    }
+
+    public void render(T item, OutputBuffer out) {
+        for (int i = 0; i < fields.size() && !out.isFull(); i++) {
+            out.append(literals[i]);
+            fields.get(i).write(item, out);
+        }
+        out.append(literals[fields.size()]);
+    }
+
+    public static <T> Field<T> text(Function<T, ?> getter) {
+        return (item, out) -> out.append(String.valueOf(getter.apply(item)));
+    }
+
+    public static <T> Field<T> number(ToLongFunction<T> getter) {
+        return (item, out) -> out.append(getter.applyAsLong(item));
+    }
+
+    public static <T> Field<T> name(Function<T, String> getter) {
+        return (item, out) -> out.appendName(getter.apply(item));
+    }
+
+    public static <T> Field<T> truncated(Function<T, String> getter, int length) {
+        return (item, out) -> out.appendTruncated(getter.apply(item), length);
+    }
+
+    public static final class Builder<T> {
+        private final String layout;
+        private final Map<String, Field<T>> fields = new HashMap<>();
+
+        private Builder(String layout) {
+            this.layout = layout;
+        }
+
+        public Builder<T> field(String name, Field<T> field) {
+            fields.put(name, field);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the layout names a field that wasn't given, or leaves a brace open
+         */
+        public Template<T> compile() {
+            List<String> literals = new ArrayList<>();
+            List<Field<T>> compiled = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+
+            int i = 0;
+            while (i < layout.length()) {
+                char c = layout.charAt(i);
+                if (c != '{') {
+                    literal.append(c);
+                    i++;
+                } else if (i + 1 < layout.length() && layout.charAt(i + 1) == '{') {
+                    literal.append('{');
+                    i += 2;
+                } else {
+                    int close = layout.indexOf('}', i);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("unclosed field in layout: ".concat(layout));
+                    }
+
+                    String name = layout.substring(i + 1, close);
+                    Field<T> field = fields.get(name);
+                    if (field == null) {
+                        throw new IllegalArgumentException("unknown field in layout: ".concat(name));
+                    }
+
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    compiled.add(field);
+                    i = close + 1;
+                }
+            }
+            literals.add(literal.toString());
+
+            return new Template<>(literals.toArray(new String[0]), compiled);
+        }
+    }
+}
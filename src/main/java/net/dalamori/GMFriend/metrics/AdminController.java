@@ -0,0 +1,70 @@
+package net.dalamori.GMFriend.metrics;
+
+import net.dalamori.GMFriend.discord.DiscordClient;
+import net.dalamori.GMFriend.discord.ShardStats;
+import net.dalamori.GMFriend.transport.Loopback;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only operational stats, for local callers only.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final CommandMetrics commandMetrics;
+    private final List<CacheStatsSource> caches;
+    private final ObjectProvider<DiscordClient> discordClient;
+
+    @Autowired
+    public AdminController(CommandMetrics commandMetrics, List<CacheStatsSource> caches,
+                           ObjectProvider<DiscordClient> discordClient) {
+        this.commandMetrics = commandMetrics;
+        this.caches = caches;
+        this.discordClient = discordClient;
+    }
+
+    /**
+     * size, hits, misses and evictions per cache since startup.
+     */
+    @GetMapping("/caches")
+    public List<CacheStats> caches(HttpServletRequest request) {
+        Loopback.require(request);
+
+        List<CacheStats> stats = new ArrayList<>();
+        for (CacheStatsSource cache : caches) {
+            stats.add(cache.getCacheStats());
+        }
+
+        return stats;
+    }
+
+    /**
+     * latency per command path since startup.
+     */
+    @GetMapping("/commands")
+    public List<CommandStats> commands(HttpServletRequest request) {
+        Loopback.require(request);
+        return commandMetrics.getStats();
+    }
+
+    /**
+     * status, gateway ping, guilds and event rate per Discord shard; empty when Discord is turned off.
+     */
+    @GetMapping("/shards")
+    public List<ShardStats> shards(HttpServletRequest request) {
+        Loopback.require(request);
+
+        DiscordClient client = discordClient.getIfAvailable();
+        return client == null ? Collections.emptyList() : client.getShardStats();
+    }
+}
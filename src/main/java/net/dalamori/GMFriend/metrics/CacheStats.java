@@ -0,0 +1,12 @@
+package net.dalamori.GMFriend.metrics;
+
+import lombok.Data;
+
+@Data
+public class CacheStats {
+    private String cache;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
@@ -0,0 +1,8 @@
+package net.dalamori.GMFriend.metrics;
+
+/**
+ * A cache whose hit rate shows up under /admin/caches.
+ */
+public interface CacheStatsSource {
+    CacheStats getCacheStats();
+}
@@ -0,0 +1,74 @@
+package net.dalamori.GMFriend.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms per command path (see {@link CommandContext#pathLabel()}), plus a log line for every
+ * command slower than interpreter.slowCommandMillis.
+ *
+ * Path labels are built from the command menus' keys, never from free-form arguments, so the number of
+ * histograms is bounded by the size of the command tree.
+ */
+@Slf4j
+@Component("commandMetrics")
+public class CommandMetrics {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final long slowCommandNanos;
+
+    @Autowired
+    public CommandMetrics(DmFriendConfig config) {
+        this(config.getInterpreterSlowCommandMillis());
+    }
+
+    public CommandMetrics(long slowCommandMillis) {
+        this.slowCommandNanos = TimeUnit.MILLISECONDS.toNanos(slowCommandMillis);
+    }
+
+    public void record(CommandContext context, long elapsedNanos) {
+        String label = context.pathLabel();
+        histograms.computeIfAbsent(label, key -> new LatencyHistogram()).record(elapsedNanos);
+
+        if (slowCommandNanos > 0 && elapsedNanos >= slowCommandNanos) {
+            log.warn("CommandMetrics::record slow command {} took {}ms; owner {}, tokens {}", label,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), context.getOwner(), context.getCommand());
+        }
+    }
+
+    public LatencyHistogram getHistogram(String label) {
+        return histograms.get(label);
+    }
+
+    public List<CommandStats> getStats() {
+        List<CommandStats> stats = new ArrayList<>();
+
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+
+            CommandStats command = new CommandStats();
+            command.setCommand(entry.getKey());
+            command.setCount(histogram.getCount());
+            command.setMeanMillis(histogram.getMeanMicros() / MICROS_PER_MILLI);
+            command.setP50Millis(histogram.getPercentileMicros(50) / MICROS_PER_MILLI);
+            command.setP99Millis(histogram.getPercentileMicros(99) / MICROS_PER_MILLI);
+            command.setMaxMillis(histogram.getMaxMicros() / MICROS_PER_MILLI);
+            stats.add(command);
+        }
+
+        stats.sort(Comparator.comparing(CommandStats::getCommand));
+        return stats;
+    }
+}
@@ -0,0 +1,13 @@
+package net.dalamori.GMFriend.metrics;
+
+import lombok.Data;
+
+@Data
+public class CommandStats {
+    private String command;
+    private long count;
+    private double meanMillis;
+    private double p50Millis;
+    private double p99Millis;
+    private double maxMillis;
+}
@@ -0,0 +1,175 @@
+package net.dalamori.GMFriend.metrics;
+
+import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The breakdown behind ";;explain": how many SQL statements a command ran, which DAO methods issued them, and
+ * how its time split between the interpreter, the services and the printers.
+ *
+ * A trace belongs to the thread that began it; commands run start to finish on one thread, and so do the
+ * hooks feeding it ({@link ExplainConfig}). Time is charged exclusively to whatever phase is innermost, so a
+ * service called from a printer counts as service time, and the interpreter gets whatever is left. On threads
+ * with no trace every hook is a single thread-local read.
+ */
+public final class Explain {
+
+    public enum Phase { INTERPRETER, SERVICE, PRINTER }
+
+    public static final String OUTSIDE_DAO = "(outside a DAO)";
+
+    private static final ThreadLocal<Explain> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LongSupplier clock;
+    private final long started;
+    private final long[] nanos = new long[Phase.values().length];
+    private final Deque<Phase> phases = new ArrayDeque<>();
+    private final Deque<String> daoCalls = new ArrayDeque<>();
+    private final Map<String, int[]> daoMethods = new LinkedHashMap<>();
+    private long mark;
+    private long elapsed = -1;
+    private int statements;
+
+    Explain(LongSupplier clock) {
+        this.clock = clock;
+        this.started = clock.getAsLong();
+        this.mark = started;
+        phases.push(Phase.INTERPRETER);
+    }
+
+    /**
+     * starts tracing on this thread.
+     * @throws IllegalStateException if this thread is already tracing
+     */
+    public static Explain begin() {
+        return begin(System::nanoTime);
+    }
+
+    static Explain begin(LongSupplier clock) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("already explaining a command on this thread");
+        }
+
+        Explain explain = new Explain(clock);
+        CURRENT.set(explain);
+        return explain;
+    }
+
+    public static Explain current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * stops tracing; the breakdown is final from here on.
+     */
+    public void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+
+        if (elapsed < 0) {
+            charge();
+            elapsed = clock.getAsLong() - started;
+        }
+    }
+
+    public static void enter(Phase phase) {
+        Explain explain = CURRENT.get();
+        if (explain != null) {
+            explain.charge();
+            explain.phases.push(phase);
+        }
+    }
+
+    public static void exit() {
+        Explain explain = CURRENT.get();
+        if (explain != null && explain.phases.size() > 1) {
+            explain.charge();
+            explain.phases.pop();
+        }
+    }
+
+    public static void enterDao(String method) {
+        Explain explain = CURRENT.get();
+        if (explain != null) {
+            explain.daoCalls.push(method);
+            explain.daoMethods.computeIfAbsent(method, key -> new int[2])[0]++;
+        }
+    }
+
+    public static void exitDao() {
+        Explain explain = CURRENT.get();
+        if (explain != null && !explain.daoCalls.isEmpty()) {
+            explain.daoCalls.pop();
+        }
+    }
+
+    /**
+     * counts one SQL statement against the innermost DAO call; statements Hibernate issues on its own (flushes at
+     * commit, lazy loads) count against {@link #OUTSIDE_DAO}.
+     */
+    public static void statement() {
+        Explain explain = CURRENT.get();
+        if (explain != null) {
+            String method = explain.daoCalls.isEmpty() ? OUTSIDE_DAO : explain.daoCalls.peek();
+            explain.daoMethods.computeIfAbsent(method, key -> new int[2])[1]++;
+            explain.statements++;
+        }
+    }
+
+    /**
+     * prints, charging the time to {@link Phase#PRINTER}.
+     */
+    public static <T> String print(PrettyPrinter<T> printer, T item) {
+        enter(Phase.PRINTER);
+        try {
+            return printer.print(item);
+        } finally {
+            exit();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public String report(String bullet) {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("**explain**: %d SQL statement%s in %.1fms\n", statements,
+                statements == 1 ? "" : "s", (elapsed < 0 ? clock.getAsLong() - started : elapsed) / NANOS_PER_MILLI));
+        report.append(String.format("%s interpreter %.1fms, services %.1fms, printer %.1fms\n", bullet,
+                getNanos(Phase.INTERPRETER) / NANOS_PER_MILLI,
+                getNanos(Phase.SERVICE) / NANOS_PER_MILLI,
+                getNanos(Phase.PRINTER) / NANOS_PER_MILLI));
+
+        for (Map.Entry<String, int[]> entry : daoMethods.entrySet()) {
+            int calls = entry.getValue()[0];
+            int issued = entry.getValue()[1];
+
+            report.append(bullet).append(' ').append(entry.getKey()).append(": ");
+            if (!entry.getKey().equals(OUTSIDE_DAO)) {
+                report.append(String.format("%d call%s, ", calls, calls == 1 ? "" : "s"));
+            }
+            report.append(String.format("%d statement%s\n", issued, issued == 1 ? "" : "s"));
+        }
+
+        return report.toString();
+    }
+
+    private void charge() {
+        long now = clock.getAsLong();
+        nanos[phases.peek().ordinal()] += now - mark;
+        mark = now;
+    }
+}
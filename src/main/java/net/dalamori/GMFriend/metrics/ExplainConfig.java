@@ -0,0 +1,87 @@
+package net.dalamori.GMFriend.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hooks feeding {@link Explain}: a Hibernate statement inspector counting SQL statements, and interceptors on
+ * every DAO and service bean marking where calls start and end.
+ */
+@Configuration
+public class ExplainConfig {
+
+    private static final String OWN_PACKAGE = "net.dalamori.GMFriend.";
+
+    @Bean
+    public HibernatePropertiesCustomizer explainStatementInspector() {
+        StatementInspector inspector = sql -> {
+            Explain.statement();
+            return sql;
+        };
+
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /**
+     * deliberately not Ordered, so it runs after the auto-proxy creators and finds services already wrapped in
+     * their transactional proxies; the interceptor goes first in the chain, so commit time counts too.
+     */
+    @Bean
+    public static BeanPostProcessor explainPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                MethodInterceptor interceptor;
+
+                if (bean instanceof Repository) {
+                    interceptor = invocation -> {
+                        Explain.enter(Explain.Phase.SERVICE);
+                        Explain.enterDao(beanName + "." + invocation.getMethod().getName());
+                        try {
+                            return invocation.proceed();
+                        } finally {
+                            Explain.exitDao();
+                            Explain.exit();
+                        }
+                    };
+                } else if (isOwnService(bean)) {
+                    interceptor = invocation -> {
+                        Explain.enter(Explain.Phase.SERVICE);
+                        try {
+                            return invocation.proceed();
+                        } finally {
+                            Explain.exit();
+                        }
+                    };
+                } else {
+                    return bean;
+                }
+
+                if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+                    ((Advised) bean).addAdvice(0, interceptor);
+                    return bean;
+                }
+
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.addAdvice(interceptor);
+                return factory.getProxy();
+            }
+        };
+    }
+
+    private static boolean isOwnService(Object bean) {
+        Class<?> target = AopUtils.getTargetClass(bean);
+        return target.getName().startsWith(OWN_PACKAGE) && AnnotationUtils.findAnnotation(target, Service.class) != null;
+    }
+}
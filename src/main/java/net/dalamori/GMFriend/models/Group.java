@@ -1,6 +1,7 @@
 package net.dalamori.GMFriend.models;
 
 import lombok.Data;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.models.interfaces.HasOwner;
@@ -54,4 +55,17 @@ public class Group implements HasOwner {
     @NotBlank
     @Column(name = "OWNER")
     private String owner;
+
+    /**
+     * what a system group holds things for; null on groups users made
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "OWNER_KIND")
+    private OwnerKind ownerKind;
+
+    /**
+     * the id of the creature, location or mobile a system group holds things for; 0 for global groups
+     */
+    @Column(name = "OWNER_ID")
+    private Long ownerId;
 }
@@ -29,6 +29,10 @@ public class Location implements HasNotes {
     @Column(name = "ID", nullable = false)
     private Long id;
 
+    // keys the render cache; only ever bumped in SQL by the DAO, so concurrent edits stay last-write-wins
+    @Column(name = "VERSION", nullable = false, insertable = false, updatable = false)
+    private long version;
+
     @NotBlank
     @Column(nullable = false, unique = true, name = "NAME")
     private String name;
@@ -0,0 +1,47 @@
+package net.dalamori.GMFriend.models;
+
+import lombok.Data;
+import net.dalamori.GMFriend.models.interfaces.HasOwner;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+@Data
+@Entity
+@Table(name = "MACROS")
+public class Macro implements HasOwner {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "ID")
+    private Long id;
+
+    // "" for macros defined outside of a guild
+    @NotNull
+    @Size(max = 64)
+    @Column(nullable = false, name = "GUILD")
+    private String guild;
+
+    @NotBlank
+    @Pattern(regexp = "[a-z0-9_-]+")
+    @Size(max = 64)
+    @Column(nullable = false, name = "NAME")
+    private String name;
+
+    // steps separated by ';', written without the command prefix
+    @NotBlank
+    @Size(max = 1850)
+    @Column(nullable = false, name = "BODY")
+    private String body;
+
+    @NotBlank
+    @Column(nullable = false, name = "OWNER")
+    private String owner;
+}
@@ -32,6 +32,10 @@ public class Mobile implements HasOwner, HasProperties {
     @Column(name = "ID", nullable = false)
     private Long id;
 
+    // keys the render cache; only ever bumped in SQL by the DAO, so concurrent edits stay last-write-wins
+    @Column(name = "VERSION", nullable = false, insertable = false, updatable = false)
+    private long version;
+
     @NotBlank
     @Column(name = "NAME", nullable = false, unique = true)
     private String name;
@@ -26,6 +26,10 @@ public class Note {
     @Column(name = "ID")
     private Long id;
 
+    // keys the render cache; only ever bumped in SQL by the DAO, so concurrent edits stay last-write-wins
+    @Column(name = "VERSION", nullable = false, insertable = false, updatable = false)
+    private long version;
+
     @Lob
     @NotBlank
     @Column(nullable = false, name = "BODY")
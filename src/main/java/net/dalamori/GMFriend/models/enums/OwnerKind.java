@@ -0,0 +1,8 @@
+package net.dalamori.GMFriend.models.enums;
+
+public enum OwnerKind {
+    GLOBAL,
+    CREATURE,
+    LOCATION,
+    MOBILE
+}
@@ -1,9 +1,14 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Creature;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository("creatureDao")
@@ -13,4 +18,19 @@ public interface CreatureDao extends CrudRepository<Creature, Long> {
 
     boolean existsByName(String name);
 
+    @Query("SELECT c.id AS id, c.name AS name FROM Creature c")
+    List<NamedId> findAllNames();
+
+    @Query("SELECT c.id AS id, c.name AS name FROM Creature c WHERE c.id IN :ids")
+    List<NamedId> findAllNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * bumps the version after any change; the increment happens in SQL, so two concurrent edits never share one.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Creature c SET c.version = c.version + 1 WHERE c.id = :id")
+    int touch(@Param("id") Long id);
+
+    @Query("SELECT c.version FROM Creature c WHERE c.id = :id")
+    long findVersionById(@Param("id") Long id);
 }
@@ -1,9 +1,12 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Group;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
+import net.dalamori.GMFriend.models.enums.PropertyType;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,5 +22,12 @@ public interface GroupDao extends CrudRepository<Group, Long> {
 
     List<Group> findAllByOwner(String owner);
 
+    // a system group by its owner, with the contents every caller goes on to read fetched in the same statement
+    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.contents " +
+            "WHERE g.ownerKind = :ownerKind AND g.ownerId = :ownerId AND g.contentType = :contentType")
+    Optional<Group> findByOwnerKindAndOwnerIdAndContentType(@Param("ownerKind") OwnerKind ownerKind,
+                                                           @Param("ownerId") Long ownerId,
+                                                           @Param("contentType") PropertyType contentType);
+
 }
 
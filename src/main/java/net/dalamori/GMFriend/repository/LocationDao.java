@@ -1,7 +1,10 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Location;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,18 @@ public interface LocationDao extends CrudRepository<Location, Long> {
     Optional<Location> findByName(String name);
 
     List<Location> findAllByOwner(String owner);
+
+    @Query("SELECT l.id AS id, l.name AS name FROM Location l")
+    List<NamedId> findAllNames();
+
+    /**
+     * bumps the version after any change, notes and links included; the increment happens in SQL, so two
+     * concurrent edits never share one.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Location l SET l.version = l.version + 1 WHERE l.id = :id")
+    int touch(@Param("id") Long id);
+
+    @Query("SELECT l.version FROM Location l WHERE l.id = :id")
+    long findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package net.dalamori.GMFriend.repository;
+
+import net.dalamori.GMFriend.models.Macro;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository("macroDao")
+public interface MacroDao extends CrudRepository<Macro, Long> {
+
+    Optional<Macro> findByGuildAndName(String guild, String name);
+
+    boolean existsByGuildAndName(String guild, String name);
+
+    List<Macro> findAllByGuildOrderByNameAsc(String guild);
+}
@@ -1,11 +1,14 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Mobile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,87 @@ public interface MobileDao extends CrudRepository<Mobile, Long> {
     @Query("SELECT COUNT(m) FROM Mobile m WHERE m.name LIKE CONCAT(:name ,'%')")
     int countByNameBeginning(@Param("name") String name);
 
+    @Query("SELECT m.id AS id, m.name AS name FROM Mobile m")
+    List<NamedId> findAllNames();
+
+    // the initiative list, a page at a time; see ListCursor
+
+    @Query("SELECT COUNT(m) FROM Mobile m WHERE m.alive = true OR :all = true")
+    long countListed(@Param("all") boolean all);
+
+    @Query("SELECT m FROM Mobile m WHERE (m.alive = true OR :all = true) " +
+            "AND (m.initiative > :initiative OR (m.initiative = :initiative AND m.name > :name)) " +
+            "ORDER BY m.initiative ASC, m.name ASC")
+    List<Mobile> findListedAfter(@Param("all") boolean all, @Param("initiative") int initiative,
+                                 @Param("name") String name, Pageable page);
+
+    @Query("SELECT m FROM Mobile m WHERE (m.alive = true OR :all = true) " +
+            "AND (m.initiative > :initiative OR (m.initiative = :initiative AND m.name >= :name)) " +
+            "ORDER BY m.initiative ASC, m.name ASC")
+    List<Mobile> findListedFrom(@Param("all") boolean all, @Param("initiative") int initiative,
+                                @Param("name") String name, Pageable page);
+
+    /**
+     * bumps the version after any change; the increment happens in SQL, so two concurrent edits never share one.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Mobile m SET m.version = m.version + 1 WHERE m.id = :id")
+    int touch(@Param("id") Long id);
+
+    @Query("SELECT m.version FROM Mobile m WHERE m.id = :id")
+    long findVersionById(@Param("id") Long id);
+
+    // selectors; see MobileSelector
+
+    @Query("SELECT m.id FROM Mobile m")
+    List<Long> findAllIds();
+
+    @Query("SELECT m.id FROM Mobile m WHERE m.alive = :alive")
+    List<Long> findAllIdsByAlive(@Param("alive") boolean alive);
+
+    @Query("SELECT m.id FROM Mobile m WHERE m.position = :position")
+    List<Long> findAllIdsByPosition(@Param("position") String position);
+
+    @Query("SELECT m.id FROM Mobile m WHERE m.name LIKE :pattern ESCAPE '!'")
+    List<Long> findAllIdsByNameLike(@Param("pattern") String pattern);
+
+    List<Mobile> findAllByIdInOrderByInitiativeAscNameAsc(Collection<Long> ids);
+
+    // set-based updates; each clears the persistence context, so later reads see the new values
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.hp = m.hp + :amount, m.version = m.version + 1 WHERE m.id IN :ids")
+    int addHp(@Param("ids") Collection<Long> ids, @Param("amount") long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.hp = m.maxHp, m.version = m.version + 1 WHERE m.id IN :ids AND m.hp > m.maxHp")
+    int capHp(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.alive = false, m.version = m.version + 1 WHERE m.id IN :ids AND m.hp < 0")
+    int markDead(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.alive = true, m.version = m.version + 1 WHERE m.id IN :ids AND m.hp > 0")
+    int markAlive(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.hp = -1, m.alive = false, m.version = m.version + 1 WHERE m.id IN :ids")
+    int kill(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.hp = m.maxHp, m.alive = true, m.version = m.version + 1 WHERE m.id IN :ids")
+    int restore(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.maxHp = :maxHp, m.version = m.version + 1 WHERE m.id IN :ids")
+    int setMaxHp(@Param("ids") Collection<Long> ids, @Param("maxHp") long maxHp);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.initiative = :initiative, m.version = m.version + 1 WHERE m.id IN :ids")
+    int setInitiative(@Param("ids") Collection<Long> ids, @Param("initiative") int initiative);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Mobile m SET m.position = :position, m.version = m.version + 1 WHERE m.id IN :ids")
+    int setPosition(@Param("ids") Collection<Long> ids, @Param("position") String position);
 }
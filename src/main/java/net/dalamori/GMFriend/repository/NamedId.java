@@ -0,0 +1,9 @@
+package net.dalamori.GMFriend.repository;
+
+/**
+ * Projection of an entity down to its id and name (a note's title), for callers who need nothing else.
+ */
+public interface NamedId {
+    Long getId();
+    String getName();
+}
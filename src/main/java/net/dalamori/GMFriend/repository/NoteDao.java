@@ -1,9 +1,14 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Note;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +20,25 @@ public interface NoteDao extends CrudRepository<Note, Long> {
     boolean existsByTitle(String title);
 
     List<Note> findAllByOwner(String owner);
+
+    @Query("SELECT n.id AS id, n.title AS name FROM Note n")
+    List<NamedId> findAllNames();
+
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * a page of titles, without the bodies; see ListCursor
+     */
+    @Query("SELECT n.id AS id, n.title AS name FROM Note n WHERE n.id IN :ids AND n.id > :after ORDER BY n.id ASC")
+    List<NamedId> findAllTitlesByIdInAfter(@Param("ids") Collection<Long> ids, @Param("after") long after, Pageable page);
+
+    /**
+     * bumps the version after any change; the increment happens in SQL, so two concurrent edits never share one.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Note n SET n.version = n.version + 1 WHERE n.id = :id")
+    int touch(@Param("id") Long id);
+
+    @Query("SELECT n.version FROM Note n WHERE n.id = :id")
+    long findVersionById(@Param("id") Long id);
 }
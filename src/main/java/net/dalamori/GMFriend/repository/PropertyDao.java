@@ -1,15 +1,24 @@
 package net.dalamori.GMFriend.repository;
 
 import net.dalamori.GMFriend.models.Property;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository("propertyDao")
 public interface PropertyDao extends CrudRepository<Property, Long> {
 
     List<Property> getAllPropertiesByOwner(String owner);
 
+    Optional<Property> findFirstByNameAndIdIn(String name, Collection<Long> ids);
+
+    long countByIdIn(Collection<Long> ids);
+
+    List<Property> findAllByIdInAndIdGreaterThanOrderByIdAsc(Collection<Long> ids, Long after, Pageable page);
+
 }
@@ -4,6 +4,9 @@ import net.dalamori.GMFriend.exceptions.CreatureException;
 import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Mobile;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface CreatureService extends SimpleCrudeService<Creature> {
 
     Creature create(Creature creature) throws CreatureException;
@@ -19,4 +22,10 @@ public interface CreatureService extends SimpleCrudeService<Creature> {
     void delete(Creature creature) throws CreatureException;
 
     Creature fromMobile(Mobile mobile) throws CreatureException;
+
+    /**
+     * @return the names of the creatures with the given ids, from the name index, with at most one query for any
+     * it doesn't know yet; ids not found are left out
+     */
+    Map<Long, String> getNames(Collection<Long> ids);
 }
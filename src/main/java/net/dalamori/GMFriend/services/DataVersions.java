@@ -0,0 +1,51 @@
+package net.dalamori.GMFriend.services;
+
+import net.dalamori.GMFriend.models.enums.PropertyType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One counter per kind of data, moved by every service write; anything cached from the database remembers the
+ * counters it was built under, and is stale once any of them has moved.
+ *
+ * Groups count as the kind of thing they hold, so attaching a note moves NOTE, and setting a mobile's property
+ * moves PROPERTY. Inside a transaction a write moves its counter twice: at once, and again when the transaction
+ * completes, so nothing read while the write was uncommitted survives it.
+ */
+@Component("dataVersions")
+public class DataVersions {
+
+    private final AtomicLongArray versions = new AtomicLongArray(PropertyType.values().length);
+
+    public void bump(PropertyType kind) {
+        versions.incrementAndGet(kind.ordinal());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.incrementAndGet(kind.ordinal());
+                }
+            });
+        }
+    }
+
+    public long get(PropertyType kind) {
+        return versions.get(kind.ordinal());
+    }
+
+    /**
+     * the current counters for the given kinds, in order.
+     */
+    public long[] snapshot(PropertyType[] kinds) {
+        long[] snapshot = new long[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            snapshot[i] = versions.get(kinds[i].ordinal());
+        }
+
+        return snapshot;
+    }
+}
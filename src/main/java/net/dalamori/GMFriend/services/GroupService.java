@@ -2,6 +2,7 @@ package net.dalamori.GMFriend.services;
 
 import net.dalamori.GMFriend.exceptions.GroupException;
 import net.dalamori.GMFriend.models.Group;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 
 public interface GroupService {
@@ -17,5 +18,10 @@ public interface GroupService {
 
     void delete(Group group) throws GroupException;
 
-    Group resolveSystemGroup(String name, PropertyType groupType) throws GroupException;
+    /**
+     * the internal group holding an owner's notes or properties, created on first use.
+     *
+     * @param ownerId the creature, location or mobile id; ignored for {@link OwnerKind#GLOBAL}
+     */
+    Group resolveSystemGroup(OwnerKind ownerKind, Long ownerId, PropertyType groupType) throws GroupException;
 }
@@ -0,0 +1,86 @@
+package net.dalamori.GMFriend.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Which page of a list to show: the first, the Nth ("page 3"), or the one following a row ("after 42").
+ *
+ * Pages are read by key, from the last row shown onwards, so a page costs the same however deep into the list it
+ * is; a numbered page finds its starting key among the list's ids, where those are already to hand.
+ */
+public final class ListCursor {
+
+    private final int size;
+    private final int page;
+    private final Long after;
+
+    private ListCursor(int size, int page, Long after) {
+        this.size = size;
+        this.page = page;
+        this.after = after;
+    }
+
+    public static ListCursor first(int size) {
+        return new ListCursor(size, 1, null);
+    }
+
+    /**
+     * @param page counted from 1
+     */
+    public static ListCursor page(int page, int size) {
+        return new ListCursor(size, Math.max(1, page), null);
+    }
+
+    public static ListCursor after(long id, int size) {
+        return new ListCursor(size, 0, id);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the page number, or 0 for a page following a row
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public boolean isAfter() {
+        return after != null;
+    }
+
+    /**
+     * @return how many rows come before a numbered page
+     */
+    public long getOffset() {
+        return isAfter() ? 0L : (page - 1L) * size;
+    }
+
+    /**
+     * @param ids every id in the list
+     * @return the id the page starts after; 0 for the first page
+     */
+    public long startAfter(Collection<Long> ids) {
+        if (isAfter()) {
+            return after;
+        }
+
+        long offset = getOffset();
+        if (offset == 0 || ids.isEmpty()) {
+            return 0L;
+        }
+
+        // a page past the end starts after the last id, and so finds nothing
+        List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(offset, sorted.size()) - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package net.dalamori.GMFriend.services;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list: the rows shown, how many rows the whole list has, and the id to continue after, if the
+ * list goes on.
+ */
+public final class ListPage<T> {
+
+    private final T rows;
+    private final int shown;
+    private final long total;
+    private final Long next;
+
+    public ListPage(T rows, int shown, long total, Long next) {
+        this.rows = rows;
+        this.shown = shown;
+        this.total = total;
+        this.next = next;
+    }
+
+    /**
+     * a page from a keyed query asked for one row more than fits; that row, if it came back, says there's more.
+     */
+    public static <R> ListPage<List<R>> of(List<R> fetched, ListCursor cursor, long total, Function<R, Long> id) {
+        Long next = null;
+        if (fetched.size() > cursor.getSize()) {
+            fetched = fetched.subList(0, cursor.getSize());
+            next = id.apply(fetched.get(fetched.size() - 1));
+        }
+
+        return new ListPage<>(fetched, fetched.size(), total, next);
+    }
+
+    public <R> ListPage<R> map(Function<T, R> mapper) {
+        return new ListPage<>(mapper.apply(rows), shown, total, next);
+    }
+
+    public T getRows() {
+        return rows;
+    }
+
+    public int getShown() {
+        return shown;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the id to pass to "after" for the next page, or null on the last one
+     */
+    public Long getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,21 @@
+package net.dalamori.GMFriend.services;
+
+import net.dalamori.GMFriend.exceptions.MacroException;
+import net.dalamori.GMFriend.models.Macro;
+
+import java.util.List;
+
+public interface MacroService {
+    /**
+     * creates the guild's macro, or replaces the body of the one already under that name.
+     */
+    Macro define(Macro macro) throws MacroException;
+
+    Macro read(String guild, String name) throws MacroException;
+
+    boolean exists(String guild, String name);
+
+    void delete(Macro macro) throws MacroException;
+
+    List<Macro> list(String guild);
+}
@@ -0,0 +1,109 @@
+package net.dalamori.GMFriend.services;
+
+import net.dalamori.GMFriend.exceptions.MobileException;
+
+/**
+ * Picks out a set of mobiles in one token, in place of a single id or name:
+ * a name glob ("goblin*", "orc_?"), "@all", "@alive", "@dead", or "@pos:POSITION".
+ */
+public final class MobileSelector {
+
+    public enum Kind {
+        ALL,
+        ALIVE,
+        DEAD,
+        NAME,
+        POSITION
+    }
+
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final String POSITION_PREFIX = "@pos:";
+
+    private final Kind kind;
+    private final String argument;
+    private final String text;
+
+    private MobileSelector(Kind kind, String argument, String text) {
+        this.kind = kind;
+        this.argument = argument;
+        this.text = text;
+    }
+
+    /**
+     * @return true if the token is selector syntax, rather than a plain id or name
+     */
+    public static boolean isSelector(String token) {
+        return token.startsWith("@") || token.indexOf('*') >= 0 || token.indexOf('?') >= 0;
+    }
+
+    public static MobileSelector parse(String token) throws MobileException {
+        String lower = token.toLowerCase();
+
+        if (lower.startsWith(POSITION_PREFIX)) {
+            String position = token.substring(POSITION_PREFIX.length());
+            if (position.isEmpty()) {
+                throw new MobileException("missing position in selector ".concat(token));
+            }
+            return new MobileSelector(Kind.POSITION, position, token);
+        }
+
+        switch (lower) {
+            case "@all":
+                return new MobileSelector(Kind.ALL, null, token);
+            case "@alive":
+                return new MobileSelector(Kind.ALIVE, null, token);
+            case "@dead":
+                return new MobileSelector(Kind.DEAD, null, token);
+            default:
+                break;
+        }
+
+        if (lower.startsWith("@") || !isSelector(token)) {
+            throw new MobileException("unknown selector ".concat(token));
+        }
+
+        return new MobileSelector(Kind.NAME, likePattern(token), token);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the position for POSITION, the LIKE pattern (escaped with {@link #LIKE_ESCAPE}) for NAME, else null
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static String likePattern(String glob) {
+        StringBuilder pattern = new StringBuilder(glob.length() + 4);
+
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    pattern.append('%');
+                    break;
+                case '?':
+                    pattern.append('_');
+                    break;
+                case '%':
+                case '_':
+                case LIKE_ESCAPE:
+                    pattern.append(LIKE_ESCAPE).append(c);
+                    break;
+                default:
+                    pattern.append(c);
+            }
+        }
+
+        return pattern.toString();
+    }
+}
@@ -24,4 +24,33 @@ public interface MobileService extends SimpleCrudeService<Mobile> {
 
     List<Mobile> initiativeList() throws MobileException;
 
+    /**
+     * @param all true to include the dead
+     * @return a page of the initiative list; "after" pages continue from the given mobile's place in the order
+     */
+    ListPage<List<Mobile>> initiativePage(boolean all, ListCursor cursor) throws MobileException;
+
+    /**
+     * @param all true to include the dead
+     * @return the first listed mobile at or after the given place in the initiative order, as the database orders
+     * names; null if there is none
+     */
+    Mobile initiativeFrom(boolean all, int initiative, String name) throws MobileException;
+
+    // bulk updates: each selects, updates and re-reads its mobiles (in initiative order) in one transaction
+
+    List<Mobile> damageAll(MobileSelector selector, long amount) throws MobileException;
+
+    List<Mobile> healAll(MobileSelector selector, long amount) throws MobileException;
+
+    List<Mobile> killAll(MobileSelector selector) throws MobileException;
+
+    List<Mobile> restoreAll(MobileSelector selector) throws MobileException;
+
+    List<Mobile> setMaxHpAll(MobileSelector selector, long maxHp) throws MobileException;
+
+    List<Mobile> setInitiativeAll(MobileSelector selector, int initiative) throws MobileException;
+
+    List<Mobile> moveAll(MobileSelector selector, String position) throws MobileException;
+
 }
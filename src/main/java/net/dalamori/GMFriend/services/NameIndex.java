@@ -0,0 +1,265 @@
+package net.dalamori.GMFriend.services;
+
+import net.dalamori.GMFriend.models.enums.PropertyType;
+import net.dalamori.GMFriend.repository.NamedId;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory names of every creature, location, mobile and note, so name checks needn't go to the database.
+ *
+ * Each kind is loaded on first use with one id-and-name query, then kept current by its service's write paths;
+ * inside a transaction, changes only land once it commits. Names compare ignoring case, as the database does.
+ * Writes that bypass the services (tests writing through DAOs) must {@link #clear()} it afterwards.
+ */
+@Component("nameIndex")
+public class NameIndex {
+
+    public static final int MAX_SUGGESTIONS = 3;
+
+    private final Map<PropertyType, Names> kinds = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader reads every id and name of the kind; only called when the index for it is (re)loaded
+     */
+    public Names of(PropertyType kind, Supplier<List<NamedId>> loader) {
+        return kinds.computeIfAbsent(kind, key -> new Names(loader));
+    }
+
+    /**
+     * forgets every name; each kind reloads on next use.
+     */
+    public void clear() {
+        for (Names names : kinds.values()) {
+            names.clear();
+        }
+    }
+
+    public static final class Names {
+        private final Supplier<List<NamedId>> loader;
+        private Table table;
+        // changes dropped while unloaded; a load that saw any of them go by isn't kept
+        private long dropped;
+
+        private Names(Supplier<List<NamedId>> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * @return true if the name exists, exactly (but for case)
+         */
+        public synchronized boolean contains(String name) {
+            return load().byKey.containsKey(keyOf(name));
+        }
+
+        /**
+         * @return the name matching the text exactly, or else the only name starting with it; null if neither
+         */
+        public synchronized String resolve(String text) {
+            Table table = load();
+            String key = keyOf(text);
+
+            String exact = table.byKey.get(key);
+            if (exact != null) {
+                return exact;
+            }
+
+            SortedMap<String, String> prefixed = table.startingWith(key);
+            return prefixed.size() == 1 ? prefixed.values().iterator().next() : null;
+        }
+
+        /**
+         * @return the name of the entity with the id, or null if the index doesn't know it
+         */
+        public synchronized String get(Long id) {
+            return load().byId.get(id);
+        }
+
+        /**
+         * names the text might have meant: the ones it's a prefix of, if any, or else those within a few typos.
+         */
+        public synchronized List<String> suggest(String text) {
+            Table table = load();
+            String key = keyOf(text);
+
+            List<String> suggestions = new ArrayList<>(table.startingWith(key).values());
+            if (suggestions.isEmpty() && !key.isEmpty()) {
+                // about one typo per three characters
+                int limit = Math.max(1, key.length() / 3);
+                Map<String, Integer> distances = new HashMap<>();
+
+                for (Map.Entry<String, String> entry : table.byKey.entrySet()) {
+                    int distance = distance(key, entry.getKey(), limit);
+                    if (distance <= limit) {
+                        distances.put(entry.getValue(), distance);
+                        suggestions.add(entry.getValue());
+                    }
+                }
+                suggestions.sort(Comparator.comparing((String name) -> distances.get(name))
+                        .thenComparing(String.CASE_INSENSITIVE_ORDER));
+            }
+
+            return suggestions.size() > MAX_SUGGESTIONS ? suggestions.subList(0, MAX_SUGGESTIONS) : suggestions;
+        }
+
+        /**
+         * the suggestions as a hint to append to a not-found message; empty if there are none.
+         */
+        public String hint(String text) {
+            List<String> suggestions = suggest(text);
+            return suggestions.isEmpty() ? "" : String.format("; did you mean %s?", String.join(", ", suggestions));
+        }
+
+        /**
+         * records a created or renamed entity, once the current transaction (if any) commits.
+         */
+        public void put(Long id, String name) {
+            afterCommit(table -> table.put(id, name));
+        }
+
+        /**
+         * forgets a deleted entity, once the current transaction (if any) commits.
+         */
+        public void remove(Long id) {
+            afterCommit(table -> table.remove(id));
+        }
+
+        public synchronized void clear() {
+            table = null;
+            dropped++;
+        }
+
+        /**
+         * the names as committed. Inside a transaction, which may hold uncommitted rows of its own, the names are
+         * read for this call only, and kept once it commits.
+         */
+        private Table load() {
+            if (table != null) {
+                return table;
+            }
+
+            Table loaded = new Table();
+            for (NamedId named : loader.get()) {
+                loaded.put(named.getId(), named.getName());
+            }
+
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                long seen = dropped;
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        synchronized (Names.this) {
+                            if (table == null && dropped == seen) {
+                                table = loaded;
+                            }
+                        }
+                    }
+                });
+            } else {
+                table = loaded;
+            }
+
+            return loaded;
+        }
+
+        private void afterCommit(Consumer<Table> change) {
+            Runnable locked = () -> {
+                synchronized (this) {
+                    // unloaded names reload whole, this change included
+                    if (table != null) {
+                        change.accept(table);
+                    } else {
+                        dropped++;
+                    }
+                }
+            };
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        locked.run();
+                    }
+                });
+            } else {
+                locked.run();
+            }
+        }
+
+        private static String keyOf(String name) {
+            return name.toLowerCase();
+        }
+    }
+
+    private static final class Table {
+        private final TreeMap<String, String> byKey = new TreeMap<>();
+        private final Map<Long, String> byId = new HashMap<>();
+
+        private void put(Long id, String name) {
+            String old = byId.put(id, name);
+            if (old != null) {
+                byKey.remove(Names.keyOf(old));
+            }
+            byKey.put(Names.keyOf(name), name);
+        }
+
+        private void remove(Long id) {
+            String old = byId.remove(id);
+            if (old != null) {
+                byKey.remove(Names.keyOf(old));
+            }
+        }
+
+        private SortedMap<String, String> startingWith(String key) {
+            return byKey.subMap(key, key + Character.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Levenshtein distance, giving up (and returning limit + 1) once it must exceed the limit.
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int best = current[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                best = Math.min(best, current[j]);
+            }
+
+            if (best > limit) {
+                return limit + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+}
@@ -30,6 +30,11 @@ public interface NoteService extends SimpleCrudeService<Note> {
 
     List<Note> getGlobalNotes() throws NoteException;
 
+    /**
+     * @return a page of global notes, by id; the rows carry id and title only, bodies aren't loaded
+     */
+    ListPage<List<Note>> getGlobalNotes(ListCursor cursor) throws NoteException;
+
     List<Note> getLocationNotes(Location location) throws NoteException;
 
     boolean validateNotes(HasNotes subject);
@@ -36,6 +36,16 @@ public interface PropertyService {
 
     Map<String, Property> getGlobalProperties() throws PropertyException;
 
+    /**
+     * @return the named global property, or null if there is none; one lookup, rather than all of them
+     */
+    Property getGlobalProperty(String name) throws PropertyException;
+
+    /**
+     * @return a page of global properties, by id
+     */
+    ListPage<List<Property>> getGlobalProperties(ListCursor cursor) throws PropertyException;
+
     List<Property> getCreatureProperties(Creature creature) throws PropertyException;
 
     List<Property> getMobileProperties(Mobile mobile) throws PropertyException;
@@ -11,7 +11,10 @@ import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.CreatureDao;
+import net.dalamori.GMFriend.repository.NamedId;
 import net.dalamori.GMFriend.services.CreatureService;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -23,6 +26,8 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,6 +41,12 @@ import java.util.Set;
 @Service("creatureService")
 public class CreatureServiceImpl implements CreatureService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private NameIndex nameIndex;
+
     @Autowired
     private DmFriendConfig config;
 
@@ -76,6 +87,8 @@ public class CreatureServiceImpl implements CreatureService {
         }
 
         Creature savedCreature = creatureDao.save(creature);
+        dataVersions.bump(PropertyType.CREATURE);
+        names().put(savedCreature.getId(), savedCreature.getName());
 
         // copy properties
         try {
@@ -129,11 +142,13 @@ public class CreatureServiceImpl implements CreatureService {
             return read(Long.valueOf(name));
         }
 
-        Optional<Creature> result = creatureDao.findByName(name);
+        // an unambiguous prefix stands for the whole name; anything else is looked up as given
+        String resolved = names().resolve(name);
+        Optional<Creature> result = creatureDao.findByName(resolved == null ? name : resolved);
 
         if (!result.isPresent()) {
             log.debug("CreatureServiceImpl::read - Id # {} not found", name);
-            throw new CreatureException("not found");
+            throw new CreatureException("not found".concat(names().hint(name)));
         }
 
         Creature creature = result.get();
@@ -166,7 +181,7 @@ public class CreatureServiceImpl implements CreatureService {
             if (StringUtils.isNumeric(name)) {
                 return creatureDao.existsById(Long.valueOf(name));
             }
-            return creatureDao.existsByName(name);
+            return names().resolve(name) != null || creatureDao.existsByName(name);
         }
 
         return false;
@@ -200,6 +215,8 @@ public class CreatureServiceImpl implements CreatureService {
         }
 
         Creature savedCreature = creatureDao.save(creature);
+        dataVersions.bump(PropertyType.CREATURE);
+        names().put(savedCreature.getId(), savedCreature.getName());
 
         // sync properties
         try {
@@ -242,6 +259,10 @@ public class CreatureServiceImpl implements CreatureService {
             throw new CreatureException("failed to sync properties", ex);
         }
 
+        // bump the version in SQL, after the property sync, and read back the one this edit got
+        creatureDao.touch(savedCreature.getId());
+        savedCreature.setVersion(creatureDao.findVersionById(savedCreature.getId()));
+
         return savedCreature;
     }
 
@@ -268,6 +289,8 @@ public class CreatureServiceImpl implements CreatureService {
         }
 
         creatureDao.deleteById(creature.getId());
+        dataVersions.bump(PropertyType.CREATURE);
+        names().remove(creature.getId());
     }
 
     @Override
@@ -303,6 +326,8 @@ public class CreatureServiceImpl implements CreatureService {
         creature.setPrivacy(mobile.getPrivacy());
 
         Creature savedCreature = creatureDao.save(creature);
+        dataVersions.bump(PropertyType.CREATURE);
+        names().put(savedCreature.getId(), savedCreature.getName());
 
         // copy properties
         try {
@@ -338,4 +363,32 @@ public class CreatureServiceImpl implements CreatureService {
         return savedCreature;
     }
 
+    @Override
+    public Map<Long, String> getNames(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        // the name index already holds every committed creature; only ids it lacks go to the database
+        NameIndex.Names index = names();
+        for (Long id : ids) {
+            String name = index.get(id);
+            if (name != null) {
+                names.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (NamedId named : creatureDao.findAllNamesByIdIn(missing)) {
+                names.put(named.getId(), named.getName());
+            }
+        }
+
+        return names;
+    }
+
+    private NameIndex.Names names() {
+        return nameIndex.of(PropertyType.CREATURE, creatureDao::findAllNames);
+    }
 }
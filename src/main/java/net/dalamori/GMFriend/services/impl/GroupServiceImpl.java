@@ -6,9 +6,11 @@ import net.dalamori.GMFriend.config.DmFriendConfig;
 import net.dalamori.GMFriend.exceptions.GroupException;
 import net.dalamori.GMFriend.exceptions.NoteException;
 import net.dalamori.GMFriend.models.Group;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.GroupDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +30,9 @@ import java.util.Set;
 @Transactional(rollbackFor = NoteException.class)
 public class GroupServiceImpl implements GroupService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
     @Autowired
     private DmFriendConfig config;
 
@@ -61,7 +66,9 @@ public class GroupServiceImpl implements GroupService {
         }
 
         try {
-            return groupDao.save(group);
+            Group saved = groupDao.save(group);
+            dataVersions.bump(group.getContentType());
+            return saved;
         } catch (Throwable ex) {
             log.info("GroupServiceImpl::create Record insert failed: {}", group, ex);
             throw new GroupException("SQL failed to insert", ex);
@@ -141,7 +148,9 @@ public class GroupServiceImpl implements GroupService {
         }
 
         try {
-            return groupDao.save(group);
+            Group saved = groupDao.save(group);
+            dataVersions.bump(group.getContentType());
+            return saved;
         } catch (Throwable ex) {
             log.info("GroupServiceImpl::update Record update failed: {}", group, ex);
             throw new GroupException("SQL failed to update", ex);
@@ -162,6 +171,7 @@ public class GroupServiceImpl implements GroupService {
 
         try {
             groupDao.deleteById(group.getId());
+            dataVersions.bump(group.getContentType());
         } catch (Throwable ex) {
             log.info("GroupServiceImpl::delete failed to delete {}", group, ex);
             throw new GroupException("SQL failed to delete");
@@ -169,15 +179,27 @@ public class GroupServiceImpl implements GroupService {
     }
 
     @Override
-    public Group resolveSystemGroup(String name, PropertyType groupType) throws GroupException {
+    public Group resolveSystemGroup(OwnerKind ownerKind, Long ownerId, PropertyType groupType) throws GroupException {
+        long owner = ownerKind == OwnerKind.GLOBAL || ownerId == null ? 0L : ownerId;
         Group group;
 
+        // one statement: the owner index finds the group, and its contents come back with it
+        Optional<Group> owned = groupDao.findByOwnerKindAndOwnerIdAndContentType(ownerKind, owner, groupType);
+        if (owned.isPresent()) {
+            return owned.get();
+        }
+
+        // groups made before the owner columns, that the migration couldn't match by name, are adopted by name once
+        String name = systemGroupName(ownerKind, owner, groupType);
         if (groupDao.existsByName(name)) {
             group = groupDao.findByName(name).get();
 
             // check type before returning
-            if (group.getContentType() == groupType) {
-                return group;
+            if (group.getContentType() == groupType && group.getOwnerKind() == null) {
+                group.setOwnerKind(ownerKind);
+                group.setOwnerId(owner);
+
+                return groupDao.save(group);
             }
 
             // try to flag collision and recover, but if errors occur then they occur...
@@ -198,7 +220,38 @@ public class GroupServiceImpl implements GroupService {
         group.setName(name);
         group.setOwner(config.getSystemGroupOwner());
         group.setContentType(groupType);
+        group.setOwnerKind(ownerKind);
+        group.setOwnerId(owner);
+
+        Group saved = groupDao.save(group);
+        dataVersions.bump(group.getContentType());
+        return saved;
+    }
+
+    /**
+     * the name a system group is created under; only needed when it isn't found by owner.
+     */
+    private String systemGroupName(OwnerKind ownerKind, long ownerId, PropertyType groupType) throws GroupException {
+        String action;
+        switch (ownerKind) {
+            case GLOBAL:
+                action = groupType == PropertyType.NOTE
+                        ? config.getSystemGroupGlobalNoteAction()
+                        : config.getSystemGroupGlobalVarsAction();
+                return config.getSystemGroupPrefix().concat(action);
+            case CREATURE:
+                action = config.getSystemGroupCreaturePropertyAction();
+                break;
+            case LOCATION:
+                action = config.getSystemGroupLocationNoteAction();
+                break;
+            case MOBILE:
+                action = config.getSystemGroupMobilePropertyAction();
+                break;
+            default:
+                throw new GroupException("no system groups for " + ownerKind);
+        }
 
-        return groupDao.save(group);
+        return String.format("%s%s%d", config.getSystemGroupPrefix(), action, ownerId);
     }
 }
@@ -8,9 +8,12 @@ import net.dalamori.GMFriend.exceptions.NoteException;
 import net.dalamori.GMFriend.models.Location;
 import net.dalamori.GMFriend.models.LocationLink;
 import net.dalamori.GMFriend.models.Note;
+import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.LocationDao;
 import net.dalamori.GMFriend.repository.LocationLinkDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.LocationService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.NoteService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +37,12 @@ import java.util.Set;
 @Transactional(rollbackFor = {GroupException.class, LocationException.class, NoteException.class})
 public class LocationServiceImpl implements LocationService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private NameIndex nameIndex;
+
     @Autowired
     private LocationDao locationDao;
 
@@ -74,6 +83,8 @@ public class LocationServiceImpl implements LocationService {
         }
 
         Location savedLocation = locationDao.save(location);
+        dataVersions.bump(PropertyType.LOCATION);
+        names().put(savedLocation.getId(), savedLocation.getName());
         for (LocationLink link : location.getLinks()) {
             savedLocation.getLinks().add(linkDao.save(link));
         }
@@ -121,11 +132,13 @@ public class LocationServiceImpl implements LocationService {
             return read(Long.valueOf(name));
         }
 
-        Optional<Location> result = locationDao.findByName(name);
+        // an unambiguous prefix stands for the whole name; anything else is looked up as given
+        String resolved = names().resolve(name);
+        Optional<Location> result = locationDao.findByName(resolved == null ? name : resolved);
 
         if (!result.isPresent()) {
             log.debug("LocationServiceImpl::read - name not found: {}", name);
-            throw new LocationException("not found");
+            throw new LocationException("not found".concat(names().hint(name)));
         }
         Location location = result.get();
 
@@ -157,7 +170,7 @@ public class LocationServiceImpl implements LocationService {
             if (StringUtils.isNumeric(name)) {
                 return locationDao.existsById(Long.valueOf(name));
             }
-            return locationDao.existsByName(name);
+            return names().resolve(name) != null || locationDao.existsByName(name);
         }
 
         return false;
@@ -194,6 +207,8 @@ public class LocationServiceImpl implements LocationService {
 
         // STEP 2: Save location to DAO
         Location savedLocation = locationDao.save(location);
+        dataVersions.bump(PropertyType.LOCATION);
+        names().put(savedLocation.getId(), savedLocation.getName());
 
         // STEP 3: Sync notes to noteService
         List<Note> currentNotes;
@@ -254,7 +269,11 @@ public class LocationServiceImpl implements LocationService {
         // all others get nuked
         linkDao.deleteAll(linksToRemove);
 
-        // STEP 5: return retval
+        // STEP 5: bump the version in SQL, and read back the one this edit got
+        locationDao.touch(savedLocation.getId());
+        savedLocation.setVersion(locationDao.findVersionById(savedLocation.getId()));
+
+        // STEP 6: return retval
         return savedLocation;
 
     }
@@ -285,6 +304,8 @@ public class LocationServiceImpl implements LocationService {
 
         try {
             locationDao.deleteById(location.getId());
+            dataVersions.bump(PropertyType.LOCATION);
+            names().remove(location.getId());
         } catch (Throwable ex) {
             log.info("LocationServiceImpl::delete failed to delete {}", location, ex);
             throw new LocationException("SQL failed to delete");
@@ -310,4 +331,8 @@ public class LocationServiceImpl implements LocationService {
     private boolean validateLocationNotes(Location location) {
         return noteService.validateNotes(location);
     }
+
+    private NameIndex.Names names() {
+        return nameIndex.of(PropertyType.LOCATION, locationDao::findAllNames);
+    }
 }
@@ -0,0 +1,107 @@
+package net.dalamori.GMFriend.services.impl;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.exceptions.MacroException;
+import net.dalamori.GMFriend.models.Macro;
+import net.dalamori.GMFriend.repository.MacroDao;
+import net.dalamori.GMFriend.services.MacroService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Data
+@Service("macroService")
+@Transactional(rollbackFor = MacroException.class)
+public class MacroServiceImpl implements MacroService {
+
+    @Autowired
+    private MacroDao macroDao;
+
+    private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+
+    @Override
+    public Macro define(Macro macro) throws MacroException {
+        Validator validator = VALIDATOR_FACTORY.getValidator();
+
+        Set<ConstraintViolation<Macro>> violations = validator.validate(macro);
+        if (violations.size() > 0) {
+            for (ConstraintViolation<Macro> violation : violations) {
+                log.debug("MacroServiceImpl::define validation violation for macro {} : {}", macro, violation.getMessage());
+            }
+
+            throw new MacroException("macro to define failed validation");
+        }
+
+        // redefining keeps the row, and replaces its body
+        Optional<Macro> existing = macroDao.findByGuildAndName(macro.getGuild(), macro.getName());
+        if (existing.isPresent()) {
+            macro.setId(existing.get().getId());
+        } else if (macro.getId() != null) {
+            log.debug("MacroServiceImpl::define - new macro already has Id");
+            throw new MacroException("macro to define already has an ID set");
+        }
+
+        try {
+            return macroDao.save(macro);
+        } catch (Throwable ex) {
+            log.info("MacroServiceImpl::define Record save failed: {}", macro, ex);
+            throw new MacroException("SQL failed to save", ex);
+        }
+    }
+
+    @Override
+    public Macro read(String guild, String name) throws MacroException {
+        Optional<Macro> result = macroDao.findByGuildAndName(guild, name);
+
+        if (!result.isPresent()) {
+            log.debug("MacroServiceImpl::read - macro {} not found in guild {}", name, guild);
+            throw new MacroException("Not Found");
+        }
+
+        return result.get();
+    }
+
+    @Override
+    public boolean exists(String guild, String name) {
+        if (guild != null && name != null) {
+            return macroDao.existsByGuildAndName(guild, name);
+        }
+
+        return false;
+    }
+
+    @Override
+    public void delete(Macro macro) throws MacroException {
+        if (macro.getId() == null) {
+            log.debug("MacroServiceImpl::delete - cannot delete macro with null Id");
+            throw new MacroException("macro id cannot be null");
+        }
+
+        if (!macroDao.existsById(macro.getId())) {
+            log.debug("MacroServiceImpl::delete - Macro Id {} not found", macro.getId());
+            throw new MacroException("Macro not found");
+        }
+
+        try {
+            macroDao.deleteById(macro.getId());
+        } catch (Throwable ex) {
+            log.info("MacroServiceImpl::delete failed to delete {}", macro, ex);
+            throw new MacroException("SQL failed to delete", ex);
+        }
+    }
+
+    @Override
+    public List<Macro> list(String guild) {
+        return macroDao.findAllByGuildOrderByNameAsc(guild);
+    }
+}
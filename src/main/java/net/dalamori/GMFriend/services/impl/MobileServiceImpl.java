@@ -10,10 +10,16 @@ import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.MobileDao;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
+import net.dalamori.GMFriend.services.MobileSelector;
 import net.dalamori.GMFriend.services.MobileService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +28,7 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +42,12 @@ import java.util.Set;
 @Transactional(rollbackFor = MobileException.class)
 public class MobileServiceImpl implements MobileService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private NameIndex nameIndex;
+
     @Autowired
     private DmFriendConfig config;
 
@@ -74,6 +87,8 @@ public class MobileServiceImpl implements MobileService {
         }
 
         Mobile savedMobile = mobileDao.save(mobile);
+        dataVersions.bump(PropertyType.MOBILE);
+        names().put(savedMobile.getId(), savedMobile.getName());
 
         // copy properties
         try {
@@ -126,11 +141,13 @@ public class MobileServiceImpl implements MobileService {
             return read(Long.valueOf(name));
         }
 
-        Optional<Mobile> result = mobileDao.findByName(name);
+        // an unambiguous prefix stands for the whole name; anything else is looked up as given
+        String resolved = names().resolve(name);
+        Optional<Mobile> result = mobileDao.findByName(resolved == null ? name : resolved);
 
         if (!result.isPresent()) {
             log.debug("MobileServiceImpl::read - Id # {} not found", name);
-            throw new MobileException("not found");
+            throw new MobileException("not found".concat(names().hint(name)));
         }
 
         Mobile mobile = result.get();
@@ -163,7 +180,8 @@ public class MobileServiceImpl implements MobileService {
             if (StringUtils.isNumeric(name)) {
                 return mobileDao.existsById(Long.valueOf(name));
             }
-            return mobileDao.existsByName(name);
+            // names created earlier in an uncommitted transaction are only in the database so far
+            return names().resolve(name) != null || mobileDao.existsByName(name);
         }
 
         return false;
@@ -197,6 +215,8 @@ public class MobileServiceImpl implements MobileService {
         }
 
         Mobile savedMobile = mobileDao.save(mobile);
+        dataVersions.bump(PropertyType.MOBILE);
+        names().put(savedMobile.getId(), savedMobile.getName());
 
         // sync properties
         try {
@@ -239,6 +259,10 @@ public class MobileServiceImpl implements MobileService {
             throw new MobileException("failed to sync properties", ex);
         }
 
+        // bump the version in SQL, after the property sync, and read back the one this edit got
+        mobileDao.touch(savedMobile.getId());
+        savedMobile.setVersion(mobileDao.findVersionById(savedMobile.getId()));
+
         return savedMobile;
     }
 
@@ -265,6 +289,8 @@ public class MobileServiceImpl implements MobileService {
         }
 
         mobileDao.deleteById(mobile.getId());
+        dataVersions.bump(PropertyType.MOBILE);
+        names().remove(mobile.getId());
     }
 
     @Override
@@ -309,6 +335,8 @@ public class MobileServiceImpl implements MobileService {
         }
 
         Mobile savedMobile = mobileDao.save(mobile);
+        dataVersions.bump(PropertyType.MOBILE);
+        names().put(savedMobile.getId(), savedMobile.getName());
 
         // copy properties
         try {
@@ -335,6 +363,153 @@ public class MobileServiceImpl implements MobileService {
         return initiativeList;
     }
 
+    @Override
+    public ListPage<List<Mobile>> initiativePage(boolean all, ListCursor cursor) throws MobileException {
+        long total = mobileDao.countListed(all);
+
+        if (cursor.isAfter()) {
+            Optional<Mobile> from = mobileDao.findById(cursor.getAfter());
+            if (!from.isPresent()) {
+                log.debug("MobileServiceImpl::initiativePage mobile # {} not found", cursor.getAfter());
+                throw new MobileException("no mobile to list after");
+            }
+
+            List<Mobile> rows = mobileDao.findListedAfter(all, from.get().getInitiative(), from.get().getName(),
+                    PageRequest.of(0, cursor.getSize() + 1));
+            return ListPage.of(rows, cursor, total, Mobile::getId);
+        }
+
+        // numbered pages have no key to start from, so skip to them; the list is only ever a fight long
+        if (cursor.getOffset() >= total) {
+            return new ListPage<>(Collections.emptyList(), 0, total, null);
+        }
+
+        List<Mobile> rows = mobileDao.findListedAfter(all, Integer.MIN_VALUE, "",
+                PageRequest.of(cursor.getPage() - 1, cursor.getSize()));
+        Long next = null;
+        if (!rows.isEmpty() && cursor.getOffset() + rows.size() < total) {
+            next = rows.get(rows.size() - 1).getId();
+        }
+
+        return new ListPage<>(rows, rows.size(), total, next);
+    }
+
+    @Override
+    public Mobile initiativeFrom(boolean all, int initiative, String name) throws MobileException {
+        List<Mobile> rows = mobileDao.findListedFrom(all, initiative, name, PageRequest.of(0, 1));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public List<Mobile> damageAll(MobileSelector selector, long amount) throws MobileException {
+        List<Long> ids = select(selector);
+
+        mobileDao.addHp(ids, -amount);
+        mobileDao.markDead(ids);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> healAll(MobileSelector selector, long amount) throws MobileException {
+        List<Long> ids = select(selector);
+
+        mobileDao.addHp(ids, amount);
+        mobileDao.capHp(ids);
+        mobileDao.markAlive(ids);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> killAll(MobileSelector selector) throws MobileException {
+        List<Long> ids = select(selector);
+        mobileDao.kill(ids);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> restoreAll(MobileSelector selector) throws MobileException {
+        List<Long> ids = select(selector);
+        mobileDao.restore(ids);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> setMaxHpAll(MobileSelector selector, long maxHp) throws MobileException {
+        if (maxHp <= 0) {
+            throw new MobileException("max hp must be positive");
+        }
+
+        List<Long> ids = select(selector);
+        mobileDao.setMaxHp(ids, maxHp);
+        mobileDao.capHp(ids);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> setInitiativeAll(MobileSelector selector, int initiative) throws MobileException {
+        if (initiative < 0) {
+            throw new MobileException("initiative can't be negative");
+        }
+
+        List<Long> ids = select(selector);
+        mobileDao.setInitiative(ids, initiative);
+
+        return updated(ids);
+    }
+
+    @Override
+    public List<Mobile> moveAll(MobileSelector selector, String position) throws MobileException {
+        if (StringUtils.isBlank(position)) {
+            throw new MobileException("new position cannot be a blank string");
+        }
+
+        List<Long> ids = select(selector);
+        mobileDao.setPosition(ids, position);
+
+        return updated(ids);
+    }
+
+    private List<Long> select(MobileSelector selector) throws MobileException {
+        List<Long> ids;
+
+        switch (selector.getKind()) {
+            case ALL:
+                ids = mobileDao.findAllIds();
+                break;
+            case ALIVE:
+                ids = mobileDao.findAllIdsByAlive(true);
+                break;
+            case DEAD:
+                ids = mobileDao.findAllIdsByAlive(false);
+                break;
+            case POSITION:
+                ids = mobileDao.findAllIdsByPosition(selector.getArgument());
+                break;
+            case NAME:
+                ids = mobileDao.findAllIdsByNameLike(selector.getArgument());
+                break;
+            default:
+                throw new MobileException("unsupported selector ".concat(selector.toString()));
+        }
+
+        if (ids.isEmpty()) {
+            log.debug("MobileServiceImpl::select - nothing matches {}", selector);
+            throw new MobileException("no mobiles match ".concat(selector.toString()));
+        }
+
+        return ids;
+    }
+
+    private List<Mobile> updated(List<Long> ids) {
+        dataVersions.bump(PropertyType.MOBILE);
+        return mobileDao.findAllByIdInOrderByInitiativeAscNameAsc(ids);
+    }
+
     private String resolveMobName(String name) throws MobileException {
         if (mobileDao.existsByName(name)) {
             int count = mobileDao.countByNameBeginning(name);
@@ -360,4 +535,8 @@ public class MobileServiceImpl implements MobileService {
         }
 
     }
+
+    private NameIndex.Names names() {
+        return nameIndex.of(PropertyType.MOBILE, mobileDao::findAllNames);
+    }
 }
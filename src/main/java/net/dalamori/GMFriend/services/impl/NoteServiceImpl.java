@@ -8,14 +8,21 @@ import net.dalamori.GMFriend.exceptions.NoteException;
 import net.dalamori.GMFriend.models.Group;
 import net.dalamori.GMFriend.models.Location;
 import net.dalamori.GMFriend.models.Note;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.models.interfaces.HasNotes;
+import net.dalamori.GMFriend.repository.NamedId;
 import net.dalamori.GMFriend.repository.NoteDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.NoteService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +41,12 @@ import java.util.Set;
 @Transactional(rollbackFor = {NoteException.class, GroupException.class})
 public class NoteServiceImpl implements NoteService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private NameIndex nameIndex;
+
     @Autowired
     private NoteDao noteDao;
 
@@ -69,7 +82,10 @@ public class NoteServiceImpl implements NoteService {
         }
 
         try {
-            return noteDao.save(note);
+            Note saved = noteDao.save(note);
+            dataVersions.bump(PropertyType.NOTE);
+            names().put(saved.getId(), saved.getTitle());
+            return saved;
         } catch (Throwable ex) {
             log.info("NoteServiceImpl::create Record insert failed: {}", note, ex);
             throw new NoteException("SQL failed to insert", ex);
@@ -94,11 +110,13 @@ public class NoteServiceImpl implements NoteService {
             return read(Long.valueOf(title));
         }
 
-        Optional<Note> result = noteDao.findByTitle(title);
+        // an unambiguous prefix stands for the whole name; anything else is looked up as given
+        String resolved = names().resolve(title);
+        Optional<Note> result = noteDao.findByTitle(resolved == null ? title : resolved);
 
         if (!result.isPresent()) {
             log.debug("NoteServiceImpl::read - Title {} not found", title);
-            throw new NoteException("Not Found");
+            throw new NoteException("Not Found".concat(names().hint(title)));
         }
 
         return result.get();
@@ -119,7 +137,7 @@ public class NoteServiceImpl implements NoteService {
             if (StringUtils.isNumeric(title)) {
                 return noteDao.existsById(Long.valueOf(title));
             }
-            return noteDao.existsByTitle(title);
+            return names().resolve(title) != null || noteDao.existsByTitle(title);
         }
 
         return false;
@@ -149,7 +167,12 @@ public class NoteServiceImpl implements NoteService {
         }
 
         try {
-            return noteDao.save(note);
+            Note saved = noteDao.save(note);
+            noteDao.touch(saved.getId());
+            saved.setVersion(noteDao.findVersionById(saved.getId()));
+            dataVersions.bump(PropertyType.NOTE);
+            names().put(saved.getId(), saved.getTitle());
+            return saved;
         } catch (Throwable ex) {
             log.info("NoteServiceImpl::update Record update failed: {}", note, ex);
             throw new NoteException("SQL failed to update", ex);
@@ -170,6 +193,8 @@ public class NoteServiceImpl implements NoteService {
 
         try {
             noteDao.deleteById(note.getId());
+            dataVersions.bump(PropertyType.NOTE);
+            names().remove(note.getId());
         } catch (Throwable ex) {
             log.info("NoteServiceImpl::delete failed to delete {}", note, ex);
             throw new NoteException("SQL failed to delete");
@@ -286,6 +311,29 @@ public class NoteServiceImpl implements NoteService {
         }
     }
 
+    @Override
+    public ListPage<List<Note>> getGlobalNotes(ListCursor cursor) throws NoteException {
+        try {
+            Set<Long> ids = resolveGlobalNoteGroup().getContents();
+            if (ids.isEmpty()) {
+                return new ListPage<>(new ArrayList<>(), 0, 0, null);
+            }
+
+            long total = noteDao.countByIdIn(ids);
+            List<Note> rows = new ArrayList<>();
+            for (NamedId title : noteDao.findAllTitlesByIdInAfter(ids, cursor.startAfter(ids), PageRequest.of(0, cursor.getSize() + 1))) {
+                Note row = new Note();
+                row.setId(title.getId());
+                row.setTitle(title.getName());
+                rows.add(row);
+            }
+
+            return ListPage.of(rows, cursor, total, Note::getId);
+        } catch (GroupException ex) {
+            throw new NoteException("unable to retrieve global Notes", ex);
+        }
+    }
+
     @Override
     public List<Note> getLocationNotes(Location location) throws NoteException {
         List<Note> list = new ArrayList<>();
@@ -325,18 +373,14 @@ public class NoteServiceImpl implements NoteService {
             throw new NoteException(" cant lookup for location with null id");
         }
 
-        String name = String.format("%s%s%d",
-                config.getSystemGroupPrefix(),
-                config.getSystemGroupLocationNoteAction(),
-                location.getId());
-
-        return groupService.resolveSystemGroup(name, PropertyType.NOTE);
+        return groupService.resolveSystemGroup(OwnerKind.LOCATION, location.getId(), PropertyType.NOTE);
     }
 
     private Group resolveGlobalNoteGroup() throws GroupException {
-        String name = config.getSystemGroupPrefix().concat(config.getSystemGroupGlobalNoteAction());
-        return groupService.resolveSystemGroup(name, PropertyType.NOTE);
+        return groupService.resolveSystemGroup(OwnerKind.GLOBAL, null, PropertyType.NOTE);
     }
 
-
+    private NameIndex.Names names() {
+        return nameIndex.of(PropertyType.NOTE, noteDao::findAllNames);
+    }
 }
@@ -9,12 +9,17 @@ import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Group;
 import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Property;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.models.interfaces.HasProperties;
 import net.dalamori.GMFriend.repository.PropertyDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
 import net.dalamori.GMFriend.services.PropertyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +41,9 @@ import java.util.Set;
 @Transactional(rollbackFor = {PropertyException.class, GroupException.class})
 public class PropertyServiceImpl implements PropertyService {
 
+    @Autowired
+    private DataVersions dataVersions;
+
     @Autowired
     private PropertyDao propertyDao;
 
@@ -80,7 +88,9 @@ public class PropertyServiceImpl implements PropertyService {
         }
 
         try {
-            return propertyDao.save(property);
+            Property saved = propertyDao.save(property);
+            dataVersions.bump(PropertyType.PROPERTY);
+            return saved;
         } catch (Throwable ex) {
             log.info("PropertyServiceImpl::create Record insert failed: {}", property, ex);
             throw new PropertyException("SQL failed to insert", ex);
@@ -132,7 +142,9 @@ public class PropertyServiceImpl implements PropertyService {
         }
 
         try {
-            return propertyDao.save(property);
+            Property saved = propertyDao.save(property);
+            dataVersions.bump(PropertyType.PROPERTY);
+            return saved;
         } catch (Throwable ex) {
             log.info("PropertyServiceImpl::update Record update failed: {}", property, ex);
             throw new PropertyException("SQL failed to update", ex);
@@ -153,6 +165,7 @@ public class PropertyServiceImpl implements PropertyService {
 
         try {
             propertyDao.deleteById(property.getId());
+            dataVersions.bump(PropertyType.PROPERTY);
         } catch (Throwable ex) {
             log.info("PropertyServiceImpl::delete failed to delete {}", property, ex);
             throw new PropertyException("SQL failed to delete");
@@ -315,6 +328,39 @@ public class PropertyServiceImpl implements PropertyService {
         }
     }
 
+    @Override
+    public Property getGlobalProperty(String name) throws PropertyException {
+        try {
+            Group globals = resolveGlobalPropertiesGroup();
+            if (globals.getContents().isEmpty()) {
+                return null;
+            }
+
+            return propertyDao.findFirstByNameAndIdIn(name, globals.getContents()).orElse(null);
+
+        } catch (GroupException ex) {
+            throw new PropertyException("Unable to retrieve global property", ex);
+        }
+    }
+
+    @Override
+    public ListPage<List<Property>> getGlobalProperties(ListCursor cursor) throws PropertyException {
+        try {
+            Set<Long> ids = resolveGlobalPropertiesGroup().getContents();
+            if (ids.isEmpty()) {
+                return new ListPage<>(new ArrayList<>(), 0, 0, null);
+            }
+
+            long total = propertyDao.countByIdIn(ids);
+            List<Property> rows = propertyDao.findAllByIdInAndIdGreaterThanOrderByIdAsc(ids, cursor.startAfter(ids),
+                    PageRequest.of(0, cursor.getSize() + 1));
+
+            return ListPage.of(rows, cursor, total, Property::getId);
+        } catch (GroupException ex) {
+            throw new PropertyException("Unable to retrieve global properties", ex);
+        }
+    }
+
     @Override
     public List<Property> getCreatureProperties(Creature creature) throws PropertyException {
         List<Property> list = new ArrayList<>();
@@ -364,9 +410,7 @@ public class PropertyServiceImpl implements PropertyService {
     }
 
     private Group resolveGlobalPropertiesGroup() throws GroupException {
-        String name = config.getSystemGroupPrefix().concat(config.getSystemGroupGlobalVarsAction());
-
-        return groupService.resolveSystemGroup(name, PropertyType.PROPERTY);
+        return groupService.resolveSystemGroup(OwnerKind.GLOBAL, null, PropertyType.PROPERTY);
     }
 
     private Group resolveCreaturePropertiesGroup(Creature creature) throws GroupException, PropertyException {
@@ -376,12 +420,7 @@ public class PropertyServiceImpl implements PropertyService {
             throw new PropertyException(" cant lookup for creature with null id");
         }
 
-        String name = String.format("%s%s%d",
-                config.getSystemGroupPrefix(),
-                config.getSystemGroupCreaturePropertyAction(),
-                creature.getId());
-
-        return groupService.resolveSystemGroup(name, PropertyType.PROPERTY);
+        return groupService.resolveSystemGroup(OwnerKind.CREATURE, creature.getId(), PropertyType.PROPERTY);
     }
 
     private Group resolveMobilePropertiesGroup(Mobile mobile) throws GroupException, PropertyException {
@@ -391,12 +430,7 @@ public class PropertyServiceImpl implements PropertyService {
             throw new PropertyException(" cant lookup for mobile with null id");
         }
 
-        String name = String.format("%s%s%d",
-                config.getSystemGroupPrefix(),
-                config.getSystemGroupMobilePropertyAction(),
-                mobile.getId());
-
-        return groupService.resolveSystemGroup(name, PropertyType.PROPERTY);
+        return groupService.resolveSystemGroup(OwnerKind.MOBILE, mobile.getId(), PropertyType.PROPERTY);
     }
 }
 
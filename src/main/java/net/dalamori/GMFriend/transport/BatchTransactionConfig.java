@@ -0,0 +1,26 @@
+package net.dalamori.GMFriend.transport;
+
+import org.springframework.boot.autoconfigure.transaction.PlatformTransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+/**
+ * Leaves the rollback of a joined transaction to whoever started it.
+ *
+ * Inside a batch every service call joins the {@link DispatchStage}'s transaction. By default a service exception
+ * would mark that whole transaction rollback-only on its way out, even when the command catches it and answers
+ * normally (a "Not Found!" for example), and the batch's commit would then fail. With this off, the batch is only
+ * rolled back when a command actually fails; outside a batch, each service call is its own transaction and rolls
+ * back as before.
+ *
+ * Savepoints per command would be the finer tool, but Hibernate's JPA dialect doesn't support them.
+ */
+@Configuration
+public class BatchTransactionConfig {
+
+    @Bean
+    public PlatformTransactionManagerCustomizer<AbstractPlatformTransactionManager> batchRollbackCustomizer() {
+        return transactionManager -> transactionManager.setGlobalRollbackOnParticipationFailure(false);
+    }
+}
@@ -0,0 +1,189 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs accepted commands off of the gateway thread.
+ *
+ * Work is queued per channel, and each channel has at most one task in flight on the pool at a time, so commands
+ * from one channel run in the order they arrived while separate channels run in parallel. The total number of
+ * queued commands is capped; once full, submit() refuses work rather than blocking the caller.
+ */
+@Slf4j
+@Component("commandDispatcher")
+public class CommandDispatcher {
+
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, ChannelQueue> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int maxPending;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean closed = false;
+
+    @Autowired
+    public CommandDispatcher(DmFriendConfig config) {
+        this(config.getDiscordDispatchThreads(), config.getDiscordDispatchQueueSize());
+    }
+
+    public CommandDispatcher(int threads, int maxPending) {
+        this.maxPending = maxPending;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DispatchThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * queues a task behind any other work for the same channel.
+     * @return false if the dispatcher is saturated (or shut down) and the task was dropped
+     */
+    public boolean submit(long channelId, Runnable task) {
+        if (closed) {
+            rejected.increment();
+            return false;
+        }
+
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        try {
+            channels.compute(channelId, (id, queue) -> {
+                if (queue == null) {
+                    queue = new ChannelQueue();
+                }
+
+                synchronized (queue) {
+                    queue.tasks.add(task);
+                    if (!queue.scheduled) {
+                        ChannelQueue target = queue;
+                        executor.execute(() -> drain(id, target));
+                        queue.scheduled = true;
+                    }
+                }
+
+                return queue;
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("CommandDispatcher::submit executor refused work for channel {}", channelId);
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        accepted.increment();
+        return true;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * stops taking new work, and waits for everything already queued or running to finish.
+     * @return false if work was still pending when the timeout ran out
+     */
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("CommandDispatcher::drain gave up with {} commands still pending", pending.get());
+                return false;
+            }
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        executor.shutdown();
+    }
+
+    private void drain(long channelId, ChannelQueue queue) {
+        Runnable task;
+        synchronized (queue) {
+            task = queue.tasks.poll();
+        }
+
+        try {
+            if (task != null) {
+                task.run();
+            }
+        } catch (Throwable ex) {
+            log.error("CommandDispatcher::drain task for channel {} failed", channelId, ex);
+        } finally {
+            pending.decrementAndGet();
+        }
+
+        // run one task per turn on the pool, so a busy channel can't starve the others
+        channels.computeIfPresent(channelId, (id, current) -> {
+            synchronized (current) {
+                if (current.tasks.isEmpty()) {
+                    current.scheduled = false;
+                    return null;
+                }
+
+                try {
+                    executor.execute(() -> drain(id, current));
+                } catch (RejectedExecutionException ex) {
+                    log.warn("CommandDispatcher::drain dropping {} queued tasks for channel {}; executor is shut down",
+                            current.tasks.size(), id);
+                    pending.addAndGet(-current.tasks.size());
+                    current.tasks.clear();
+                    current.scheduled = false;
+                    return null;
+                }
+                return current;
+            }
+        });
+    }
+
+    private static class ChannelQueue {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled = false;
+    }
+
+    private static class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gmfriend-dispatch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
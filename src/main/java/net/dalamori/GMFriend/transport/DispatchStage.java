@@ -0,0 +1,195 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.BoardAction;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.metrics.CommandMetrics;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Last ingress stage: hands a tokenized command to the {@link CommandDispatcher}, and passes the result to the
+ * command's {@link ReplyChannel}. Commands refused by a saturated dispatcher are dropped with a "busy" reply.
+ * Every command run is timed into {@link CommandMetrics}.
+ *
+ * A batch runs as one dispatcher task, inside one transaction, and so one persistence context: entities any
+ * command in the batch has loaded are shared with the rest, and nothing is committed until the last command is
+ * done. If a command fails, the batch stops there and everything it did is rolled back. A service exception the
+ * command handles itself doesn't count as a failure (see {@link BatchTransactionConfig}).
+ */
+@Slf4j
+public class DispatchStage extends IngressStage {
+
+    public static final String UNEXPECTED_ERROR = "Error Received: something went wrong running that command.";
+    private static final String BATCH_LABEL = "batch";
+
+    private final CommandDispatcher dispatcher;
+    private final AbstractCommand interpreter;
+    private final CommandMetrics metrics;
+    private final TransactionTemplate transactions;
+    private final String busyMessage;
+
+    /**
+     * @param transactions wraps batches; may be null, in which case each command commits on its own
+     */
+    public DispatchStage(CommandDispatcher dispatcher, AbstractCommand interpreter, CommandMetrics metrics,
+                         TransactionTemplate transactions, String busyMessage) {
+        super("dispatch");
+        this.dispatcher = dispatcher;
+        this.interpreter = interpreter;
+        this.metrics = metrics;
+        this.transactions = transactions;
+        this.busyMessage = busyMessage;
+    }
+
+    public boolean dispatch(ReplyChannel channel, CommandContext context) {
+        return submit(channel, context.getOwner(), () -> execute(context));
+    }
+
+    public boolean dispatchBatch(ReplyChannel channel, List<CommandContext> batch) {
+        return submit(channel, batch.get(0).getOwner(), () -> executeBatch(batch));
+    }
+
+    public CommandContext execute(CommandContext context) {
+        run(context);
+        return context;
+    }
+
+    /**
+     * runs the batch in one transaction.
+     * @return a context holding the combined response of every command that ran
+     */
+    public CommandContext executeBatch(List<CommandContext> batch) {
+        long start = System.nanoTime();
+        int[] failedAt = {-1};
+        boolean rolledBack;
+
+        try {
+            if (transactions == null) {
+                runAll(batch, failedAt);
+                rolledBack = false;
+            } else {
+                transactions.execute(status -> {
+                    runAll(batch, failedAt);
+                    if (failedAt[0] >= 0) {
+                        status.setRollbackOnly();
+                    }
+                    return null;
+                });
+                rolledBack = failedAt[0] >= 0;
+            }
+        } catch (RuntimeException ex) {
+            // unexpected errors, and commits that fail
+            log.warn("DispatchStage::executeBatch batch from {} rolled back", batch.get(0).getOwner(), ex);
+            rolledBack = true;
+        }
+
+        CommandContext result = combine(batch, failedAt[0], rolledBack);
+        metrics.record(result, System.nanoTime() - start);
+
+        return result;
+    }
+
+    private boolean submit(ReplyChannel channel, String owner, Supplier<CommandContext> work) {
+        boolean submitted = dispatcher.submit(channel.getId(), () -> respond(channel, owner, work));
+
+        if (!submitted) {
+            log.info("DispatchStage::dispatch shedding command from {}; dispatcher is full", owner);
+            channel.reply(busyMessage);
+            return drop();
+        }
+
+        return accept();
+    }
+
+    /**
+     * runs the work and replies with its result; the channel always gets a reply, even if the work blows up.
+     */
+    private void respond(ReplyChannel channel, String owner, Supplier<CommandContext> work) {
+        CommandContext result;
+
+        try {
+            result = work.get();
+        } catch (RuntimeException ex) {
+            log.error("DispatchStage::dispatch unexpected error running a command from {}", owner, ex);
+            channel.reply(UNEXPECTED_ERROR);
+            return;
+        }
+
+        channel.reply(result);
+    }
+
+    private void runAll(List<CommandContext> batch, int[] failedAt) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (!run(batch.get(i))) {
+                failedAt[0] = i;
+                return;
+            }
+        }
+    }
+
+    private boolean run(CommandContext context) {
+        long start = System.nanoTime();
+        try {
+            interpreter.handle(context);
+            return true;
+
+        } catch (InterpreterException ex) {
+            context.setResponse("Error Received, and not caught!: " + ex.getMessage());
+            log.debug("DispatchStage::execute got an error parsing the command: {}",
+                    context.getCommand(), ex);
+            return false;
+        } catch (RuntimeException ex) {
+            context.setResponse(UNEXPECTED_ERROR);
+            log.error("DispatchStage::execute unexpected error running the command: {}",
+                    context.getCommand(), ex);
+            return false;
+        } finally {
+            metrics.record(context, System.nanoTime() - start);
+        }
+    }
+
+    private static CommandContext combine(List<CommandContext> batch, int failedAt, boolean rolledBack) {
+        CommandContext result = new CommandContext();
+        List<String> tokens = new ArrayList<>();
+        StringBuilder response = new StringBuilder();
+        BoardAction board = null;
+
+        for (CommandContext context : batch) {
+            tokens.addAll(context.getCommand());
+
+            if (context.getResponse() != null) {
+                response.append(context.getResponse());
+                if (response.charAt(response.length() - 1) != '\n') {
+                    response.append('\n');
+                }
+            }
+
+            // a batch's response is always sent, so views only ask for a redraw; on/off win over both
+            board = BoardAction.merge(board, BoardAction.of(context));
+        }
+
+        if (rolledBack) {
+            response.append(failedAt >= 0
+                    ? String.format("**Batch stopped at command %d; none of it was saved.**", failedAt + 1)
+                    : "**Batch failed; none of it was saved.**");
+        } else if (failedAt >= 0) {
+            response.append(String.format("**Batch stopped at command %d.**", failedAt + 1));
+        } else if (board != null) {
+            result.getData().put(BoardAction.DATA_KEY, board);
+        }
+
+        result.setOwner(batch.get(0).getOwner());
+        result.setGuild(batch.get(0).getGuild());
+        result.setCommand(tokens);
+        result.getPath().add(BATCH_LABEL);
+        result.setResponse(response.length() > 0 ? response.toString() : null);
+
+        return result;
+    }
+}
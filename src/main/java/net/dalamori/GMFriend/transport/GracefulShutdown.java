@@ -0,0 +1,107 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.discord.DiscordClient;
+import net.dalamori.GMFriend.discord.OutboundScheduler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shuts the bot down in an order that doesn't lose or half-apply commands:
+ *
+ * 1. the {@link IngressPipeline} stops accepting events, from every transport;
+ * 2. the {@link CommandDispatcher} finishes everything queued or running;
+ * 3. the {@link OutboundScheduler} sends every response still queued;
+ * 4. the Discord connection closes.
+ *
+ * Steps 2 and 3 share one deadline, shutdown.deadlineMillis. This runs as the first lifecycle phase to stop, on
+ * the thread closing the context, so Spring doesn't move on to destroying beans (the datasource among them) until
+ * it's done.
+ */
+@Slf4j
+@Component("gracefulShutdown")
+public class GracefulShutdown implements SmartLifecycle {
+
+    private final IngressPipeline pipeline;
+    private final CommandDispatcher dispatcher;
+    private final OutboundScheduler outbound;
+    private final ObjectProvider<DiscordClient> discordClient;
+    private final long deadlineMillis;
+    private volatile boolean running = false;
+
+    @Autowired
+    public GracefulShutdown(DmFriendConfig config, IngressPipeline pipeline, CommandDispatcher dispatcher,
+                            OutboundScheduler outbound, ObjectProvider<DiscordClient> discordClient) {
+        this.pipeline = pipeline;
+        this.dispatcher = dispatcher;
+        this.outbound = outbound;
+        this.discordClient = discordClient;
+        this.deadlineMillis = config.getShutdownDeadlineMillis();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+        log.info("GracefulShutdown::stop no longer accepting commands; draining {} pending",
+                dispatcher.getPending());
+        pipeline.stopAccepting();
+
+        try {
+            boolean drained = dispatcher.drain(remaining(deadline), TimeUnit.NANOSECONDS);
+            boolean flushed = outbound.flush(remaining(deadline), TimeUnit.NANOSECONDS);
+
+            if (!drained || !flushed) {
+                log.warn("GracefulShutdown::stop deadline reached; drained: {}, flushed: {}", drained, flushed);
+            }
+        } catch (InterruptedException ex) {
+            log.warn("GracefulShutdown::stop interrupted while draining");
+            Thread.currentThread().interrupt();
+        }
+
+        DiscordClient client = discordClient.getIfAvailable();
+        if (client != null) {
+            client.disconnect();
+        }
+
+        log.info("GracefulShutdown::stop done in {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        // highest phase stops first
+        return Integer.MAX_VALUE;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
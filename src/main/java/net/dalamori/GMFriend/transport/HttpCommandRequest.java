@@ -0,0 +1,13 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class HttpCommandRequest {
+    private String owner;
+    private Long channel;
+    private List<String> commands = new ArrayList<>();
+}
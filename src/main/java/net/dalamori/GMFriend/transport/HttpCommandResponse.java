@@ -0,0 +1,11 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class HttpCommandResponse {
+    private List<String> responses = new ArrayList<>();
+}
@@ -0,0 +1,144 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP transport, for driving the full command path (gate, dispatcher, interpreter, database) without a
+ * Discord connection.
+ *
+ * POST /api/commands with {"owner": ..., "commands": [...]} runs each command through the {@link IngressPipeline}
+ * and answers with one response per command, in order; commands without the prefix, or with nothing to say, get
+ * a null response. Commands in one request share a channel, so they run one after another; pass "channel" to
+ * share it across requests too. Only enabled with transport.http.enabled = true, and only answers loopback
+ * callers.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "transport.http.enabled", havingValue = "true")
+public class HttpTransport implements Transport<HttpTransport.HttpCommand> {
+
+    private final IngressPipeline pipeline;
+    private final long timeoutMillis;
+    private final AtomicLong nextChannelId = new AtomicLong(-1);
+
+    @Autowired
+    public HttpTransport(IngressPipeline pipeline, DmFriendConfig config) {
+        this.pipeline = pipeline;
+        this.timeoutMillis = config.getTransportHttpTimeoutMillis();
+    }
+
+    @PostMapping("/api/commands")
+    public HttpCommandResponse handle(@RequestBody HttpCommandRequest request, HttpServletRequest servletRequest) {
+        Loopback.require(servletRequest);
+        if (!pipeline.isAccepting()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "shutting down");
+        }
+        if (request.getOwner() == null || request.getOwner().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "owner is required");
+        }
+
+        // synthetic ids count down from -1 so they never collide with Discord's (positive) snowflakes
+        long channelId = request.getChannel() == null ? nextChannelId.getAndDecrement() : request.getChannel();
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+
+        for (String command : request.getCommands()) {
+            HttpCommand event = new HttpCommand(command, request.getOwner(), channelId);
+            if (!pipeline.accept(this, event)) {
+                event.reply((String) null);
+            }
+            replies.add(event);
+        }
+
+        HttpCommandResponse response = new HttpCommandResponse();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        for (CompletableFuture<String> reply : replies) {
+            response.getResponses().add(await(reply, deadline));
+        }
+
+        return response;
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public String getContent(HttpCommand event) {
+        return event.content;
+    }
+
+    @Override
+    public String getOwner(HttpCommand event) {
+        return event.owner;
+    }
+
+    @Override
+    public String getGuild(HttpCommand event) {
+        return null;
+    }
+
+    @Override
+    public ReplyChannel getChannel(HttpCommand event) {
+        return event;
+    }
+
+    private String await(CompletableFuture<String> reply, long deadline) {
+        try {
+            return reply.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        } catch (TimeoutException ex) {
+            log.warn("HttpTransport::handle timed out after {}ms waiting for a response", timeoutMillis);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "timed out waiting for a response");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "command failed", ex.getCause());
+        }
+    }
+
+    /**
+     * one command from a request; it doubles as its own reply channel, completing once the response is in.
+     */
+    static class HttpCommand extends CompletableFuture<String> implements ReplyChannel {
+
+        private final String content;
+        private final String owner;
+        private final long channelId;
+
+        HttpCommand(String content, String owner, long channelId) {
+            this.content = content;
+            this.owner = owner;
+            this.channelId = channelId;
+        }
+
+        @Override
+        public long getId() {
+            return channelId;
+        }
+
+        @Override
+        public void reply(String response) {
+            complete(response);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.metrics.CommandMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path a message takes from its {@link Transport} to the interpreter: prefix gate -> rate limit -> tokenize ->
+ * dispatch.
+ *
+ * Each stage only runs once the stage before it has accepted the message, and every stage counts what it
+ * accepted and dropped.
+ */
+@Component("ingressPipeline")
+public class IngressPipeline {
+
+    private final PrefixGateStage prefixGate;
+    private final RateLimitStage rateLimit;
+    private final TokenizeStage tokenize;
+    private final DispatchStage dispatch;
+    private final List<IngressStage> stages;
+    private final ScheduledExecutorService sweeper;
+    private volatile boolean accepting = true;
+
+    @Autowired
+    public IngressPipeline(DmFriendConfig config, CommandDispatcher dispatcher, CommandMetrics metrics,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("rootCommand") AbstractCommand rootCommand) {
+        prefixGate = new PrefixGateStage(config.getInterpreterCommandPrefix());
+        rateLimit = new RateLimitStage(
+                new TokenBuckets<>(config.getIngressRateLimitUserBucketSize(),
+                        config.getIngressRateLimitUserRefillMillis()),
+                new TokenBuckets<>(config.getIngressRateLimitGuildBucketSize(),
+                        config.getIngressRateLimitGuildRefillMillis()));
+        tokenize = new TokenizeStage(config.getInterpreterCommandPrefix(), config.getInterpreterBatchMaxCommands());
+        dispatch = new DispatchStage(dispatcher, rootCommand, metrics, new TransactionTemplate(transactionManager),
+                config.getDiscordDispatchBusyMessage());
+        stages = Collections.unmodifiableList(Arrays.asList(prefixGate, rateLimit, tokenize, dispatch));
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gmfriend-ingress-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(rateLimit::sweep, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public <E> boolean accept(Transport<E> transport, E event) {
+        if (!accepting) {
+            return false;
+        }
+
+        String rawCommand = transport.getContent(event);
+        if (!prefixGate.test(rawCommand)) {
+            return false;
+        }
+
+        String owner = transport.getOwner(event);
+        String guild = transport.getGuild(event);
+        if (!rateLimit.test(owner, guild)) {
+            return false;
+        }
+
+        List<String> commands = tokenize.split(rawCommand);
+        if (commands.size() == 1) {
+            return dispatch.dispatch(transport.getChannel(event), tokenize.tokenize(rawCommand, owner, guild));
+        }
+
+        // a batch costs one rate limit token, but is capped in size
+        List<CommandContext> batch = tokenize.tokenize(commands, owner, guild);
+        if (batch == null) {
+            transport.getChannel(event).reply(String.format("That's %d commands in one message; the most I'll take " +
+                    "at once is %d.", commands.size(), tokenize.getMaxBatch()));
+            return false;
+        }
+
+        return dispatch.dispatchBatch(transport.getChannel(event), batch);
+    }
+
+    /**
+     * runs a command synchronously on the calling thread, bypassing the gate, the rate limits and the dispatcher.
+     */
+    public CommandContext interpret(String rawCommand, String owner) {
+        return dispatch.execute(tokenize.tokenize(rawCommand, owner, null));
+    }
+
+    public List<IngressStage> getStages() {
+        return stages;
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * first step of shutdown: from here on every event is ignored.
+     */
+    public void stopAccepting() {
+        accepting = false;
+    }
+
+    public RateLimitStage getRateLimit() {
+        return rateLimit;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package net.dalamori.GMFriend.transport;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * one step of the {@link IngressPipeline}; keeps a running count of messages passed on vs. dropped.
+ */
+public abstract class IngressStage {
+
+    private final String name;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    protected IngressStage(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    protected boolean accept() {
+        accepted.increment();
+        return true;
+    }
+
+    protected boolean drop() {
+        dropped.increment();
+        return false;
+    }
+}
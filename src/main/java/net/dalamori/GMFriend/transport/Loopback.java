@@ -0,0 +1,31 @@
+package net.dalamori.GMFriend.transport;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Guard for the HTTP endpoints that are only meant for the machine the bot runs on.
+ */
+public final class Loopback {
+
+    private Loopback() {
+    }
+
+    public static void require(HttpServletRequest request) {
+        if (!isLoopback(request.getRemoteAddr())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "only local callers may use this endpoint");
+        }
+    }
+
+    public static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.dalamori.GMFriend.transport;
+
+/**
+ * First ingress stage: rejects anything that doesn't start with the command prefix.
+ *
+ * Nearly all traffic the bot sees is ordinary chatter, so this check works on the raw content directly and
+ * doesn't allocate; nothing is tokenized or built for a message until it passes here.
+ */
+public class PrefixGateStage extends IngressStage {
+
+    private final String prefix;
+
+    public PrefixGateStage(String prefix) {
+        super("prefix");
+        this.prefix = prefix;
+    }
+
+    public boolean test(String content) {
+        // the command map lower-cases tokens before lookup, so the prefix match is case-insensitive too.
+        if (content != null && content.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return accept();
+        }
+
+        return drop();
+    }
+}
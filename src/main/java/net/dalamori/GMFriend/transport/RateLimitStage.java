@@ -0,0 +1,60 @@
+package net.dalamori.GMFriend.transport;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Second ingress stage: token-bucket limits per user and per guild, so one noisy user (or server) can't turn
+ * into an unbounded stream of database work. Throttled commands are dropped without a reply, since answering a
+ * spammer is more traffic of its own.
+ */
+@Slf4j
+public class RateLimitStage extends IngressStage {
+
+    private final TokenBuckets<String> users;
+    private final TokenBuckets<String> guilds;
+
+    private final LongAdder userThrottled = new LongAdder();
+    private final LongAdder guildThrottled = new LongAdder();
+
+    public RateLimitStage(TokenBuckets<String> users, TokenBuckets<String> guilds) {
+        super("rateLimit");
+        this.users = users;
+        this.guilds = guilds;
+    }
+
+    /**
+     * @param guild null for messages from outside a guild (DMs, the HTTP transport), which only count per user
+     */
+    public boolean test(String owner, String guild) {
+        if (!users.tryTake(owner)) {
+            log.debug("RateLimitStage::test throttled user {}", owner);
+            userThrottled.increment();
+            return drop();
+        }
+
+        if (guild != null && !guilds.tryTake(guild)) {
+            // the message is never processed, so it mustn't count against the user either
+            users.giveBack(owner);
+            log.debug("RateLimitStage::test throttled guild {} (user {})", guild, owner);
+            guildThrottled.increment();
+            return drop();
+        }
+
+        return accept();
+    }
+
+    public void sweep() {
+        users.sweep();
+        guilds.sweep();
+    }
+
+    public long getUserThrottled() {
+        return userThrottled.sum();
+    }
+
+    public long getGuildThrottled() {
+        return guildThrottled.sum();
+    }
+}
@@ -0,0 +1,27 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.interpreter.CommandContext;
+
+/**
+ * Where a command's response goes.
+ */
+public interface ReplyChannel {
+
+    /**
+     * commands sharing a channel id run one at a time, in the order they were accepted.
+     */
+    long getId();
+
+    /**
+     * called once per dispatched command; response is null when the command had nothing to say.
+     */
+    void reply(String response);
+
+    /**
+     * called with the finished command; transports that act on more than the response text (see
+     * {@link net.dalamori.GMFriend.interpreter.BoardAction}) override this.
+     */
+    default void reply(CommandContext context) {
+        reply(context.getResponse());
+    }
+}
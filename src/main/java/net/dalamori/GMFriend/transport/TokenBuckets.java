@@ -0,0 +1,100 @@
+package net.dalamori.GMFriend.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket per key, without locks.
+ *
+ * Each bucket is a single long: the time at which it will be full again. Taking a token pushes that time one
+ * refill interval further out, and the bucket is empty once it is more than a whole bucket's worth of intervals
+ * ahead of now. That makes every take one compare-and-set, and a full bucket indistinguishable from a missing
+ * one, so {@link #sweep()} simply drops buckets that have refilled.
+ */
+public class TokenBuckets<K> {
+
+    private final Map<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long refillNanos;
+    private final long capacityNanos;
+
+    /**
+     * @param size tokens a bucket holds; 0 or less turns the limit off
+     * @param refillMillis time to regain one token
+     */
+    public TokenBuckets(int size, long refillMillis) {
+        this.refillNanos = TimeUnit.MILLISECONDS.toNanos(refillMillis);
+        this.capacityNanos = size > 0 ? refillNanos * size : 0;
+    }
+
+    public boolean isEnabled() {
+        return capacityNanos > 0;
+    }
+
+    /**
+     * @return true if key had a token to spend
+     */
+    public boolean tryTake(K key) {
+        if (!isEnabled()) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + refillNanos;
+
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * returns a token taken for something that then didn't happen; a bucket that has refilled meanwhile stays full.
+     */
+    public void giveBack(K key) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            if (current - now <= 0) {
+                return;
+            }
+
+            long next = current - refillNanos;
+            if (fullAt.compareAndSet(current, next - now < 0 ? now : next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * forgets buckets that have refilled completely.
+     *
+     * A take racing the removal may land on the dropped bucket; the key just starts over with a fresh, full
+     * bucket, which is what it would have had a moment later anyway.
+     */
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
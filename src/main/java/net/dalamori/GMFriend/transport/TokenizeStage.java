@@ -0,0 +1,103 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.TokenView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ingress stage that splits a message into commands, each command into tokens (see {@link TokenView}), and
+ * builds the contexts the interpreter runs against.
+ *
+ * A message holds a batch of commands when a newline or ';' is followed (after any blanks) by the command
+ * prefix, e.g. ";;mob dmg goblin 3; ;;turn next". Newlines and semicolons anywhere else stay part of the command,
+ * so multi-line note text still works.
+ */
+public class TokenizeStage extends IngressStage {
+
+    private final String prefix;
+    private final int maxBatch;
+
+    public TokenizeStage(String prefix, int maxBatch) {
+        super("tokenize");
+        this.prefix = prefix;
+        this.maxBatch = maxBatch;
+    }
+
+    public CommandContext tokenize(String rawCommand, String owner, String guild) {
+        accept();
+        return makeContext(rawCommand, owner, guild);
+    }
+
+    /**
+     * @return one context per command, or null if the batch is over the size limit
+     */
+    public List<CommandContext> tokenize(List<String> commands, String owner, String guild) {
+        if (commands.size() > maxBatch) {
+            drop();
+            return null;
+        }
+
+        List<CommandContext> contexts = new ArrayList<>(commands.size());
+        for (String command : commands) {
+            contexts.add(makeContext(command, owner, guild));
+        }
+
+        accept();
+        return contexts;
+    }
+
+    public List<String> split(String rawCommand) {
+        List<String> commands = null;
+        int from = 0;
+
+        for (int i = 0; i < rawCommand.length(); i++) {
+            char c = rawCommand.charAt(i);
+            if ((c == '\n' || c == ';') && prefixFollows(rawCommand, i + 1)) {
+                if (commands == null) {
+                    commands = new ArrayList<>();
+                }
+                addCommand(commands, rawCommand.substring(from, i));
+                from = i + 1;
+            }
+        }
+
+        if (commands == null) {
+            return Collections.singletonList(rawCommand);
+        }
+
+        addCommand(commands, rawCommand.substring(from));
+        return commands;
+    }
+
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    private boolean prefixFollows(String rawCommand, int position) {
+        while (position < rawCommand.length() && Character.isWhitespace(rawCommand.charAt(position))) {
+            position++;
+        }
+
+        return rawCommand.regionMatches(true, position, prefix, 0, prefix.length());
+    }
+
+    private static void addCommand(List<String> commands, String command) {
+        if (!command.trim().isEmpty()) {
+            commands.add(command);
+        }
+    }
+
+    private static CommandContext makeContext(String rawCommand, String owner, String guild) {
+        CommandContext context = new CommandContext();
+
+        context.setOwner(owner);
+        context.setGuild(guild);
+        context.setCommand(TokenView.parse(rawCommand));
+        context.setIndex(0);
+
+        return context;
+    }
+}
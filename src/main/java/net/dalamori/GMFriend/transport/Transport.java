@@ -0,0 +1,23 @@
+package net.dalamori.GMFriend.transport;
+
+/**
+ * Adapts one transport's inbound events (a Discord message, an HTTP request, ...) to the {@link IngressPipeline}.
+ *
+ * The pipeline reads the content first, and only asks for the owner and reply channel once the message has
+ * passed the prefix gate; implementations should leave any per-message work to those calls.
+ */
+public interface Transport<E> {
+
+    String getName();
+
+    String getContent(E event);
+
+    String getOwner(E event);
+
+    /**
+     * @return the guild (server) the event came from, or null if it isn't from one
+     */
+    String getGuild(E event);
+
+    ReplyChannel getChannel(E event);
+}
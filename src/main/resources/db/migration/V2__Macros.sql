@@ -0,0 +1,10 @@
+CREATE TABLE `macros` (
+    `id` INTEGER(20) NOT NULL AUTO_INCREMENT,
+    `guild` VARCHAR(64) NOT NULL DEFAULT "",
+    `name` VARCHAR(64) NOT NULL,
+    `body` VARCHAR(1850) NOT NULL,
+    `owner` VARCHAR(255) NOT NULL,
+    PRIMARY KEY `primary` (`id`),
+    UNIQUE KEY `guild_name_unique` (`guild`, `name`),
+    INDEX `owner_idx` (`owner`)
+);
@@ -0,0 +1,4 @@
+ALTER TABLE `creatures` ADD COLUMN `version` BIGINT(20) NOT NULL DEFAULT 0;
+ALTER TABLE `locations` ADD COLUMN `version` BIGINT(20) NOT NULL DEFAULT 0;
+ALTER TABLE `mobiles` ADD COLUMN `version` BIGINT(20) NOT NULL DEFAULT 0;
+ALTER TABLE `notes` ADD COLUMN `version` BIGINT(20) NOT NULL DEFAULT 0;
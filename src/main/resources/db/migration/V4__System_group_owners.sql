@@ -0,0 +1,26 @@
+ALTER TABLE `group_lists` ADD COLUMN `owner_kind` VARCHAR(64) NULL;
+ALTER TABLE `group_lists` ADD COLUMN `owner_id` BIGINT(20) NULL;
+ALTER TABLE `group_lists` ADD UNIQUE KEY `system_owner_unique` (`owner_kind`, `owner_id`, `content_type`);
+
+-- existing system groups, under the default groups.system.* names; groups under other names are adopted by
+-- GroupServiceImpl the first time they're resolved
+UPDATE `group_lists` SET `owner_kind` = 'GLOBAL', `owner_id` = 0
+    WHERE `owner` = '__Internal__' AND `content_type` = 'NOTE' AND `name` = '__SYS__Global Notes';
+
+UPDATE `group_lists` SET `owner_kind` = 'GLOBAL', `owner_id` = 0
+    WHERE `owner` = '__Internal__' AND `content_type` = 'PROPERTY' AND `name` = '__SYS__Global Variables';
+
+UPDATE `group_lists`
+    SET `owner_kind` = 'LOCATION', `owner_id` = CAST(SUBSTRING(`name`, 23) AS UNSIGNED)
+    WHERE `owner` = '__Internal__' AND `content_type` = 'NOTE'
+        AND LEFT(`name`, 22) = '__SYS__Notes for Loc #' AND SUBSTRING(`name`, 23) REGEXP '^[0-9]+$';
+
+UPDATE `group_lists`
+    SET `owner_kind` = 'CREATURE', `owner_id` = CAST(SUBSTRING(`name`, 33) AS UNSIGNED)
+    WHERE `owner` = '__Internal__' AND `content_type` = 'PROPERTY'
+        AND LEFT(`name`, 32) = '__SYS__Properties for Creature #' AND SUBSTRING(`name`, 33) REGEXP '^[0-9]+$';
+
+UPDATE `group_lists`
+    SET `owner_kind` = 'MOBILE', `owner_id` = CAST(SUBSTRING(`name`, 31) AS UNSIGNED)
+    WHERE `owner` = '__Internal__' AND `content_type` = 'PROPERTY'
+        AND LEFT(`name`, 30) = '__SYS__Properties for Mobile #' AND SUBSTRING(`name`, 31) REGEXP '^[0-9]+$';
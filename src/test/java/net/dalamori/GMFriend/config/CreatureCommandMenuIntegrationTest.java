@@ -3,6 +3,7 @@ package net.dalamori.GMFriend.config;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
@@ -10,6 +11,7 @@ import net.dalamori.GMFriend.repository.CreatureDao;
 import net.dalamori.GMFriend.repository.GroupDao;
 import net.dalamori.GMFriend.repository.PropertyDao;
 import net.dalamori.GMFriend.services.CreatureService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.testing.IntegrationTest;
 import net.dalamori.GMFriend.testing.TestDataFactory;
 import org.junit.After;
@@ -43,11 +45,20 @@ public class CreatureCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
+    @Autowired
+    public NameIndex nameIndex;
+
     @Autowired
     public PropertyDao propertyDao;
 
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions or the names
+        responseCache.clear();
+        nameIndex.clear();
         groupDao.deleteAll();
         propertyDao.deleteAll();
         creatureDao.deleteAll();
@@ -3,6 +3,7 @@ package net.dalamori.GMFriend.config;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Location;
 import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.models.Property;
@@ -11,6 +12,7 @@ import net.dalamori.GMFriend.repository.LocationDao;
 import net.dalamori.GMFriend.repository.NoteDao;
 import net.dalamori.GMFriend.repository.PropertyDao;
 import net.dalamori.GMFriend.services.LocationService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import net.dalamori.GMFriend.testing.IntegrationTest;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -57,6 +59,12 @@ public class LocationCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
+    @Autowired
+    public NameIndex nameIndex;
+
     @Before
     public void setup() {
         Note noteA = TestDataFactory.makeNote("Note_A");
@@ -68,6 +76,9 @@ public class LocationCommandMenuIntegrationTest {
 
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions or the names
+        responseCache.clear();
+        nameIndex.clear();
         groupDao.deleteAll();
         propertyDao.deleteAll();
         noteDao.deleteAll();
@@ -0,0 +1,60 @@
+package net.dalamori.GMFriend.config;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.models.Macro;
+import net.dalamori.GMFriend.repository.MacroDao;
+import net.dalamori.GMFriend.services.MacroService;
+import net.dalamori.GMFriend.testing.IntegrationTest;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Category(IntegrationTest.class)
+public class MacroCommandMenuIntegrationTest {
+
+    @Autowired
+    public MacroDao macroDao;
+
+    @Autowired
+    public MacroService macroService;
+
+    @Autowired
+    public AbstractCommand rootCommand;
+
+    @After
+    public void teardown() {
+        macroDao.deleteAll();
+    }
+
+    @Test
+    public void macroMenu_shouldOnlyLetTheOwnerRedefineOrDelete() throws DmFriendGeneralServiceException {
+        // given: a macro defined by one user
+        rootCommand.handle(TestDataFactory.makeContextFromCommandLine(";; macro def round = turn next"));
+
+        // when: another user tries to redefine it, then delete it
+        CommandContext redefine = TestDataFactory.makeContextFromCommandLine(";; macro def round = mob list");
+        redefine.setOwner("someone_else");
+        rootCommand.handle(redefine);
+
+        CommandContext delete = TestDataFactory.makeContextFromCommandLine(";; macro delete round");
+        delete.setOwner("someone_else");
+        rootCommand.handle(delete);
+
+        // then: I expect both refused, and the macro untouched
+        Assert.assertTrue("redefine refused", redefine.getResponse().contains("only they can redefine it"));
+        Assert.assertTrue("delete refused", delete.getResponse().contains("only they can delete it"));
+
+        Macro macro = macroService.read("", "round");
+        Assert.assertEquals("body", "turn next", macro.getBody());
+    }
+}
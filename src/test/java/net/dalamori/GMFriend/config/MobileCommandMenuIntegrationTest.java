@@ -1,8 +1,10 @@
 package net.dalamori.GMFriend.config;
 
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Creature;
 import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Property;
@@ -13,6 +15,7 @@ import net.dalamori.GMFriend.repository.MobileDao;
 import net.dalamori.GMFriend.repository.PropertyDao;
 import net.dalamori.GMFriend.services.CreatureService;
 import net.dalamori.GMFriend.services.MobileService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.testing.IntegrationTest;
 import net.dalamori.GMFriend.testing.TestDataFactory;
 import org.junit.After;
@@ -54,6 +57,12 @@ public class MobileCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
+    @Autowired
+    public NameIndex nameIndex;
+
     @Before
     public void setup() throws DmFriendGeneralServiceException {
         // given: a creature to copy
@@ -74,6 +83,9 @@ public class MobileCommandMenuIntegrationTest {
 
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions or the names
+        responseCache.clear();
+        nameIndex.clear();
         groupDao.deleteAll();
         propertyDao.deleteAll();
         mobileDao.deleteAll();
@@ -139,4 +151,33 @@ public class MobileCommandMenuIntegrationTest {
                 gary.getPropertyMap().get("punch").getValue());
 
     }
+
+    @Test
+    public void mobileMenu_list_shouldAnswerPagesPastTheEnd() throws DmFriendGeneralServiceException {
+        // given: a mobile to list
+        rootCommand.handle(TestDataFactory.makeContextFromCommandLine(";; mobile new orc"));
+
+        // when: I ask for the highest page there is
+        CommandContext context = TestDataFactory.makeContextFromCommandLine(";; mobile list page " + Integer.MAX_VALUE);
+        rootCommand.handle(context);
+
+        // then: I expect an empty page, not an error
+        Assert.assertNotNull("response", context.getResponse());
+        Assert.assertFalse("no rows", context.getResponse().contains("orc"));
+    }
+
+    @Test
+    public void mobileMenu_list_shouldGiveTheUsageForNumbersTooBig() throws DmFriendGeneralServiceException {
+        for (String cursor : Arrays.asList("page 99999999999", "after 99999999999999999999")) {
+            // when: I ask for a page or an id past what a number holds
+            CommandContext context = TestDataFactory.makeContextFromCommandLine(";; mobile list " + cursor);
+            try {
+                rootCommand.handle(context);
+                Assert.fail("expected the usage for " + cursor);
+            } catch (InterpreterException ex) {
+                // then: I expect the usage back
+                Assert.assertTrue(cursor, ex.getMessage().contains("usage: [page N] or [after ID]"));
+            }
+        }
+    }
 }
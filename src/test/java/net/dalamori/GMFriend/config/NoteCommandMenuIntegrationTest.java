@@ -3,9 +3,11 @@ package net.dalamori.GMFriend.config;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.repository.GroupDao;
 import net.dalamori.GMFriend.repository.NoteDao;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.NoteService;
 import net.dalamori.GMFriend.testing.IntegrationTest;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -39,6 +41,12 @@ public class NoteCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
+    @Autowired
+    public NameIndex nameIndex;
+
     private static final String PARAGRAPH_1 = "Lorem ipsum dolor sit amet\n";
     private static final String PARAGRAPH_2 = "The quick brown fox jumped over the lazy dog\n";
     private static final String EXPECTED = PARAGRAPH_1.concat(PARAGRAPH_2);
@@ -46,6 +54,9 @@ public class NoteCommandMenuIntegrationTest {
 
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions or the names
+        responseCache.clear();
+        nameIndex.clear();
         groupDao.deleteAll();
         noteDao.deleteAll();
     }
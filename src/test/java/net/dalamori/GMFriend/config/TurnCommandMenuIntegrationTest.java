@@ -2,7 +2,9 @@ package net.dalamori.GMFriend.config;
 
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.BoardAction;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Mobile;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.repository.CreatureDao;
@@ -11,6 +13,7 @@ import net.dalamori.GMFriend.repository.MobileDao;
 import net.dalamori.GMFriend.repository.PropertyDao;
 import net.dalamori.GMFriend.services.CreatureService;
 import net.dalamori.GMFriend.services.MobileService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import net.dalamori.GMFriend.testing.IntegrationTest;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -54,6 +57,12 @@ public class TurnCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
+    @Autowired
+    public NameIndex nameIndex;
+
     @Before
     public void setup() throws DmFriendGeneralServiceException {
 
@@ -78,6 +87,9 @@ public class TurnCommandMenuIntegrationTest {
 
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions or the names
+        responseCache.clear();
+        nameIndex.clear();
         groupDao.deleteAll();
         propertyDao.deleteAll();
         mobileDao.deleteAll();
@@ -106,4 +118,33 @@ public class TurnCommandMenuIntegrationTest {
         Assert.assertEquals("$ACTIVE points to curly", "14|Curly", active.getValue());
     }
 
+    @Test
+    public void turnMenu_shouldStepBackWithPrev() throws DmFriendGeneralServiceException {
+        // given: a set of commands which walk forward two turns, then back one
+        List<String> commands = Arrays.asList((
+                ";; turn next\n" + // larry
+                ";; turn next\n" + // curly
+                ";; turn prev\n" // larry
+        ).split("\n"));
+
+        // when: I run the commands:
+        for (String commandLine : commands) {
+            CommandContext context = TestDataFactory.makeContextFromCommandLine(commandLine);
+            rootCommand.handle(context);
+        }
+
+        // then: I expect to wind up back on larry
+        Property active = propertyService.getGlobalProperties().get(config.getMobileActiveGlobalName());
+        Assert.assertEquals("$ACTIVE points to larry", "7|Larry", active.getValue());
+
+        // and when: I step back past the first mobile
+        CommandContext context = TestDataFactory.makeContextFromCommandLine(";; turn prev");
+        rootCommand.handle(context);
+
+        // then: the turn should be cleared
+        Assert.assertFalse("$ACTIVE is cleared",
+                propertyService.getGlobalProperties().containsKey(config.getMobileActiveGlobalName()));
+        Assert.assertEquals("board is redrawn in place of the response", BoardAction.VIEW,
+                BoardAction.of(context));
+    }
 }
@@ -3,6 +3,7 @@ package net.dalamori.GMFriend.config;
 import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
 import net.dalamori.GMFriend.interpreter.AbstractCommand;
 import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.interpreter.ResponseCache;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.repository.PropertyDao;
 import net.dalamori.GMFriend.services.PropertyService;
@@ -35,8 +36,13 @@ public class VarCommandMenuIntegrationTest {
     @Autowired
     public AbstractCommand rootCommand;
 
+    @Autowired
+    public ResponseCache responseCache;
+
     @After
     public void teardown() {
+        // the fixtures are written straight through the DAOs, which don't move the data versions
+        responseCache.clear();
         propertyDao.deleteAll();
     }
 
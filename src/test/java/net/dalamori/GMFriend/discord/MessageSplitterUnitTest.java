@@ -0,0 +1,64 @@
+package net.dalamori.GMFriend.discord;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+
+@Category(UnitTest.class)
+public class MessageSplitterUnitTest {
+
+    private MessageSplitter splitter = new MessageSplitter(20);
+
+    @Test
+    public void messageSplitter_split_shouldPassShortTextThrough() {
+        // when: I split something shorter than the limit
+        List<String> result = splitter.split("short\n");
+
+        // then: I should get it back untouched
+        Assert.assertEquals("one chunk", 1, result.size());
+        Assert.assertEquals("same text", "short\n", result.get(0));
+    }
+
+    @Test
+    public void messageSplitter_split_shouldCutAtLineBoundaries() {
+        // given: three 9-char lines, too long for one chunk
+        String text = "aaaaaaaa\nbbbbbbbb\ncccccccc\n";
+
+        // when: I split it
+        List<String> result = splitter.split(text);
+
+        // then: no line should be cut in half, and nothing should be lost
+        Assert.assertEquals("two chunks", 2, result.size());
+        Assert.assertEquals("first two lines", "aaaaaaaa\nbbbbbbbb\n", result.get(0));
+        Assert.assertEquals("last line", "cccccccc\n", result.get(1));
+        Assert.assertEquals("lossless", text, String.join("", result));
+    }
+
+    @Test
+    public void messageSplitter_split_shouldFallBackToSpacesThenHardCuts() {
+        // given: a single line with a word break, then a word longer than the limit
+        String text = "lorem ipsum dolor sit " + "xxxxxxxxxxxxxxxxxxxxxxxxx";
+
+        // when: I split it
+        List<String> result = splitter.split(text);
+
+        // then: every chunk should fit, and nothing should be lost
+        for (String chunk : result) {
+            Assert.assertTrue("chunk fits: " + chunk, chunk.length() <= 20);
+        }
+        Assert.assertEquals("breaks at the last space", "lorem ipsum dolor ", result.get(0));
+        Assert.assertEquals("lossless", text, String.join("", result));
+    }
+
+    @Test
+    public void messageSplitter_split_shouldSkipBlankChunks() {
+        // when: I split output padded with trailing whitespace
+        List<String> result = splitter.split("aaaaaaaaaaaaaaaaaaa\n\n\r");
+
+        // then: the whitespace-only tail shouldn't become its own message
+        Assert.assertEquals("one chunk", 1, result.size());
+    }
+}
@@ -0,0 +1,129 @@
+package net.dalamori.GMFriend.discord;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Category(UnitTest.class)
+public class OutboundSchedulerUnitTest {
+
+    private OutboundScheduler scheduler;
+    private List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    private List<Long> sentAt = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void teardown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void outboundScheduler_enqueue_shouldSplitLongResponses() throws Exception {
+        // given: a response too long for one Discord message
+        scheduler = new OutboundScheduler(10, 20000, 5, 10);
+        String line = StringUtils.repeat('a', 1500) + "\n";
+        String text = line + line;
+
+        // when: I queue it and wait for the sends
+        boolean result = scheduler.enqueue(makeChannel(), text);
+        Assert.assertTrue("drained", scheduler.flush(5, TimeUnit.SECONDS));
+
+        // then: it should go out as two messages, in order, with nothing lost
+        Assert.assertTrue("accepted", result);
+        Assert.assertEquals("two messages", 2, sent.size());
+        for (String message : sent) {
+            Assert.assertTrue("fits", message.length() <= OutboundScheduler.MAX_DISCORD_MESSAGE_LENGTH);
+        }
+        Assert.assertEquals("lossless", text, String.join("", sent));
+    }
+
+    @Test
+    public void outboundScheduler_enqueue_shouldMergeResponsesInTheWindow() throws Exception {
+        // given: a merge window wide enough to catch both responses
+        scheduler = new OutboundScheduler(200, 20000, 5, 10);
+        MessageChannel channel = makeChannel();
+
+        // when: I queue two responses back to back
+        scheduler.enqueue(channel, "one");
+        scheduler.enqueue(channel, "two");
+        Assert.assertTrue("drained", scheduler.flush(5, TimeUnit.SECONDS));
+
+        // then: they should share one message
+        Assert.assertEquals("one message", 1, sent.size());
+        Assert.assertEquals("merged text", "one\ntwo", sent.get(0));
+        Assert.assertEquals("saved count", 1, scheduler.getMessagesSavedByMerging());
+    }
+
+    @Test
+    public void outboundScheduler_enqueue_shouldWaitForTokensBetweenSends() throws Exception {
+        // given: a bucket holding one send, refilled every 200ms
+        scheduler = new OutboundScheduler(10, 20000, 1, 200);
+        String line = StringUtils.repeat('a', 1500) + "\n";
+
+        // when: I queue a response needing two messages
+        scheduler.enqueue(makeChannel(), line + line);
+        Assert.assertTrue("drained", scheduler.flush(5, TimeUnit.SECONDS));
+
+        // then: the second send should wait for the bucket to refill
+        Assert.assertEquals("two messages", 2, sent.size());
+        long gap = TimeUnit.NANOSECONDS.toMillis(sentAt.get(1) - sentAt.get(0));
+        Assert.assertTrue("waited for a token: " + gap + "ms", gap >= 150);
+    }
+
+    @Test
+    public void outboundScheduler_enqueue_shouldLeaveOneNoticeWhenTheBacklogIsFull() throws Exception {
+        // given: a backlog with room for 50 chars, and a merge window catching everything
+        scheduler = new OutboundScheduler(200, 50, 5, 10);
+        MessageChannel channel = makeChannel();
+        String first = StringUtils.repeat('a', 40);
+
+        // when: I queue more than fits
+        boolean fits = scheduler.enqueue(channel, first);
+        boolean overflow = scheduler.enqueue(channel, StringUtils.repeat('b', 30));
+        boolean again = scheduler.enqueue(channel, StringUtils.repeat('c', 30));
+        Assert.assertTrue("drained", scheduler.flush(5, TimeUnit.SECONDS));
+
+        // then: the overflow should be refused, but leave a single notice behind
+        Assert.assertTrue("first accepted", fits);
+        Assert.assertFalse("overflow refused", overflow);
+        Assert.assertFalse("second overflow refused", again);
+        Assert.assertEquals("refused count", 2, scheduler.getRefused());
+        Assert.assertEquals("one message", 1, sent.size());
+        Assert.assertEquals("notice follows the output", first + "\n" + OutboundScheduler.DROPPED_NOTICE, sent.get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageChannel makeChannel() {
+        MessageChannel channel = Mockito.mock(MessageChannel.class);
+        Mockito.when(channel.getIdLong()).thenReturn(1L);
+        Mockito.when(channel.sendMessage(Mockito.any(CharSequence.class))).thenAnswer(invocation -> {
+            String text = invocation.getArgument(0).toString();
+            MessageAction action = Mockito.mock(MessageAction.class);
+
+            Mockito.doAnswer(queued -> {
+                sentAt.add(System.nanoTime());
+                sent.add(text);
+                ((Consumer<Message>) queued.getArgument(0)).accept(null);
+                return null;
+            }).when(action).queue(Mockito.any(), Mockito.any());
+
+            return action;
+        });
+
+        return channel;
+    }
+}
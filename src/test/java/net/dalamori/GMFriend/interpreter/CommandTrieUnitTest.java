@@ -0,0 +1,84 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+
+@Category(UnitTest.class)
+public class CommandTrieUnitTest {
+
+    private CommandTrie trie;
+
+    @Before
+    public void setup() {
+        // given: a two level menu with an alias, a prefixed root, and defaults at each level
+        InfoCommand damage = new InfoCommand();
+        damage.setInfo("damage");
+        InfoCommand mobileHelp = new InfoCommand();
+        mobileHelp.setInfo("mobile help");
+        InfoCommand nothing = new InfoCommand();
+        nothing.setInfo("nothing");
+
+        MapCommand mobile = new MapCommand();
+        mobile.getMap().put("damage", damage);
+        mobile.alias("dmg", "damage");
+        mobile.setDefaultAction(mobileHelp);
+
+        MapCommand unprefixed = new MapCommand();
+        unprefixed.getMap().put("mobile", mobile);
+        unprefixed.alias("mob", "mobile");
+        unprefixed.setDefaultAction(nothing);
+
+        // built the same way InterpreterConfig builds it: every unprefixed key, aliases included, gets a prefixed copy
+        MapCommand root = new MapCommand();
+        root.getMap().put(";;mobile", mobile);
+        root.getLabels().put(";;mobile", "mobile");
+        root.getMap().put(";;mob", mobile);
+        root.getLabels().put(";;mob", "mobile");
+        root.getMap().put(";;", unprefixed);
+        root.getLabels().put(";;", "");
+        root.setDefaultAction(nothing);
+
+        trie = CommandTrie.compile(root);
+    }
+
+    @Test
+    public void commandTrie_handle_shouldMatchMapCommandIgnoringCase() throws DmFriendGeneralServiceException {
+        // when: I run the same command spelled three ways
+        CommandContext attached = run(";;MOBILE", "Dmg", "goblin", "3");
+        CommandContext spaced = run(";;", "mob", "damage", "goblin", "3");
+        CommandContext aliased = run(";;", "MoB", "DMG");
+
+        // then: all three should reach the same command, under the same label
+        for (CommandContext context : Arrays.asList(attached, spaced, aliased)) {
+            Assert.assertEquals("response", "damage", context.getResponse());
+            Assert.assertEquals("label", "mobile.damage", context.pathLabel());
+        }
+        Assert.assertEquals("index past the path", 2, attached.getIndex());
+    }
+
+    @Test
+    public void commandTrie_handle_shouldFallBackToDefaults() throws DmFriendGeneralServiceException {
+        // when: I run commands that stop partway down the tree
+        CommandContext menu = run(";;mob", "fireball");
+        CommandContext unknown = run(";;fireball");
+
+        // then: each should get the default of the menu it stopped in
+        Assert.assertEquals("menu default", "mobile help", menu.getResponse());
+        Assert.assertEquals("menu label", "mobile", menu.pathLabel());
+        Assert.assertEquals("root default", "nothing", unknown.getResponse());
+        Assert.assertEquals("root label", "root", unknown.pathLabel());
+    }
+
+    private CommandContext run(String... command) throws DmFriendGeneralServiceException {
+        CommandContext context = new CommandContext();
+        context.setCommand(Arrays.asList(command));
+        trie.handle(context);
+        return context;
+    }
+}
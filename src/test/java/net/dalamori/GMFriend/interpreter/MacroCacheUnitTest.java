@@ -0,0 +1,121 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Category(UnitTest.class)
+public class MacroCacheUnitTest {
+
+    private CommandTrie trie;
+
+    @Before
+    public void setup() {
+        InfoCommand pong = new InfoCommand();
+        pong.setInfo("pong");
+
+        MapCommand root = new MapCommand();
+        root.getMap().put(";;ping", pong);
+        root.setDefaultAction(pong);
+
+        trie = CommandTrie.compile(root);
+    }
+
+    @Test
+    public void macroCache_put_shouldEvictLeastRecentlyUsedPerGuild() throws DmFriendGeneralServiceException {
+        // given: a cache holding two macros per guild
+        MacroCache cache = new MacroCache(2);
+        cache.put("guild", "a", plan("a"));
+        cache.put("guild", "b", plan("b"));
+        cache.put("other", "a", plan("a"));
+
+        // when: I use "a", then add a third macro to the same guild
+        cache.get("guild", "a");
+        cache.put("guild", "c", plan("c"));
+
+        // then: "b" should be gone, and the other guild untouched
+        Assert.assertNotNull("a", cache.get("guild", "a"));
+        Assert.assertNull("b", cache.get("guild", "b"));
+        Assert.assertNotNull("c", cache.get("guild", "c"));
+        Assert.assertNotNull("other guild", cache.get("other", "a"));
+    }
+
+    @Test
+    public void macroCache_putIfCurrent_shouldNotCacheStaleLoads() throws DmFriendGeneralServiceException {
+        // given: a load that began before the macro was redefined
+        MacroCache cache = new MacroCache(2);
+        long stamp = cache.stamp("guild");
+        MacroPlan redefined = plan("a");
+        cache.put("guild", "a", redefined);
+        cache.invalidate("guild", "a");
+
+        // when: the load finishes
+        MacroPlan stale = plan("a");
+        MacroPlan result = cache.putIfCurrent("guild", "a", stale, stamp);
+
+        // then: it may run, but shouldn't be cached
+        Assert.assertSame("result", stale, result);
+        Assert.assertNull("cached", cache.get("guild", "a"));
+
+        // and: a load that raced nothing should be
+        MacroPlan fresh = plan("a");
+        cache.putIfCurrent("guild", "a", fresh, cache.stamp("guild"));
+        Assert.assertSame("cached", fresh, cache.get("guild", "a"));
+    }
+
+    @Test
+    public void macroCache_put_shouldDropPlansFromRolledBackTransactions() throws DmFriendGeneralServiceException {
+        // given: a cached plan, redefined inside a transaction that then loads it again
+        MacroCache cache = new MacroCache(2);
+        MacroPlan committed = plan("a");
+        cache.put("guild", "a", committed);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put("guild", "a", plan("a"));
+            Assert.assertNull("dropped at once", cache.get("guild", "a"));
+            cache.putIfCurrent("guild", "a", plan("a"), cache.stamp("guild"));
+
+            // when: the transaction rolls back
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then: nothing from inside it should stay cached
+        Assert.assertNull("after rollback", cache.get("guild", "a"));
+    }
+
+    @Test
+    public void macroCache_put_shouldCacheThePlanOnceTheTransactionCommits() throws DmFriendGeneralServiceException {
+        // given: a macro defined inside a transaction
+        MacroCache cache = new MacroCache(2);
+        MacroPlan defined = plan("a");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put("guild", "a", defined);
+
+            // when: the transaction commits
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then: the new plan should be cached
+        Assert.assertSame("after commit", defined, cache.get("guild", "a"));
+    }
+
+    private MacroPlan plan(String name) throws DmFriendGeneralServiceException {
+        return MacroPlan.compile(trie, ";;", name, "ping");
+    }
+}
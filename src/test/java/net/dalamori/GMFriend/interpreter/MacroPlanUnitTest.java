@@ -0,0 +1,151 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@Category(UnitTest.class)
+public class MacroPlanUnitTest {
+
+    private CommandTrie trie;
+    private MacroPlan[] running = new MacroPlan[1];
+
+    @Before
+    public void setup() {
+        // given: a mobile menu whose damage command echoes its arguments, a turn menu, and a macro menu
+        AbstractCommand damage = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) {
+                context.setResponse(String.format("%s takes %s",
+                        getCurrentCommandPart(context), getCurrentCommandPart(context, 1)));
+            }
+        };
+        InfoCommand next = new InfoCommand();
+        next.setInfo("next!");
+        InfoCommand nothing = new InfoCommand();
+        nothing.setInfo("nothing");
+
+        MapCommand mobile = new MapCommand();
+        mobile.getMap().put("damage", damage);
+        mobile.alias("dmg", "damage");
+        mobile.setDefaultAction(nothing);
+
+        MapCommand turn = new MapCommand();
+        turn.getMap().put("next", new BoardMarkCommand(next, BoardAction.VIEW));
+        turn.setDefaultAction(nothing);
+
+        MapCommand unprefixed = new MapCommand();
+        unprefixed.getMap().put("explain", nothing);
+        unprefixed.getMap().put("macro", nothing);
+        unprefixed.getMap().put("rerun", new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                // stands in for a step that reaches a macro at run time, as "explain macro ..." would
+                running[0].run(context, Collections.emptyList());
+            }
+        });
+        unprefixed.getMap().put("mobile", mobile);
+        unprefixed.getMap().put("turn", turn);
+        unprefixed.alias("mob", "mobile");
+        unprefixed.setDefaultAction(nothing);
+
+        MapCommand root = new MapCommand();
+        for (String key : unprefixed.getMap().keySet()) {
+            root.getMap().put(";;" + key, unprefixed.getMap().get(key));
+            root.getLabels().put(";;" + key, unprefixed.labelOf(key));
+        }
+        root.setDefaultAction(nothing);
+
+        trie = CommandTrie.compile(root);
+    }
+
+    @Test
+    public void macroPlan_run_shouldRunEveryStepWithArguments() throws DmFriendGeneralServiceException {
+        // given: a macro with a literal step and a step with two slots, the second before the first
+        MacroPlan plan = MacroPlan.compile(trie, ";;", "hit", "turn next; mob dmg $2 $1");
+        CommandContext context = new CommandContext();
+        context.setOwner("owner");
+
+        // when: I run it
+        plan.run(context, Arrays.asList("3", "goblin"));
+
+        // then: both responses should come back, and the board should be asked to redraw
+        Assert.assertEquals("arity", 2, plan.getArity());
+        Assert.assertEquals("steps", 2, plan.size());
+        Assert.assertEquals("response", "next!\ngoblin takes 3\n", context.getResponse());
+        Assert.assertEquals("board", BoardAction.REFRESH, BoardAction.of(context));
+    }
+
+    @Test
+    public void macroPlan_run_shouldRefuseTooFewArguments() throws DmFriendGeneralServiceException {
+        // given: a macro taking one argument
+        MacroPlan plan = MacroPlan.compile(trie, ";;", "hit", "mob dmg goblin $1");
+        CommandContext context = new CommandContext();
+
+        // when: I run it without one
+        plan.run(context, Collections.emptyList());
+
+        // then: it should say so, and run nothing
+        Assert.assertEquals("response", "macro hit takes 1 argument", context.getResponse());
+        Assert.assertNull("board", BoardAction.of(context));
+    }
+
+    @Test
+    public void macroPlan_run_shouldWalkSlotsInTheMenuPath() throws DmFriendGeneralServiceException {
+        // given: a macro whose slot picks the subcommand
+        MacroPlan plan = MacroPlan.compile(trie, ";;", "mob", "mob $1 goblin 5");
+        CommandContext context = new CommandContext();
+
+        // when: I run it
+        plan.run(context, Collections.singletonList("DMG"));
+
+        // then: the walk should finish at run time
+        Assert.assertEquals("response", "goblin takes 5\n", context.getResponse());
+    }
+
+    @Test
+    public void macroPlan_compile_shouldRejectBadSteps() {
+        // when / then: unknown commands, macros calling macros, and empty bodies should not compile
+        for (String body : Arrays.asList("trun next", "turn next; macro run other",
+                "explain macro run other", "explain explain macro run other", " ; ")) {
+            try {
+                MacroPlan.compile(trie, ";;", "bad", body);
+                Assert.fail("should not compile: " + body);
+            } catch (InterpreterException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void macroPlan_compile_shouldAllowExplainingOtherCommands() throws InterpreterException {
+        // when: I compile a macro explaining a mobile command
+        MacroPlan plan = MacroPlan.compile(trie, ";;", "why", "explain mob dmg $1 5");
+
+        // then: I expect it to compile
+        Assert.assertEquals("steps", 1, plan.size());
+    }
+
+    @Test
+    public void macroPlan_run_shouldStopAMacroReachingAMacro() throws InterpreterException {
+        // given: a macro whose step runs the macro again
+        running[0] = MacroPlan.compile(trie, ";;", "loop", "rerun");
+        CommandContext context = new CommandContext();
+        context.setOwner("steve");
+
+        // when: I run it
+        running[0].run(context, Collections.emptyList());
+
+        // then: I expect it stopped at its first step, with a message saying why
+        Assert.assertEquals("response",
+                "**Macro loop stopped at step 1: macro loop can't run from inside another macro**",
+                context.getResponse());
+    }
+}
@@ -85,4 +85,19 @@ public class MapCommandUnitTest {
         // then: I expect to get the result from the default target
         Assert.assertEquals("should return default", "defaultTarget", context.getResponse());
     }
+
+    @Test
+    public void mapCommand_handle_shouldLabelPathWithCanonicalName() throws DmFriendGeneralServiceException {
+        // given: an alias for target 1
+        command.alias("dol", "dolor");
+        context.setCommand(Arrays.asList("lorem", "ipsum", "DOL"));
+        context.setIndex(2);
+
+        // when: I invoke the command through the alias
+        command.handle(context);
+
+        // then: I expect target 1, labeled with its canonical name
+        Assert.assertEquals("should return target1", "target1", context.getResponse());
+        Assert.assertEquals("path uses canonical name", "dolor", context.pathLabel());
+    }
 }
@@ -0,0 +1,93 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.exceptions.MobileException;
+import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.services.MobileSelector;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class MobileBulkCommandUnitTest {
+
+    @Mock private AbstractCommand mockSingle;
+    @Mock private PrettyPrinter<Iterable<Mobile>> mockPrinter;
+
+    private MobileBulkCommand command;
+    private List<MobileSelector> selected;
+    private List<Mobile> mobiles;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        selected = new ArrayList<>();
+        mobiles = Arrays.asList(TestDataFactory.makeMobile(1L, "goblin_1"), TestDataFactory.makeMobile(2L, "goblin_2"));
+
+        command = new MobileBulkCommand();
+        command.setSingle(mockSingle);
+        command.setPrinter(mockPrinter);
+        command.setOperation((context, selector) -> {
+            selected.add(selector);
+            return mobiles;
+        });
+    }
+
+    @Test
+    public void mobileBulkCommand_handle_shouldRunSelectorsInBulk() throws DmFriendGeneralServiceException {
+        // given: a command with a selector
+        CommandContext context = TestDataFactory.makeContextFromCommandLine("goblin* 5");
+        Mockito.when(mockPrinter.print(mobiles)).thenReturn("two goblins");
+
+        // when: I run it
+        command.handle(context);
+
+        // then: I expect the operation to get the parsed selector, and one combined summary
+        Assert.assertEquals(1, selected.size());
+        Assert.assertEquals(MobileSelector.Kind.NAME, selected.get(0).getKind());
+        Assert.assertEquals("Updated 2 mobiles matching goblin*\ntwo goblins", context.getResponse());
+
+        // and: I don't expect the single-mobile command to run
+        Mockito.verify(mockSingle, Mockito.never()).handle(Mockito.any());
+    }
+
+    @Test
+    public void mobileBulkCommand_handle_shouldPassPlainNamesThrough() throws DmFriendGeneralServiceException {
+        // given: a command naming one mobile
+        CommandContext context = TestDataFactory.makeContextFromCommandLine("goblin_1 5");
+
+        // when: I run it
+        command.handle(context);
+
+        // then: I expect the single-mobile command to handle it
+        Mockito.verify(mockSingle).handle(context);
+        Assert.assertTrue("should not run the bulk operation", selected.isEmpty());
+    }
+
+    @Test(expected = InterpreterException.class)
+    public void mobileBulkCommand_handle_shouldWrapServiceFailures() throws DmFriendGeneralServiceException {
+        // given: an operation that fails
+        command.setOperation((context, selector) -> {
+            throw new MobileException("no mobiles match ".concat(selector.toString()));
+        });
+
+        // when: I run it
+        command.handle(TestDataFactory.makeContextFromCommandLine("@dead"));
+
+        // then: I expect to fail
+        Assert.fail("should fail when the service does");
+    }
+}
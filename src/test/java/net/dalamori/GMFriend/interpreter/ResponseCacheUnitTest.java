@@ -0,0 +1,87 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.metrics.CacheStats;
+import net.dalamori.GMFriend.models.enums.PropertyType;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Category(UnitTest.class)
+public class ResponseCacheUnitTest {
+
+    private static final PropertyType[] NOTES = {PropertyType.NOTE};
+
+    private final AtomicLong clock = new AtomicLong();
+    private DataVersions versions;
+    private ResponseCache cache;
+
+    @Before
+    public void setup() {
+        versions = new DataVersions();
+        cache = new ResponseCache(versions, 2, 1000, clock::get);
+    }
+
+    @Test
+    public void responseCache_get_shouldMissOnceTheDataChanges() {
+        // given: a cached note
+        cache.put("note.show\u0000a", cache.versions(NOTES), "note a");
+        Assert.assertEquals("hit", "note a", cache.get("note.show\u0000a", cache.versions(NOTES)));
+
+        // when: an unrelated kind changes, and then notes do
+        versions.bump(PropertyType.MOBILE);
+        String afterMobile = cache.get("note.show\u0000a", cache.versions(NOTES));
+        versions.bump(PropertyType.NOTE);
+        String afterNote = cache.get("note.show\u0000a", cache.versions(NOTES));
+
+        // then: only the note write should have invalidated it
+        Assert.assertEquals("after mobile write", "note a", afterMobile);
+        Assert.assertNull("after note write", afterNote);
+
+        CacheStats stats = cache.getCacheStats();
+        Assert.assertEquals("hits", 2, stats.getHits());
+        Assert.assertEquals("misses", 1, stats.getMisses());
+    }
+
+    @Test
+    public void responseCache_get_shouldEvictIdleAndLeastRecentlyUsed() {
+        // given: two cached responses, one used since
+        cache.put("a", cache.versions(NOTES), "a");
+        cache.put("b", cache.versions(NOTES), "b");
+        cache.get("a", cache.versions(NOTES));
+
+        // when: a third is added
+        cache.put("c", cache.versions(NOTES), "c");
+
+        // then: the least recently used should be gone
+        Assert.assertNull("b", cache.get("b", cache.versions(NOTES)));
+        Assert.assertEquals("a", "a", cache.get("a", cache.versions(NOTES)));
+
+        // and: after sitting idle too long, so should the rest
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        Assert.assertNull("idle", cache.get("a", cache.versions(NOTES)));
+    }
+
+    @Test
+    public void responseCache_key_shouldKeepArgumentsApart() {
+        // given: the same words, once as one quoted argument, once as two
+        CommandContext quoted = new CommandContext();
+        quoted.setCommand(Arrays.asList("note", "show", "a b"));
+        quoted.setIndex(2);
+        quoted.getPath().addAll(Arrays.asList("note", "show"));
+
+        CommandContext split = new CommandContext();
+        split.setCommand(Arrays.asList("note", "show", "a", "b"));
+        split.setIndex(2);
+        split.getPath().addAll(Arrays.asList("note", "show"));
+
+        // then: their keys should differ
+        Assert.assertNotEquals(ResponseCache.key(quoted), ResponseCache.key(split));
+    }
+}
@@ -0,0 +1,64 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+
+@Category(UnitTest.class)
+public class TokenViewUnitTest {
+
+    @Test
+    public void tokenView_parse_shouldSplitOnAnyWhitespace() {
+        // when: I parse a line with runs of mixed whitespace
+        TokenView view = TokenView.parse(";;mob  dmg\tgoblin \n 3");
+
+        // then: it should match the old split("\\s+")
+        Assert.assertEquals("tokens", Arrays.asList(";;mob", "dmg", "goblin", "3"), view);
+    }
+
+    @Test
+    public void tokenView_parse_shouldKeepQuotedNamesTogether() {
+        // when: I parse a line with a quoted name, and one with an unterminated quote
+        TokenView view = TokenView.parse(";;mob dmg \"Goblin Chief\" 3");
+        TokenView open = TokenView.parse(";;mob show \"Goblin Chief");
+
+        // then: each quoted name should be one token, without the quotes
+        Assert.assertEquals("quoted", Arrays.asList(";;mob", "dmg", "Goblin Chief", "3"), view);
+        Assert.assertEquals("unterminated", Arrays.asList(";;mob", "show", "Goblin Chief"), open);
+    }
+
+    @Test
+    public void tokenView_remaining_shouldSliceOriginalLine() {
+        // given: a note body with its spacing intact
+        CommandContext context = new CommandContext();
+        context.setCommand(TokenView.parse(";;note set 7 Dear  diary,  \"today\" was fine"));
+        context.setIndex(2);
+
+        // when: I ask for the rest of the command, and for a lone quoted token
+        String remaining = AbstractCommand.getRemainingCommand(context);
+        String lone = TokenView.parse(";;mob move goblin \"north wall\"").remaining(3);
+
+        // then: the body and the lone token both come back exactly as typed
+        Assert.assertEquals("remaining", "Dear  diary,  \"today\" was fine", remaining);
+        Assert.assertEquals("lone token", "\"north wall\"", lone);
+        Assert.assertEquals("nothing left", "", AbstractCommand.getRemainingCommand(context, 10));
+    }
+
+    @Test
+    public void tokenView_remaining_shouldKeepQuotesOnASingleQuotedToken() {
+        // given: two note bodies, one a single quoted token and one with more after it
+        TokenView single = TokenView.parse(";;note set x \"a\"");
+        TokenView more = TokenView.parse(";;note set x \"a\" b");
+
+        // when: I ask for each body
+        String singleBody = single.remaining(3);
+        String moreBody = more.remaining(3);
+
+        // then: I expect both quoted as typed
+        Assert.assertEquals("single", "\"a\"", singleBody);
+        Assert.assertEquals("more", "\"a\" b", moreBody);
+    }
+}
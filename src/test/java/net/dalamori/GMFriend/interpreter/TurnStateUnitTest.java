@@ -0,0 +1,75 @@
+package net.dalamori.GMFriend.interpreter;
+
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.models.Property;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+
+@Category(UnitTest.class)
+public class TurnStateUnitTest {
+
+    @Test
+    public void turnState_of_shouldReadTheActiveProperty() {
+        // given: an $ACTIVE pointing at a mobile
+        Mobile mobile = TestDataFactory.makeMobile(4L, "goblin_1");
+        Property active = TestDataFactory.makeProperty(1L, "$ACTIVE");
+        active.setValue(TurnState.valueOf(mobile));
+
+        // when: I read the turn state
+        TurnState turn = TurnState.of(active);
+
+        // then: I expect the mobile's initiative and name back
+        Assert.assertEquals("initiative", 13, turn.getInitiative());
+        Assert.assertEquals("name", "goblin_1", turn.getName());
+    }
+
+    @Test
+    public void turnState_of_shouldStartBeforeTheFirstTurn() {
+        // when: there is no $ACTIVE
+        TurnState turn = TurnState.of(null);
+
+        // then: I expect the pointer before everyone
+        Assert.assertEquals("initiative", 0, turn.getInitiative());
+        Assert.assertEquals("name", "", turn.getName());
+        Assert.assertTrue("order", turn.getOrder().isEmpty());
+    }
+
+    @Test
+    public void turnState_of_shouldKeepDelimitersInTheName() {
+        // given: a name holding the delimiter
+        Property active = TestDataFactory.makeProperty(1L, "$ACTIVE");
+        active.setValue("7|odd|name");
+
+        // when: I read the turn state
+        TurnState turn = TurnState.of(active);
+
+        // then: I expect the split at the first delimiter only
+        Assert.assertEquals("initiative", 7, turn.getInitiative());
+        Assert.assertEquals("name", "odd|name", turn.getName());
+    }
+
+    @Test
+    public void turnState_of_shouldTellTheActiveMobileFromTheNext() {
+        // given: a pointer at goblin_1, and the mobiles the database found from it
+        Mobile goblin = TestDataFactory.makeMobile(4L, "goblin_1");
+        Mobile orc = TestDataFactory.makeMobile(5L, "orc");
+        Property active = TestDataFactory.makeProperty(1L, "$ACTIVE");
+        active.setValue(TurnState.valueOf(goblin));
+
+        // when: I read the turn state, landing on each
+        TurnState onGoblin = TurnState.of(active, Collections.emptyList(), goblin);
+        TurnState onOrc = TurnState.of(active, Collections.emptyList(), orc);
+
+        // then: I expect goblin_1 active, and orc only next
+        Assert.assertTrue("goblin's turn", onGoblin.isTurnOf(goblin));
+        Assert.assertTrue("goblin active", onGoblin.isActiveListed());
+        Assert.assertTrue("orc's turn", onOrc.isTurnOf(orc));
+        Assert.assertFalse("orc only next", onOrc.isActiveListed());
+        Assert.assertFalse("not goblin's turn", onOrc.isTurnOf(goblin));
+    }
+}
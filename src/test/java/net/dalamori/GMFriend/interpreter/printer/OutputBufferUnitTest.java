@@ -0,0 +1,78 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class OutputBufferUnitTest {
+
+    @Test
+    public void outputBuffer_append_shouldStopAtTheBudget() {
+        // given: a buffer with room for ten characters before the marker
+        OutputBuffer out = new OutputBuffer(10 + OutputBuffer.OVERFLOW_MARKER.length());
+
+        // when: I write past the budget
+        out.append("12345").append(678L).append('9').append("0abc").append("more");
+
+        // then: I expect it to have stopped at ten characters, and marked the cut
+        Assert.assertTrue("should be full", out.isFull());
+        Assert.assertEquals(10, out.length());
+        Assert.assertEquals("1234567890".concat(OutputBuffer.OVERFLOW_MARKER), out.toString());
+    }
+
+    @Test
+    public void outputBuffer_append_shouldNotMarkOutputThatFits() {
+        // given: a roomy buffer
+        OutputBuffer out = new OutputBuffer(1000);
+
+        // when: I write a little
+        out.append("HP: ").append(-3L).append('\n');
+
+        // then: I expect the text exactly
+        Assert.assertFalse("should not be full", out.isFull());
+        Assert.assertEquals("HP: -3\n", out.toString());
+    }
+
+    @Test
+    public void outputBuffer_appendName_shouldMatchFormatName() {
+        // given: a buffer
+        OutputBuffer out = new OutputBuffer(1000);
+
+        // when: I append a name
+        out.appendName("the_prancing_pony");
+
+        // then: I expect it as formatName shows it
+        Assert.assertEquals(PrettyPrinter.formatName("the_prancing_pony"), out.toString());
+    }
+
+    @Test
+    public void outputBuffer_appendTruncated_shouldMatchTruncate() {
+        // expect: the same cuts as truncate, for short, long and multi-line text
+        for (String text : new String[] {"short", "a rather longer piece of text", "two\nlines"}) {
+            OutputBuffer out = new OutputBuffer(1000);
+            out.appendTruncated(text, 10);
+            Assert.assertEquals(PrettyPrinter.truncate(text, 10), out.toString());
+        }
+    }
+
+    @Test
+    public void outputBuffer_local_shouldReuseAndNest() {
+        // given: a per-thread pool
+        OutputBuffer.Local buffers = new OutputBuffer.Local(1000);
+
+        // when: I take a buffer, take another while holding it, and take one again after giving it back
+        OutputBuffer first = buffers.acquire();
+        first.append("held");
+        OutputBuffer nested = buffers.acquire();
+        buffers.release(nested);
+        buffers.release(first);
+        OutputBuffer again = buffers.acquire();
+
+        // then: I expect the nested one to be fresh, and the first to be handed out again, emptied
+        Assert.assertNotSame(first, nested);
+        Assert.assertSame(first, again);
+        Assert.assertEquals(0, again.length());
+    }
+}
@@ -0,0 +1,231 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.config.DmFriendConfig;
+import net.dalamori.GMFriend.interpreter.TurnState;
+import net.dalamori.GMFriend.models.Location;
+import net.dalamori.GMFriend.models.LocationLink;
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.models.Note;
+import net.dalamori.GMFriend.models.Property;
+import net.dalamori.GMFriend.services.ListPage;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class PrinterFactoryUnitTest {
+
+    private static final String HR = "-=-=-\n";
+    private static final String BULLET = "▸";
+    private static final int BUDGET = 500;
+
+    private PrinterFactory factory;
+
+    @Before
+    public void setup() {
+        DmFriendConfig config = new DmFriendConfig();
+        config.setInterpreterPrinterHr(HR);
+        config.setInterpreterPrinterBullet(BULLET);
+        config.setInterpreterPrinterEmphasisBullet("★");
+        config.setDiscordOutboundMaxBacklogChars(BUDGET);
+
+        factory = new PrinterFactory();
+        factory.setConfig(config);
+    }
+
+    @Test
+    public void printerFactory_locationPrinter_shouldPrintAsBefore() {
+        // given: a location with a note and a link
+        Location location = TestDataFactory.makeLocation(7L, "the_pony");
+        Note note = TestDataFactory.makeNote(3L, "rumour_mill");
+        note.setBody("first line\nsecond line");
+        location.getNotes().add(note);
+
+        LocationLink link = TestDataFactory.makeLink("door", location, TestDataFactory.makeLocation(8L, "road"));
+        link.setShortDescription("muddy");
+        location.getLinks().add(link);
+
+        // when: I print it
+        String result = factory.getLocationPrinter().print(location);
+
+        // then: I expect the same sheet the String.format printer made
+        String expected = String.format("[Location #%d] **%s**\n", 7L, "the pony") + HR +
+                "__Notes__:\n" +
+                String.format("%s [N#%d] **%s**: %s\n", BULLET, 3L, "rumour mill", "first line...") +
+                "__Links__:\n" +
+                String.format("%s [L#%d] **%s**: %s\n", BULLET, 8L, "road", "muddy") +
+                HR + String.format("by: %s\n\r", location.getOwner());
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void printerFactory_noteListPrinter_shouldStopAtTheBudget() {
+        // given: more notes than will fit
+        List<Note> notes = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            notes.add(TestDataFactory.makeNote(i, "note_" + i));
+        }
+
+        // when: I print them
+        String result = factory.getNoteListPrinter().print(notes);
+
+        // then: I expect the output cut at the budget, and marked as cut
+        Assert.assertTrue("should fit the budget", result.length() <= BUDGET);
+        Assert.assertTrue("should be marked", result.endsWith(OutputBuffer.OVERFLOW_MARKER));
+        Assert.assertTrue("should start as before", result.startsWith(HR + BULLET + " **[N#0]** note_0\n\n\r"));
+    }
+
+    @Test
+    public void printerFactory_noteListPrinter_shouldPrintEmptyLists() {
+        // when: I print no notes
+        String result = factory.getNoteListPrinter().print(new ArrayList<>());
+
+        // then: I expect the empty fallback
+        Assert.assertEquals(HR + "Empty List", result);
+    }
+
+    @Test
+    public void printerFactory_mobilePrinter_shouldReuseTheSheetUntilTheVersionMoves() {
+        // given: a render cache, and a mobile already shown once
+        factory.setRenderCache(new RenderCache(8));
+        Mobile mobile = TestDataFactory.makeMobile(4L, "goblin_1");
+        String first = factory.getMobilePrinter().print(mobile);
+
+        // when: the hp changes in memory only, and then with a version bump
+        mobile.setHp(1L);
+        String sameVersion = factory.getMobilePrinter().print(mobile);
+        mobile.setVersion(mobile.getVersion() + 1);
+        String nextVersion = factory.getMobilePrinter().print(mobile);
+
+        // then: I expect the cached sheet for the same version, and a fresh one after
+        Assert.assertEquals("same version", first, sameVersion);
+        Assert.assertTrue("next version", nextVersion.contains("(**1**/100)"));
+        Assert.assertEquals("hits", 1, factory.getRenderCache().getCacheStats().getHits());
+    }
+
+    @Test
+    public void printerFactory_initiativeListPrinter_shouldMarkTheTurnFromTheState() {
+        // given: three mobiles, with the turn on the second
+        Mobile first = TestDataFactory.makeMobile(1L, "archer");
+        first.setInitiative(5);
+        Mobile second = TestDataFactory.makeMobile(2L, "bandit");
+        second.setInitiative(10);
+        Mobile third = TestDataFactory.makeMobile(3L, "cleric");
+        third.setInitiative(10);
+
+        Property active = TestDataFactory.makeProperty(9L, "$ACTIVE");
+        active.setValue(TurnState.valueOf(second));
+        TurnState turn = TurnState.of(active, Arrays.asList(first, second, third), second);
+
+        // when: I print the list
+        String result = factory.getInitiativeListPrinter().print(turn);
+
+        // then: I expect the active mobile emphasised, and the rest plain
+        Assert.assertEquals(HR +
+                BULLET + " (5) archer\n" +
+                "★ (10) bandit (Active)\n" +
+                BULLET + " (10) cleric\n", result);
+    }
+
+    @Test
+    public void printerFactory_initiativeListPrinter_shouldMarkTheGapBeforeTheNextMobile() {
+        // given: a turn pointer between two mobiles, its own mobile gone
+        Mobile first = TestDataFactory.makeMobile(1L, "archer");
+        first.setInitiative(5);
+        Mobile second = TestDataFactory.makeMobile(2L, "cleric");
+        second.setInitiative(10);
+
+        Property active = TestDataFactory.makeProperty(9L, "$ACTIVE");
+        active.setValue("10|bandit");
+        TurnState turn = TurnState.of(active, Arrays.asList(first, second), second);
+
+        // when: I print the list
+        String result = factory.getInitiativeListPrinter().print(turn);
+
+        // then: I expect the gap drawn, and the next mobile marked
+        Assert.assertEquals(HR +
+                BULLET + " (5) archer\n" +
+                "★ (10) -- No Active Mobile --\n" +
+                BULLET + " (10) cleric (Next Active)\n", result);
+    }
+
+    @Test
+    public void printerFactory_initiativeListPrinter_shouldMarkNothingOnAPageAfterTheTurn() {
+        // given: the second page of the list, with the turn on a mobile from the first
+        Mobile active = TestDataFactory.makeMobile(2L, "bandit");
+        active.setInitiative(10);
+        Mobile third = TestDataFactory.makeMobile(3L, "cleric");
+        third.setInitiative(10);
+        Mobile fourth = TestDataFactory.makeMobile(4L, "druid");
+        fourth.setInitiative(12);
+
+        Property pointer = TestDataFactory.makeProperty(9L, "$ACTIVE");
+        pointer.setValue(TurnState.valueOf(active));
+        TurnState turn = TurnState.of(pointer, Arrays.asList(third, fourth), active);
+
+        // when: I print the page
+        String result = factory.getInitiativeListPrinter().print(turn);
+
+        // then: I expect no gap and no marks, the turn being on the page before
+        Assert.assertEquals(HR +
+                BULLET + " (10) cleric\n" +
+                BULLET + " (12) druid\n", result);
+    }
+
+    @Test
+    public void printerFactory_initiativeListPrinter_shouldMarkTheGapAtTheTopOfThePageAfterIt() {
+        // given: the second page of the list, with the pointer between the pages and its own mobile gone
+        Mobile third = TestDataFactory.makeMobile(3L, "cleric");
+        third.setInitiative(10);
+        Mobile fourth = TestDataFactory.makeMobile(4L, "druid");
+        fourth.setInitiative(12);
+
+        Property pointer = TestDataFactory.makeProperty(9L, "$ACTIVE");
+        pointer.setValue("10|bandit");
+        TurnState turn = TurnState.of(pointer, Arrays.asList(third, fourth), third);
+
+        // when: I print the page
+        String result = factory.getInitiativeListPrinter().print(turn);
+
+        // then: I expect the gap drawn above the page's first mobile, which goes next
+        Assert.assertEquals(HR +
+                "★ (10) -- No Active Mobile --\n" +
+                BULLET + " (10) cleric (Next Active)\n" +
+                BULLET + " (12) druid\n", result);
+    }
+
+    @Test
+    public void printerFactory_pagePrinter_shouldSayWhereToCarryOn() {
+        // given: the first two of five notes
+        List<Note> notes = Arrays.asList(TestDataFactory.makeNote(1L, "one"), TestDataFactory.makeNote(2L, "two"));
+        ListPage<List<Note>> page = new ListPage<>(notes, 2, 5, 2L);
+
+        // when: I print the page
+        PrettyPrinter<ListPage<List<Note>>> printer = factory.getPagePrinter(factory.getNoteListPrinter());
+        String result = printer.print(page);
+
+        // then: I expect the rows as the list printer has them, then the way on
+        Assert.assertEquals(factory.getNoteListPrinter().print(notes) + "\n*2 of 5 shown; for more, add* `after 2`\n", result);
+    }
+
+    @Test
+    public void printerFactory_pagePrinter_shouldAddNothingToAWholeList() {
+        // given: a page holding the whole list
+        List<Note> notes = Arrays.asList(TestDataFactory.makeNote(1L, "one"));
+        ListPage<List<Note>> page = new ListPage<>(notes, 1, 1, null);
+
+        // when: I print the page
+        PrettyPrinter<ListPage<List<Note>>> printer = factory.getPagePrinter(factory.getNoteListPrinter());
+        String result = printer.print(page);
+
+        // then: I expect just the rows
+        Assert.assertEquals(factory.getNoteListPrinter().print(notes), result);
+    }
+}
@@ -0,0 +1,147 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.metrics.CacheStats;
+import net.dalamori.GMFriend.models.Location;
+import net.dalamori.GMFriend.models.LocationLink;
+import net.dalamori.GMFriend.models.Mobile;
+import net.dalamori.GMFriend.models.Note;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Category(UnitTest.class)
+public class RenderCacheUnitTest {
+
+    private RenderCache cache;
+
+    @Before
+    public void setup() {
+        cache = new RenderCache(2);
+    }
+
+    @Test
+    public void renderCache_key_shouldFollowTheVersion() {
+        // given: a saved mobile
+        Mobile mobile = TestDataFactory.makeMobile(4L, "goblin_1");
+        String before = RenderCache.key(mobile);
+
+        // when: its version moves
+        mobile.setVersion(mobile.getVersion() + 1);
+
+        // then: I expect a new key
+        Assert.assertNotEquals(before, RenderCache.key(mobile));
+    }
+
+    @Test
+    public void renderCache_key_shouldFollowNotesAndNeighbours() {
+        // given: a location with a note and a link
+        Location location = TestDataFactory.makeLocation(7L, "the_pony");
+        Note note = TestDataFactory.makeNote(3L, "rumour_mill");
+        Location road = TestDataFactory.makeLocation(8L, "road");
+        LocationLink link = TestDataFactory.makeLink("door", location, road);
+        location.getNotes().add(note);
+        location.getLinks().add(link);
+        String original = RenderCache.key(location);
+
+        // when: the note is edited, and then the neighbour renamed
+        note.setVersion(1L);
+        String afterNote = RenderCache.key(location);
+        road.setVersion(1L);
+        String afterRoad = RenderCache.key(location);
+
+        // then: I expect each to change the key, though the location itself didn't
+        Assert.assertNotEquals("after note edit", original, afterNote);
+        Assert.assertNotEquals("after neighbour rename", afterNote, afterRoad);
+    }
+
+    @Test
+    public void renderCache_key_shouldSkipUnsavedEntities() {
+        // given: an unsaved note
+        Note note = TestDataFactory.makeNote(null, "scratch");
+
+        // when: I ask for its key
+        String key = RenderCache.key(note);
+
+        // then: I expect none
+        Assert.assertNull(key);
+    }
+
+    @Test
+    public void renderCache_put_shouldEvictLeastRecentlyUsed() {
+        // given: two rendered sheets, one shown since
+        cache.put("N1:0", "one");
+        cache.put("N2:0", "two");
+        cache.get("N1:0");
+
+        // when: a third is rendered
+        cache.put("N3:0", "three");
+
+        // then: I expect the one not shown to be gone
+        Assert.assertEquals("recently shown", "one", cache.get("N1:0"));
+        Assert.assertNull("least recently shown", cache.get("N2:0"));
+
+        CacheStats stats = cache.getCacheStats();
+        Assert.assertEquals("size", 2, stats.getSize());
+        Assert.assertEquals("evictions", 1, stats.getEvictions());
+        Assert.assertEquals("hits", 2, stats.getHits());
+        Assert.assertEquals("misses", 1, stats.getMisses());
+    }
+
+    @Test
+    public void renderCache_put_shouldDoNothingWhenDisabled() {
+        // given: a cache with no room
+        RenderCache disabled = new RenderCache(0);
+
+        // when: I put a sheet
+        disabled.put("N1:0", "one");
+
+        // then: I expect nothing kept
+        Assert.assertNull(disabled.get("N1:0"));
+    }
+
+    @Test
+    public void renderCache_put_shouldDropSheetsFromRolledBackTransactions() {
+        // given: a sheet put inside a transaction
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put("N1:1", "uncommitted");
+
+            // when: the transaction rolls back
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then: I expect nothing kept under its key
+        Assert.assertNull(cache.get("N1:1"));
+    }
+
+    @Test
+    public void renderCache_put_shouldKeepSheetsOnceTheTransactionCommits() {
+        // given: a sheet put inside a transaction
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put("N1:1", "committed");
+
+            // then: I expect it held back until the commit
+            Assert.assertNull("before commit", cache.get("N1:1"));
+
+            // when: the transaction commits
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then: I expect it kept
+        Assert.assertEquals("after commit", "committed", cache.get("N1:1"));
+    }
+}
@@ -0,0 +1,69 @@
+package net.dalamori.GMFriend.interpreter.printer;
+
+import net.dalamori.GMFriend.models.Note;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class TemplateUnitTest {
+
+    @Test
+    public void template_render_shouldFillFieldsBetweenLiterals() {
+        // given: a compiled layout
+        Template<Note> template = Template.<Note>layout("[Note #{id}] **{title}**: {body} {{literal}\n")
+                .field("id", Template.text(Note::getId))
+                .field("title", Template.name(Note::getTitle))
+                .field("body", Template.truncated(Note::getBody, 5))
+                .compile();
+
+        Note note = TestDataFactory.makeNote(12L, "war_and_peace");
+        note.setBody("a long book");
+
+        // when: I render a note
+        OutputBuffer out = new OutputBuffer(1000);
+        template.render(note, out);
+
+        // then: I expect each field in place, formatted as the old printers did
+        Assert.assertEquals("[Note #12] **war and peace**: a lon... {literal}\n", out.toString());
+    }
+
+    @Test
+    public void template_escape_shouldKeepBracesLiteral() {
+        // given: a layout spliced from a config value with braces in it
+        Template<Note> template = Template.<Note>layout(Template.escape("{*}") + " {title}")
+                .field("title", Template.text(Note::getTitle))
+                .compile();
+
+        // when: I render a note
+        OutputBuffer out = new OutputBuffer(1000);
+        template.render(TestDataFactory.makeNote("Dune"), out);
+
+        // then: I expect the braces untouched
+        Assert.assertEquals("{*} Dune", out.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void template_compile_shouldRejectUnknownFields() {
+        // when: I compile a layout naming a field I didn't give
+        Template.<Note>layout("{title} by {author}")
+                .field("title", Template.text(Note::getTitle))
+                .compile();
+
+        // then: I expect to fail
+        Assert.fail("should reject unknown fields");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void template_compile_shouldRejectUnclosedFields() {
+        // when: I compile a layout with an open brace
+        Template.<Note>layout("{title")
+                .field("title", Template.text(Note::getTitle))
+                .compile();
+
+        // then: I expect to fail
+        Assert.fail("should reject unclosed fields");
+    }
+}
@@ -0,0 +1,88 @@
+package net.dalamori.GMFriend.metrics;
+
+import net.dalamori.GMFriend.interpreter.printer.PrettyPrinter;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Category(UnitTest.class)
+public class ExplainUnitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @After
+    public void teardown() {
+        Explain explain = Explain.current();
+        if (explain != null) {
+            explain.end();
+        }
+    }
+
+    @Test
+    public void explain_report_shouldAttributeStatementsToDaoMethods() {
+        // given: a trace
+        Explain explain = Explain.begin(clock::get);
+
+        // when: a service calls one DAO method twice, and hibernate flushes on its own
+        Explain.enter(Explain.Phase.SERVICE);
+        for (int i = 0; i < 2; i++) {
+            Explain.enterDao("groupDao.findByName");
+            Explain.statement();
+            Explain.exitDao();
+        }
+        Explain.statement();
+        Explain.exit();
+        explain.end();
+
+        // then: every statement should be counted, against the right caller
+        String report = explain.report("-");
+        Assert.assertEquals("statements", 3, explain.getStatements());
+        Assert.assertTrue(report, report.contains("- groupDao.findByName: 2 calls, 2 statements\n"));
+        Assert.assertTrue(report, report.contains("- " + Explain.OUTSIDE_DAO + ": 1 statement\n"));
+    }
+
+    @Test
+    public void explain_print_shouldChargeTimeToTheInnermostPhase() {
+        // given: a trace, and a printer which calls a service halfway through
+        Explain explain = Explain.begin(clock::get);
+        PrettyPrinter<String> printer = new PrettyPrinter<String>() {
+            @Override
+            public String print(String object) {
+                clock.addAndGet(1_000_000L);
+                Explain.enter(Explain.Phase.SERVICE);
+                clock.addAndGet(5_000_000L);
+                Explain.exit();
+                return object;
+            }
+        };
+
+        // when: the interpreter works 2ms, then prints
+        clock.addAndGet(2_000_000L);
+        String result = Explain.print(printer, "x");
+        explain.end();
+
+        // then: each phase should get only its own time
+        Assert.assertEquals("printed", "x", result);
+        Assert.assertEquals("interpreter", 2_000_000L, explain.getNanos(Explain.Phase.INTERPRETER));
+        Assert.assertEquals("printer", 1_000_000L, explain.getNanos(Explain.Phase.PRINTER));
+        Assert.assertEquals("service", 5_000_000L, explain.getNanos(Explain.Phase.SERVICE));
+        Assert.assertNull("trace ended", Explain.current());
+    }
+
+    @Test
+    public void explain_hooks_shouldDoNothingWithoutATrace() {
+        // when: hooks fire on a thread which isn't tracing
+        Explain.enter(Explain.Phase.SERVICE);
+        Explain.enterDao("noteDao.findById");
+        Explain.statement();
+        Explain.exitDao();
+        Explain.exit();
+
+        // then: nothing should have started
+        Assert.assertNull("no trace", Explain.current());
+    }
+}
@@ -0,0 +1,56 @@
+package net.dalamori.GMFriend.metrics;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.TimeUnit;
+
+@Category(UnitTest.class)
+public class LatencyHistogramUnitTest {
+
+    @Test
+    public void latencyHistogram_indexOf_shouldRoundTripWithinPrecision() {
+        // when: I bucket values across the whole range
+        for (long micros = 1; micros < (1L << 40); micros = micros * 3 + 1) {
+            long reported = LatencyHistogram.highestEquivalent(LatencyHistogram.indexOf(micros));
+
+            // then: the reported value should never be below the value, nor more than ~3% above it
+            Assert.assertTrue("not below " + micros, reported >= micros);
+            Assert.assertTrue("within precision " + micros, reported - micros <= micros / 32);
+        }
+    }
+
+    @Test
+    public void latencyHistogram_getPercentileMicros_shouldHappyPath() {
+        // given: 99 fast samples and one slow one
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(900));
+
+        // when: I read the percentiles
+        long p50 = histogram.getPercentileMicros(50);
+        long p99 = histogram.getPercentileMicros(99);
+        long p100 = histogram.getPercentileMicros(100);
+
+        // then: p50 and p99 should be fast, and max should be exact
+        Assert.assertEquals("count", 100, histogram.getCount());
+        Assert.assertEquals("p50 ~2ms", 2000, p50, 2000 / 32);
+        Assert.assertEquals("p99 ~2ms", 2000, p99, 2000 / 32);
+        Assert.assertEquals("p100 is max", 900000, p100);
+        Assert.assertEquals("max", 900000, histogram.getMaxMicros());
+    }
+
+    @Test
+    public void latencyHistogram_getPercentileMicros_shouldBeZeroWhenEmpty() {
+        // when: I read an empty histogram
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // then: everything should be zero
+        Assert.assertEquals("p99", 0, histogram.getPercentileMicros(99));
+        Assert.assertEquals("mean", 0, histogram.getMeanMicros(), 0);
+    }
+}
@@ -1,6 +1,8 @@
 package net.dalamori.GMFriend.repository;
 
+import net.dalamori.GMFriend.metrics.Explain;
 import net.dalamori.GMFriend.models.Group;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.testing.IntegrationTest;
@@ -82,4 +84,26 @@ public class GroupDaoIntegrationTest {
         Assert.assertTrue("contents should include Content B", contents.contains(CONTENT_B));
         Assert.assertTrue("contents should include Content C", contents.contains(CONTENT_C));
     }
+
+    @Test
+    public void groupDao_findByOwnerKindAndOwnerIdAndContentType_shouldLoadTheContentsInOneStatement() {
+        // given: a system group owned by location #7
+        group.setOwnerKind(OwnerKind.LOCATION);
+        group.setOwnerId(7L);
+        Group saved = groupDao.save(group);
+
+        // when: I look it up by owner, counting statements
+        Explain explain = Explain.begin();
+        Group result;
+        try {
+            result = groupDao.findByOwnerKindAndOwnerIdAndContentType(OwnerKind.LOCATION, 7L, PropertyType.NOTE).get();
+        } finally {
+            explain.end();
+        }
+
+        // then: I expect the group and all its contents from a single statement
+        Assert.assertEquals("group", saved.getId(), result.getId());
+        Assert.assertEquals("contents", group.getContents(), result.getContents());
+        Assert.assertEquals("statements", 1, explain.getStatements());
+    }
 }
@@ -12,8 +12,11 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.List;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @Category(IntegrationTest.class)
@@ -75,4 +78,17 @@ public class MobileDaoIntegrationTest {
         Assert.assertTrue("mob should be alive", findResult.isAlive());
 
     }
+
+    @Test
+    public void mobileDao_findListedFrom_shouldFindTheMobileAtTheGivenPlace() {
+        // given: a saved mobile
+        Mobile savedMob = mobileDao.save(mobile);
+
+        // when: I look from its place in the order, its name cased differently
+        List<Mobile> result = mobileDao.findListedFrom(false, INITIATIVE, MOB_NAME.toLowerCase(), PageRequest.of(0, 1));
+
+        // then: I expect the mobile itself, as the database compares names
+        Assert.assertEquals("one row", 1, result.size());
+        Assert.assertEquals("the mobile", savedMob.getId(), result.get(0).getId());
+    }
 }
@@ -9,6 +9,8 @@ import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.repository.CreatureDao;
 import net.dalamori.GMFriend.services.CreatureService;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import net.dalamori.GMFriend.services.impl.CreatureServiceImpl;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -30,7 +32,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RunWith(SpringRunner.class)
@@ -90,6 +95,8 @@ public class CreatureServiceUnitTest {
 
         // service
         CreatureServiceImpl impl = new CreatureServiceImpl();
+        impl.setDataVersions(new DataVersions());
+        impl.setNameIndex(new NameIndex());
         impl.setCreatureDao(mockDao);
         impl.setPropertyService(mockPropertyService);
         impl.setConfig(config);
@@ -274,17 +281,20 @@ public class CreatureServiceUnitTest {
 
     @Test
     public void creatureService_exists_shouldHappyPathByName() {
-        // given: a reply from the dao
-        Mockito.when(mockDao.existsByName("steve")).thenReturn(true);
+        // given: the names from the dao
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds("steve", "bob"));
 
-        // when: I test existance by Id
+        // when: I test existance by name, twice
         boolean result = service.exists("steve");
+        boolean again = service.exists("Steve");
 
-        // then: I expect to get the result form the dao
+        // then: I expect to get true both times
         Assert.assertTrue("should return true", result);
+        Assert.assertTrue("should ignore case", again);
 
-        // and: I expect to see thr right call to the dao
-        Mockito.verify(mockDao).existsByName(Mockito.eq("steve"));
+        // and: I expect the names to be read once, and no per-name query
+        Mockito.verify(mockDao, Mockito.times(1)).findAllNames();
+        Mockito.verify(mockDao, Mockito.never()).existsByName(Mockito.anyString());
     }
 
     @Test
@@ -788,4 +798,44 @@ public class CreatureServiceUnitTest {
         // then: I should fail
         Assert.fail("should refuse to convert a mobile with a property which fails property mapping validation");
     }
+
+    @Test
+    public void creatureService_getNames_shouldProjectNamesInOneQuery() {
+        // given: two creatures in the dao
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        Mockito.when(mockDao.findAllNamesByIdIn(ids)).thenReturn(TestDataFactory.makeNamedIds("steve", "bucky"));
+
+        // when: I ask for three names
+        Map<Long, String> result = service.getNames(ids);
+
+        // then: I expect the two found, from the one query, and no full reads
+        Assert.assertEquals("should find 2", 2, result.size());
+        Assert.assertEquals("steve", result.get(1L));
+        Assert.assertEquals("bucky", result.get(2L));
+        Mockito.verify(mockDao, Mockito.never()).findById(Mockito.any());
+    }
+
+    @Test
+    public void creatureService_getNames_shouldSkipTheQueryForNoIds() {
+        // when: I ask for no names
+        Map<Long, String> result = service.getNames(Collections.emptyList());
+
+        // then: I expect none, without a query
+        Assert.assertTrue(result.isEmpty());
+        Mockito.verify(mockDao, Mockito.never()).findAllNamesByIdIn(Mockito.any());
+    }
+
+    @Test
+    public void creatureService_getNames_shouldServeIndexedNamesWithoutAQuery() {
+        // given: two creatures already in the name index
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds("steve", "bucky"));
+
+        // when: I ask for both names
+        Map<Long, String> result = service.getNames(Arrays.asList(1L, 2L));
+
+        // then: I expect both, without a per-id query
+        Assert.assertEquals("steve", result.get(1L));
+        Assert.assertEquals("bucky", result.get(2L));
+        Mockito.verify(mockDao, Mockito.never()).findAllNamesByIdIn(Mockito.any());
+    }
 }
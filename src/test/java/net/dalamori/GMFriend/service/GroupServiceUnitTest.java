@@ -3,9 +3,11 @@ package net.dalamori.GMFriend.service;
 import net.dalamori.GMFriend.config.DmFriendConfig;
 import net.dalamori.GMFriend.exceptions.GroupException;
 import net.dalamori.GMFriend.models.Group;
+import net.dalamori.GMFriend.models.enums.OwnerKind;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.GroupDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
 import net.dalamori.GMFriend.services.impl.GroupServiceImpl;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -74,6 +76,7 @@ public class GroupServiceUnitTest {
         savedGroup.setPrivacy(PrivacyType.NORMAL);
 
         GroupServiceImpl impl = new GroupServiceImpl();
+        impl.setDataVersions(new DataVersions());
         impl.setGroupDao(mockDao);
         impl.setConfig(config);
 
@@ -393,41 +396,88 @@ public class GroupServiceUnitTest {
 
     @Test
     public void noteServiceImpl_resolveNoteGroup_shouldHappyPath() throws GroupException {
-        // given: a note group saved in the db
-        String name = "Stuart";
-        Group group = TestDataFactory.makeGroup(name);
+        // given: a location's note group saved in the db
+        Group group = TestDataFactory.makeGroup(GROUP_ID, locationNotesName(7L));
+        group.setOwnerKind(OwnerKind.LOCATION);
+        group.setOwnerId(7L);
 
-        Mockito.when(mockDao.existsByName(name)).thenReturn(true);
-        Mockito.when(mockDao.findByName(name)).thenReturn(Optional.of(group));
+        Mockito.when(mockDao.findByOwnerKindAndOwnerIdAndContentType(OwnerKind.LOCATION, 7L, PropertyType.NOTE))
+                .thenReturn(Optional.of(group));
 
         // when: I try to pull the group
-        Group result = service.resolveSystemGroup(name, PropertyType.NOTE);
+        Group result = service.resolveSystemGroup(OwnerKind.LOCATION, 7L, PropertyType.NOTE);
 
-        // then: i expect to that group to be returned
+        // then: i expect to that group to be returned, without looking up its name
         Assert.assertEquals("should lookup the expected group", group, result);
-
+        Mockito.verify(mockDao, Mockito.never()).existsByName(Mockito.any());
+        Mockito.verify(mockDao, Mockito.never()).findByName(Mockito.any());
     }
 
     @Test
     public void noteServiceImpl_resolveNoteGroup_shouldCreateIfNeeded() throws GroupException {
-        // given: a note group saved in the db
-        String name = "Glenn";
+        // given: no note group for the location
+        String name = locationNotesName(7L);
         Group group = TestDataFactory.makeGroup(name);
 
         Mockito.when(mockDao.existsByName(name)).thenReturn(false);
         Mockito.when(mockDao.save(Mockito.any())).thenReturn(group);
 
         // when: I try to pull the group
-        Group result = service.resolveSystemGroup(name, PropertyType.NOTE);
+        Group result = service.resolveSystemGroup(OwnerKind.LOCATION, 7L, PropertyType.NOTE);
 
         // then: i expect to that group to be returned
         Assert.assertEquals("should return the created group", group, result);
+
+        // and: I expect it saved under its owner
+        Mockito.verify(mockDao).save(groupCaptor.capture());
+        Assert.assertEquals("name", name, groupCaptor.getValue().getName());
+        Assert.assertEquals("owner kind", OwnerKind.LOCATION, groupCaptor.getValue().getOwnerKind());
+        Assert.assertEquals("owner id", Long.valueOf(7L), groupCaptor.getValue().getOwnerId());
+    }
+
+    @Test
+    public void noteServiceImpl_resolveNoteGroup_shouldKeyGlobalGroupsToOwnerZero() throws GroupException {
+        // given: no global note group yet
+        String name = config.getSystemGroupPrefix().concat(config.getSystemGroupGlobalNoteAction());
+        Mockito.when(mockDao.existsByName(name)).thenReturn(false);
+        Mockito.when(mockDao.save(Mockito.any())).thenReturn(TestDataFactory.makeGroup(name));
+
+        // when: I resolve it, with no owner id
+        service.resolveSystemGroup(OwnerKind.GLOBAL, null, PropertyType.NOTE);
+
+        // then: I expect it looked up and saved under owner 0
+        Mockito.verify(mockDao).findByOwnerKindAndOwnerIdAndContentType(OwnerKind.GLOBAL, 0L, PropertyType.NOTE);
+        Mockito.verify(mockDao).save(groupCaptor.capture());
+        Assert.assertEquals("name", name, groupCaptor.getValue().getName());
+        Assert.assertEquals("owner id", Long.valueOf(0L), groupCaptor.getValue().getOwnerId());
+    }
+
+    @Test
+    public void noteServiceImpl_resolveNoteGroup_shouldAdoptGroupsSavedOnlyByName() throws GroupException {
+        // given: a location's note group from before owner columns
+        String name = locationNotesName(7L);
+        Group group = TestDataFactory.makeGroup(GROUP_ID, name);
+        group.setContentType(PropertyType.NOTE);
+
+        Mockito.when(mockDao.existsByName(name)).thenReturn(true);
+        Mockito.when(mockDao.findByName(name)).thenReturn(Optional.of(group));
+        Mockito.when(mockDao.save(group)).thenReturn(group);
+
+        // when: I resolve it
+        Group result = service.resolveSystemGroup(OwnerKind.LOCATION, 7L, PropertyType.NOTE);
+
+        // then: I expect the same group, saved with its owner
+        Assert.assertEquals("should return the existing group", group, result);
+        Assert.assertEquals("owner kind", OwnerKind.LOCATION, group.getOwnerKind());
+        Assert.assertEquals("owner id", Long.valueOf(7L), group.getOwnerId());
+        Assert.assertEquals("name", name, group.getName());
+        Mockito.verify(mockDao, Mockito.times(1)).save(Mockito.any());
     }
 
     @Test
     public void noteServiceImpl_resolveNoteGroup_shouldResolveConflict() throws GroupException {
         // given: a non-note group
-        String name = "Stanley";
+        String name = locationNotesName(7L);
         Long id = 54321L;
         Group group = TestDataFactory.makeGroup(id, name);
         group.setContentType(PropertyType.LINK);
@@ -462,7 +512,7 @@ public class GroupServiceUnitTest {
         });
 
         // when: I try to resolve the group
-        Group result = service.resolveSystemGroup(name, PropertyType.NOTE);
+        Group result = service.resolveSystemGroup(OwnerKind.LOCATION, 7L, PropertyType.NOTE);
 
         // then: I expect to see a new group created, saved, and returned
         Assert.assertEquals("should return new group", newGroup, result);
@@ -479,4 +529,7 @@ public class GroupServiceUnitTest {
 
     }
 
+    private String locationNotesName(Long locationId) {
+        return config.getSystemGroupPrefix() + config.getSystemGroupLocationNoteAction() + locationId;
+    }
 }
@@ -0,0 +1,63 @@
+package net.dalamori.GMFriend.service;
+
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class ListCursorUnitTest {
+
+    private static final List<Long> IDS = Arrays.asList(40L, 10L, 30L, 20L, 50L);
+
+    @Test
+    public void listCursor_startAfter_shouldStartTheFirstPageAtTheTop() {
+        // when: I start the first page
+        long start = ListCursor.first(2).startAfter(IDS);
+
+        // then: I expect to start before every id
+        Assert.assertEquals(0L, start);
+    }
+
+    @Test
+    public void listCursor_startAfter_shouldFindTheKeyBeforeANumberedPage() {
+        // when: I start page 2, two to a page
+        long start = ListCursor.page(2, 2).startAfter(IDS);
+
+        // then: I expect to start after the second id in order
+        Assert.assertEquals(20L, start);
+    }
+
+    @Test
+    public void listCursor_startAfter_shouldStartPastTheEndForPagesBeyondIt() {
+        // when: I start page 9, two to a page
+        long start = ListCursor.page(9, 2).startAfter(IDS);
+
+        // then: I expect to start after the last id, and so find nothing
+        Assert.assertEquals(50L, start);
+    }
+
+    @Test
+    public void listCursor_startAfter_shouldNotOverflowOnTheLastPossiblePage() {
+        // when: I start the highest page there is
+        ListCursor cursor = ListCursor.page(Integer.MAX_VALUE, 2);
+
+        // then: I expect the offset to stay positive, and to start after the last id
+        Assert.assertEquals("offset", (Integer.MAX_VALUE - 1L) * 2, cursor.getOffset());
+        Assert.assertEquals("start", 50L, cursor.startAfter(IDS));
+    }
+
+    @Test
+    public void listCursor_startAfter_shouldUseTheGivenKey() {
+        // when: I start after an id
+        ListCursor cursor = ListCursor.after(30L, 2);
+
+        // then: I expect that id, with no offset
+        Assert.assertEquals("start", 30L, cursor.startAfter(IDS));
+        Assert.assertEquals("offset", 0, cursor.getOffset());
+    }
+}
@@ -7,7 +7,9 @@ import net.dalamori.GMFriend.models.LocationLink;
 import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.repository.LocationDao;
 import net.dalamori.GMFriend.repository.LocationLinkDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.LocationService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.NoteService;
 import net.dalamori.GMFriend.services.impl.LocationServiceImpl;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -103,6 +105,8 @@ public class LocationServiceUnitTest {
         noteB = TestDataFactory.makeNote(72L, "NoteB");
 
         LocationServiceImpl impl = new LocationServiceImpl();
+        impl.setDataVersions(new DataVersions());
+        impl.setNameIndex(new NameIndex());
         impl.setLocationDao(mockDao);
         impl.setLinkDao(mockLinkDao);
         impl.setNoteService(mockNoteService);
@@ -506,15 +510,16 @@ public class LocationServiceUnitTest {
         // given: a sample ID
         String name = "George";
 
-        // and: a mock reply
-        Mockito.when(mockDao.existsByName(name)).thenReturn(true);
+        // and: the names from the dao
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds(name, "Castle"));
 
         // when: I poll the service
         boolean result = service.exists(name);
 
-        // then: I expect to see that passed thru to the dao, and the dao's retval returned
-        Assert.assertTrue("should get returnvalue from the dao", result);
-        Mockito.verify(mockDao).existsByName(name);
+        // then: I expect to see it answered from the names, without a per-name query
+        Assert.assertTrue("should find the name", result);
+        Mockito.verify(mockDao).findAllNames();
+        Mockito.verify(mockDao, Mockito.never()).existsByName(Mockito.anyString());
     }
 
     @Test
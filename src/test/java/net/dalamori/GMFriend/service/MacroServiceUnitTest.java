@@ -0,0 +1,116 @@
+package net.dalamori.GMFriend.service;
+
+import net.dalamori.GMFriend.exceptions.MacroException;
+import net.dalamori.GMFriend.models.Macro;
+import net.dalamori.GMFriend.repository.MacroDao;
+import net.dalamori.GMFriend.services.MacroService;
+import net.dalamori.GMFriend.services.impl.MacroServiceImpl;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+@Category(UnitTest.class)
+public class MacroServiceUnitTest {
+
+    @Mock private MacroDao mockDao;
+
+    private MacroService service;
+    private Macro macro;
+
+    public static final Long MACRO_ID = 8675309L;
+    public static final String MACRO_GUILD = "1234";
+    public static final String MACRO_NAME = "round";
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        macro = new Macro();
+        macro.setGuild(MACRO_GUILD);
+        macro.setName(MACRO_NAME);
+        macro.setBody("turn next; mob list");
+        macro.setOwner("Some Test Guy");
+
+        MacroServiceImpl impl = new MacroServiceImpl();
+        impl.setMacroDao(mockDao);
+
+        service = impl;
+    }
+
+    @Test
+    public void macroService_define_shouldCreateNewMacro() throws MacroException {
+        // given: no macro by that name yet
+        Mockito.when(mockDao.findByGuildAndName(MACRO_GUILD, MACRO_NAME)).thenReturn(Optional.empty());
+        Mockito.when(mockDao.save(macro)).thenReturn(macro);
+
+        // when: I define it
+        Macro result = service.define(macro);
+
+        // then: it should be saved as a new row
+        Assert.assertNull("no id", result.getId());
+        Mockito.verify(mockDao).save(macro);
+    }
+
+    @Test
+    public void macroService_define_shouldReplaceExistingMacro() throws MacroException {
+        // given: a macro by that name already saved
+        Macro existing = new Macro();
+        existing.setId(MACRO_ID);
+        Mockito.when(mockDao.findByGuildAndName(MACRO_GUILD, MACRO_NAME)).thenReturn(Optional.of(existing));
+        Mockito.when(mockDao.save(macro)).thenReturn(macro);
+
+        // when: I define it again
+        Macro result = service.define(macro);
+
+        // then: the existing row should be updated
+        Assert.assertEquals("existing id", MACRO_ID, result.getId());
+        Mockito.verify(mockDao).save(macro);
+    }
+
+    @Test(expected = MacroException.class)
+    public void macroService_define_shouldFailWhenInvalid() throws MacroException {
+        // given: a macro with a name that isn't a single lower-case word
+        macro.setName("Two Words");
+
+        // when: I define it
+        try {
+            service.define(macro);
+
+            Assert.fail("should refuse to define a macro which fails validation");
+        } catch (MacroException ex) {
+            // then: it should throw an error before the DAO is called
+            Mockito.verify(mockDao, Mockito.never()).save(Mockito.any());
+
+            throw ex;
+        }
+    }
+
+    @Test(expected = MacroException.class)
+    public void macroService_read_shouldFailWhenNotFound() throws MacroException {
+        // given: no such macro
+        Mockito.when(mockDao.findByGuildAndName(MACRO_GUILD, MACRO_NAME)).thenReturn(Optional.empty());
+
+        // when: I read it
+        service.read(MACRO_GUILD, MACRO_NAME);
+    }
+
+    @Test
+    public void macroService_delete_shouldHappyPath() throws MacroException {
+        // given: a saved macro
+        macro.setId(MACRO_ID);
+        Mockito.when(mockDao.existsById(MACRO_ID)).thenReturn(true);
+
+        // when: I delete it
+        service.delete(macro);
+
+        // then: it should be deleted by id
+        Mockito.verify(mockDao).deleteById(MACRO_ID);
+    }
+}
@@ -0,0 +1,64 @@
+package net.dalamori.GMFriend.service;
+
+import net.dalamori.GMFriend.exceptions.MobileException;
+import net.dalamori.GMFriend.services.MobileSelector;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class MobileSelectorUnitTest {
+
+    @Test
+    public void mobileSelector_isSelector_shouldSpotSelectorSyntax() {
+        // expect: globs and @-selectors to be selectors, and plain names and ids not to be
+        Assert.assertTrue(MobileSelector.isSelector("goblin*"));
+        Assert.assertTrue(MobileSelector.isSelector("orc_?"));
+        Assert.assertTrue(MobileSelector.isSelector("@alive"));
+        Assert.assertFalse(MobileSelector.isSelector("goblin_3"));
+        Assert.assertFalse(MobileSelector.isSelector("42"));
+    }
+
+    @Test
+    public void mobileSelector_parse_shouldTranslateGlobsToLikePatterns() throws MobileException {
+        // when: I parse a glob with LIKE wildcards in the name
+        MobileSelector selector = MobileSelector.parse("goblin_*?%!");
+
+        // then: I expect the glob wildcards translated, and the LIKE ones escaped
+        Assert.assertEquals(MobileSelector.Kind.NAME, selector.getKind());
+        Assert.assertEquals("goblin!_%_!%!!", selector.getArgument());
+        Assert.assertEquals("goblin_*?%!", selector.toString());
+    }
+
+    @Test
+    public void mobileSelector_parse_shouldParseNamedSelectors() throws MobileException {
+        // expect: each named selector to parse, ignoring case
+        Assert.assertEquals(MobileSelector.Kind.ALL, MobileSelector.parse("@all").getKind());
+        Assert.assertEquals(MobileSelector.Kind.ALIVE, MobileSelector.parse("@Alive").getKind());
+        Assert.assertEquals(MobileSelector.Kind.DEAD, MobileSelector.parse("@dead").getKind());
+
+        // and: the position to keep its case
+        MobileSelector position = MobileSelector.parse("@POS:Bridge");
+        Assert.assertEquals(MobileSelector.Kind.POSITION, position.getKind());
+        Assert.assertEquals("Bridge", position.getArgument());
+    }
+
+    @Test(expected = MobileException.class)
+    public void mobileSelector_parse_shouldRejectUnknownSelectors() throws MobileException {
+        // when: I parse an unknown selector
+        MobileSelector.parse("@sleeping");
+
+        // then: I expect to fail
+        Assert.fail("should reject unknown selectors");
+    }
+
+    @Test(expected = MobileException.class)
+    public void mobileSelector_parse_shouldRejectMissingPositions() throws MobileException {
+        // when: I parse a position selector without a position
+        MobileSelector.parse("@pos:");
+
+        // then: I expect to fail
+        Assert.fail("should reject a missing position");
+    }
+}
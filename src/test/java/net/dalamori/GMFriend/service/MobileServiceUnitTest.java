@@ -9,7 +9,12 @@ import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.MobileDao;
+import net.dalamori.GMFriend.services.DataVersions;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
+import net.dalamori.GMFriend.services.MobileSelector;
 import net.dalamori.GMFriend.services.MobileService;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.PropertyService;
 import net.dalamori.GMFriend.services.impl.MobileServiceImpl;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -28,9 +33,11 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -93,6 +100,8 @@ public class MobileServiceUnitTest {
 
         // service
         MobileServiceImpl impl = new MobileServiceImpl();
+        impl.setDataVersions(new DataVersions());
+        impl.setNameIndex(new NameIndex());
         impl.setMobileDao(mockDao);
         impl.setPropertyService(mockPropertyService);
         impl.setConfig(config);
@@ -380,15 +389,30 @@ public class MobileServiceUnitTest {
 
     @Test
     public void mobileService_exists_shouldHappyPathByName() {
-        // given: a mock response
-        Mockito.when(mockDao.existsByName("bucky")).thenReturn(true);
+        // given: the names from the dao
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds("bucky", "randall"));
 
         // when: I test existence
         boolean result = service.exists("bucky");
 
-        // then: I should get true
+        // then: I should get true, without a per-name query
+        Assert.assertTrue("should return true", result);
+        Mockito.verify(mockDao).findAllNames();
+        Mockito.verify(mockDao, Mockito.never()).existsByName(Mockito.anyString());
+    }
+
+    @Test
+    public void mobileService_exists_shouldFallBackToTheDaoForUnindexedNames() {
+        // given: a name the index doesn't have yet, as one created earlier in a batch
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds("bucky", "randall"));
+        Mockito.when(mockDao.existsByName("dusty")).thenReturn(true);
+
+        // when: I test existence
+        boolean result = service.exists("dusty");
+
+        // then: I should get true, from the dao
         Assert.assertTrue("should return true", result);
-        Mockito.verify(mockDao).existsByName("bucky");
+        Mockito.verify(mockDao).existsByName("dusty");
     }
 
     @Test
@@ -458,6 +482,24 @@ public class MobileServiceUnitTest {
 
     }
 
+    @Test
+    public void mobileService_update_shouldTakeTheVersionBumpedInSql() throws MobileException, PropertyException {
+        // given: bucky, whose row is at version 7 once this update has bumped it
+        bucky.setId(BUCKY_ID);
+        savedBucky.setId(BUCKY_ID);
+        Mockito.when(mockDao.save(Mockito.any())).thenReturn(savedBucky);
+        Mockito.when(mockDao.existsById(BUCKY_ID)).thenReturn(true);
+        Mockito.when(mockDao.findVersionById(BUCKY_ID)).thenReturn(7L);
+        Mockito.when(mockPropertyService.validatePropertyMapNames(Mockito.any())).thenReturn(true);
+
+        // when: I update bucky
+        Mobile result = service.update(bucky);
+
+        // then: the version should come from the row, not from counting up the copy in hand
+        Mockito.verify(mockDao).touch(BUCKY_ID);
+        Assert.assertEquals("version read back", 7L, result.getVersion());
+    }
+
     @Test(expected = MobileException.class)
     public void mobileService_update_shouldFailWhenIdNotSet() throws MobileException, PropertyException {
         // given: an updated copy of bucky
@@ -850,4 +892,135 @@ public class MobileServiceUnitTest {
         Assert.fail("Should refuse to create a mobile if it can't find a suitable name");
     }
 
+    @Test
+    public void mobileService_damageAll_shouldUpdateTheSelectionInBulk() throws MobileException {
+        // given: a selector, and the mobiles it matches
+        MobileSelector selector = MobileSelector.parse("goblin*");
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        List<Mobile> goblins = Arrays.asList(
+                TestDataFactory.makeMobile(1L, "goblin_1"),
+                TestDataFactory.makeMobile(2L, "goblin_2"),
+                TestDataFactory.makeMobile(3L, "goblin_3"));
+
+        Mockito.when(mockDao.findAllIdsByNameLike("goblin%")).thenReturn(ids);
+        Mockito.when(mockDao.findAllByIdInOrderByInitiativeAscNameAsc(ids)).thenReturn(goblins);
+
+        // when: I damage them all
+        List<Mobile> result = service.damageAll(selector, 5);
+
+        // then: I expect the updated mobiles back
+        Assert.assertEquals(goblins, result);
+
+        // and: I expect set-based updates, rather than a read and save per mobile
+        Mockito.verify(mockDao).addHp(ids, -5L);
+        Mockito.verify(mockDao).markDead(ids);
+        Mockito.verify(mockDao, Mockito.never()).save(Mockito.any());
+        Mockito.verify(mockDao, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verifyZeroInteractions(mockPropertyService);
+    }
+
+    @Test
+    public void mobileService_healAll_shouldCapAndRevive() throws MobileException {
+        // given: the living mobiles
+        List<Long> ids = Arrays.asList(4L, 5L);
+        Mockito.when(mockDao.findAllIdsByAlive(false)).thenReturn(ids);
+
+        // when: I heal them
+        service.healAll(MobileSelector.parse("@dead"), 3);
+
+        // then: I expect the hp raised, capped, and the living marked alive
+        Mockito.verify(mockDao).addHp(ids, 3L);
+        Mockito.verify(mockDao).capHp(ids);
+        Mockito.verify(mockDao).markAlive(ids);
+    }
+
+    @Test
+    public void mobileService_moveAll_shouldSelectByPosition() throws MobileException {
+        // given: the mobiles on the bridge
+        List<Long> ids = Arrays.asList(6L);
+        Mockito.when(mockDao.findAllIdsByPosition("bridge")).thenReturn(ids);
+
+        // when: I move them
+        service.moveAll(MobileSelector.parse("@pos:bridge"), "the river");
+
+        // then: I expect them moved together
+        Mockito.verify(mockDao).setPosition(ids, "the river");
+    }
+
+    @Test(expected = MobileException.class)
+    public void mobileService_killAll_shouldFailWhenNothingMatches() throws MobileException {
+        // given: no matches
+        Mockito.when(mockDao.findAllIdsByAlive(true)).thenReturn(new ArrayList<>());
+
+        // when: I kill them all
+        service.killAll(MobileSelector.parse("@alive"));
+
+        // then: I expect to fail
+        Assert.fail("should refuse an empty selection");
+    }
+
+    @Test(expected = MobileException.class)
+    public void mobileService_setInitiativeAll_shouldRefuseNegativeInitiative() throws MobileException {
+        // when: I set a negative initiative
+        service.setInitiativeAll(MobileSelector.parse("@all"), -1);
+
+        // then: I expect to fail
+        Assert.fail("should refuse a negative initiative");
+    }
+
+
+    @Test
+    public void mobileService_initiativePage_shouldContinueAfterTheGivenMobile() throws MobileException {
+        // given: a mobile to list after, and two more behind it
+        Mobile bucky = TestDataFactory.makeMobile(4L, "bucky");
+        List<Mobile> rest = Arrays.asList(TestDataFactory.makeMobile(5L, "natasha"), TestDataFactory.makeMobile(6L, "steve"));
+        Mockito.when(mockDao.findById(4L)).thenReturn(Optional.of(bucky));
+        Mockito.when(mockDao.countListed(true)).thenReturn(3L);
+        Mockito.when(mockDao.findListedAfter(true, 13, "bucky", PageRequest.of(0, 26))).thenReturn(rest);
+
+        // when: I ask for the page after bucky
+        ListPage<List<Mobile>> page = service.initiativePage(true, ListCursor.after(4L, 25));
+
+        // then: I expect the two behind him, and no more pages
+        Assert.assertEquals("rows", rest, page.getRows());
+        Assert.assertEquals("total", 3L, page.getTotal());
+        Assert.assertNull("next", page.getNext());
+    }
+
+    @Test(expected = MobileException.class)
+    public void mobileService_initiativePage_shouldFailAfterAMissingMobile() throws MobileException {
+        // given: no mobile #4
+        Mockito.when(mockDao.findById(4L)).thenReturn(Optional.empty());
+
+        // when: I ask for the page after it
+        service.initiativePage(false, ListCursor.after(4L, 25));
+
+        // then: I expect to fail
+        Assert.fail("should not page after a missing mobile");
+    }
+
+    @Test
+    public void mobileService_initiativeFrom_shouldReturnTheFirstMobileFromThePointer() throws MobileException {
+        // given: a mobile at the pointer
+        Mobile bucky = TestDataFactory.makeMobile(4L, "bucky");
+        Mockito.when(mockDao.findListedFrom(false, 13, "bucky", PageRequest.of(0, 1))).thenReturn(Arrays.asList(bucky));
+
+        // when: I look from the pointer
+        Mobile result = service.initiativeFrom(false, 13, "bucky");
+
+        // then: I expect that mobile
+        Assert.assertEquals(bucky, result);
+    }
+
+    @Test
+    public void mobileService_initiativeFrom_shouldReturnNullPastTheEnd() throws MobileException {
+        // given: nobody at or after the pointer
+        Mockito.when(mockDao.findListedFrom(false, 99, "zed", PageRequest.of(0, 1))).thenReturn(new ArrayList<>());
+
+        // when: I look from the pointer
+        Mobile result = service.initiativeFrom(false, 99, "zed");
+
+        // then: I expect nobody
+        Assert.assertNull(result);
+    }
 }
@@ -0,0 +1,177 @@
+package net.dalamori.GMFriend.service;
+
+import net.dalamori.GMFriend.models.enums.PropertyType;
+import net.dalamori.GMFriend.repository.NamedId;
+import net.dalamori.GMFriend.services.NameIndex;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class NameIndexUnitTest {
+
+    private NameIndex index;
+    private NameIndex.Names names;
+    private int loads;
+
+    @Before
+    public void setup() {
+        index = new NameIndex();
+        loads = 0;
+        names = index.of(PropertyType.MOBILE, this::load);
+    }
+
+    private List<NamedId> load() {
+        loads++;
+        return TestDataFactory.makeNamedIds("Goblin", "Goblin_2", "Orc", "Bugbear", "Troll");
+    }
+
+    @Test
+    public void nameIndex_contains_shouldMatchIgnoringCase() {
+        // when: I check a few names
+        boolean goblin = names.contains("goblin");
+        boolean troll = names.contains("TROLL");
+        boolean gob = names.contains("gob");
+
+        // then: I expect only whole names to be found
+        Assert.assertTrue("should find goblin", goblin);
+        Assert.assertTrue("should find troll", troll);
+        Assert.assertFalse("should not find a prefix", gob);
+
+        // and: I expect the names to have been loaded just once
+        Assert.assertEquals("should load once", 1, loads);
+    }
+
+    @Test
+    public void nameIndex_resolve_shouldResolveUniquePrefixes() {
+        // when: I resolve exact, unique and ambiguous text
+        String exact = names.resolve("goblin");
+        String unique = names.resolve("bug");
+        String ambiguous = names.resolve("gob");
+        String unknown = names.resolve("dragon");
+
+        // then: I expect the exact and unique ones to resolve to the stored name
+        Assert.assertEquals("Goblin", exact);
+        Assert.assertEquals("Bugbear", unique);
+        Assert.assertNull("ambiguous prefixes shouldn't resolve", ambiguous);
+        Assert.assertNull("unknown names shouldn't resolve", unknown);
+    }
+
+    @Test
+    public void nameIndex_suggest_shouldOfferPrefixMatchesThenCloseNames() {
+        // when: I ask for suggestions for a prefix and for a typo
+        List<String> prefixed = names.suggest("gob");
+        List<String> typo = names.suggest("trol");
+        List<String> none = names.suggest("dragon");
+
+        // then: I expect the names starting with the prefix, and the one close to the typo
+        Assert.assertEquals(Arrays.asList("Goblin", "Goblin_2"), prefixed);
+        Assert.assertEquals(Arrays.asList("Troll"), typo);
+        Assert.assertTrue("nothing is close to dragon", none.isEmpty());
+
+        // and: I expect a hint only when there's something to suggest
+        Assert.assertEquals("; did you mean Troll?", names.hint("trol"));
+        Assert.assertEquals("", names.hint("dragon"));
+    }
+
+    @Test
+    public void nameIndex_suggest_shouldRankByDistance() {
+        // when: I ask for suggestions for a name with one wrong letter
+        List<String> result = names.suggest("Ork");
+
+        // then: I expect the closest name first, and no more than the maximum
+        Assert.assertEquals("Orc", result.get(0));
+        Assert.assertTrue("should cap suggestions", result.size() <= NameIndex.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    public void nameIndex_putAndRemove_shouldKeepNamesCurrent() {
+        // given: a loaded index
+        names.contains("orc");
+
+        // when: I rename one entity, add another and remove a third
+        names.put(3L, "Half-Orc");
+        names.put(10L, "Dragon");
+        names.remove(5L);
+
+        // then: I expect the index to reflect the changes without reloading
+        Assert.assertFalse("old name should be gone", names.contains("orc"));
+        Assert.assertTrue("new name should be there", names.contains("half-orc"));
+        Assert.assertTrue("added name should be there", names.contains("dragon"));
+        Assert.assertFalse("removed name should be gone", names.contains("troll"));
+        Assert.assertEquals("should load once", 1, loads);
+    }
+
+    @Test
+    public void nameIndex_clear_shouldReload() {
+        // given: a loaded index
+        names.contains("orc");
+
+        // when: I clear it and look again
+        index.clear();
+        names.contains("orc");
+
+        // then: I expect the names to have been loaded again
+        Assert.assertEquals("should load twice", 2, loads);
+    }
+
+    @Test
+    public void nameIndex_put_shouldNotLoad() {
+        // when: I record a name before the index is loaded
+        names.put(10L, "Dragon");
+
+        // then: I expect nothing to have been loaded yet, and the name to come with the load
+        Assert.assertEquals("should not load", 0, loads);
+        Assert.assertFalse("the loader doesn't know about it", names.contains("dragon"));
+    }
+
+    @Test
+    public void nameIndex_contains_shouldNotKeepNamesLoadedInARolledBackTransaction() {
+        // given: names first looked at inside a transaction
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> names.contains("orc"));
+
+        // when: the transaction rolls back, and I look again
+        for (TransactionSynchronization sync : synchronizations) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        names.contains("orc");
+
+        // then: I expect the names loaded afresh
+        Assert.assertEquals("should load twice", 2, loads);
+    }
+
+    @Test
+    public void nameIndex_contains_shouldKeepNamesLoadedInACommittedTransaction() {
+        // given: names first looked at inside a transaction
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> names.contains("orc"));
+
+        // when: the transaction commits, and I look again
+        for (TransactionSynchronization sync : synchronizations) {
+            sync.afterCommit();
+        }
+        names.contains("orc");
+
+        // then: I expect the names from the transaction kept
+        Assert.assertEquals("should load once", 1, loads);
+    }
+
+    private List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
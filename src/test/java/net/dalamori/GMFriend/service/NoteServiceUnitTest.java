@@ -9,7 +9,11 @@ import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.NoteDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
+import net.dalamori.GMFriend.services.ListCursor;
+import net.dalamori.GMFriend.services.ListPage;
+import net.dalamori.GMFriend.services.NameIndex;
 import net.dalamori.GMFriend.services.NoteService;
 import net.dalamori.GMFriend.services.impl.NoteServiceImpl;
 import net.dalamori.GMFriend.testing.TestDataFactory;
@@ -26,9 +30,11 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -67,6 +73,8 @@ public class NoteServiceUnitTest {
 
         NoteServiceImpl impl;
         impl = new NoteServiceImpl();
+        impl.setDataVersions(new DataVersions());
+        impl.setNameIndex(new NameIndex());
         impl.setConfig(config);
         impl.setGroupService(mockGroupService);
         impl.setNoteDao(mockDao);
@@ -246,15 +254,16 @@ public class NoteServiceUnitTest {
         // given: a sample ID
         String title = "War and Peace";
 
-        // and: a mock reply
-        Mockito.when(mockDao.existsByTitle(title)).thenReturn(true);
+        // and: the titles from the dao
+        Mockito.when(mockDao.findAllNames()).thenReturn(TestDataFactory.makeNamedIds(title, "Dune"));
 
         // when: I poll the service
         boolean result = service.exists(title);
 
-        // then: I expect to see that passed thru to the dao, and the dao's retval returned
-        Assert.assertTrue("should get returnvalue from the dao", result);
-        Mockito.verify(mockDao).existsByTitle(title);
+        // then: I expect to see it answered from the titles, without a per-title query
+        Assert.assertTrue("should find the title", result);
+        Mockito.verify(mockDao).findAllNames();
+        Mockito.verify(mockDao, Mockito.never()).existsByTitle(Mockito.anyString());
     }
 
     @Test
@@ -415,7 +424,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
 
         // and: a saved note
         Long id = 4321L;
@@ -437,7 +446,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: a saved note
@@ -456,7 +465,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: a saved location
@@ -482,7 +491,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: a saved location
@@ -505,7 +514,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: an un-saved location
@@ -528,7 +537,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
 
         // and: a saved note
         Long id = 4321L;
@@ -551,7 +560,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE))).thenReturn(noteGroup);
 
         // and: a saved note
         Long id = null;
@@ -570,7 +579,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: a saved location
@@ -597,7 +606,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: a saved location
@@ -621,7 +630,7 @@ public class NoteServiceUnitTest {
         // given: a group
         Group noteGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.NOTE)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.NOTE)))
                 .thenReturn(noteGroup);
 
         // and: an un-saved location
@@ -658,7 +667,7 @@ public class NoteServiceUnitTest {
         globalNoteContents.add(id + 1);
         globalNoteContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(globalNoteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(globalNoteGroup);
 
         // when: I get global notes
         List<Note> result = service.getGlobalNotes();
@@ -691,7 +700,7 @@ public class NoteServiceUnitTest {
         locationNoteContents.add(id + 1);
         locationNoteContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(locationNoteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(locationNoteGroup);
 
         // and: a location;
         Location location = TestDataFactory.makeLocation(5400L, "Test Location");
@@ -726,7 +735,7 @@ public class NoteServiceUnitTest {
         locationNoteContents.add(id + 1);
         locationNoteContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(locationNoteGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(locationNoteGroup);
 
         // and: a location;
         Location location = TestDataFactory.makeLocation(null, "Test Location");
@@ -743,7 +752,49 @@ public class NoteServiceUnitTest {
 
             // and: I shouldn't see calls to the dao or groupServiced
             Mockito.verify(mockDao, Mockito.never()).findAllById(Mockito.any());
-            Mockito.verify(mockGroupService, Mockito.never()).resolveSystemGroup(Mockito.anyString(), Mockito.any());
+            Mockito.verify(mockGroupService, Mockito.never()).resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any());
         }
     }
+
+    @Test
+    public void noteService_getGlobalNotes_shouldReadOnePageOfTitlesByKey() throws GroupException, NoteException {
+        // given: a global group of five notes
+        Group globalNoteGroup = TestDataFactory.makeGroup();
+        globalNoteGroup.getContents().addAll(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(globalNoteGroup);
+        Mockito.when(mockDao.countByIdIn(Mockito.any())).thenReturn(5L);
+
+        // and: the dao finding the three titles after the second page's start
+        Mockito.when(mockDao.findAllTitlesByIdInAfter(Mockito.any(), Mockito.eq(2L), Mockito.eq(PageRequest.of(0, 3))))
+                .thenReturn(Arrays.asList(
+                        TestDataFactory.makeNamedId(3L, "three"),
+                        TestDataFactory.makeNamedId(4L, "four"),
+                        TestDataFactory.makeNamedId(5L, "five")));
+
+        // when: I ask for page 2, two to a page
+        ListPage<List<Note>> page = service.getGlobalNotes(ListCursor.page(2, 2));
+
+        // then: I expect the two titles, the total, and where to carry on
+        Assert.assertEquals("shown", 2, page.getShown());
+        Assert.assertEquals("total", 5L, page.getTotal());
+        Assert.assertEquals("first title", "three", page.getRows().get(0).getTitle());
+        Assert.assertEquals("next", Long.valueOf(4L), page.getNext());
+
+        // and: I expect no note bodies loaded
+        Mockito.verify(mockDao, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    public void noteService_getGlobalNotes_shouldSkipTheQueriesForAnEmptyGroup() throws GroupException, NoteException {
+        // given: an empty global group
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(TestDataFactory.makeGroup());
+
+        // when: I ask for the first page
+        ListPage<List<Note>> page = service.getGlobalNotes(ListCursor.first(25));
+
+        // then: I expect an empty page, without a query
+        Assert.assertEquals("total", 0L, page.getTotal());
+        Assert.assertNull("next", page.getNext());
+        Mockito.verify(mockDao, Mockito.never()).countByIdIn(Mockito.any());
+    }
 }
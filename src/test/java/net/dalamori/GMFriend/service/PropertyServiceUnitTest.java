@@ -10,6 +10,7 @@ import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
 import net.dalamori.GMFriend.repository.PropertyDao;
+import net.dalamori.GMFriend.services.DataVersions;
 import net.dalamori.GMFriend.services.GroupService;
 import net.dalamori.GMFriend.services.PropertyService;
 import net.dalamori.GMFriend.services.impl.PropertyServiceImpl;
@@ -66,6 +67,7 @@ public class PropertyServiceUnitTest {
         property.setValue(PROP_VALUE);
 
         PropertyServiceImpl impl = new PropertyServiceImpl();
+        impl.setDataVersions(new DataVersions());
 
         impl.setConfig(config);
         impl.setGroupService(mockGroupService);
@@ -348,7 +350,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved creature
@@ -373,7 +375,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: an un-saved creature
@@ -394,7 +396,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved creature
@@ -416,7 +418,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -441,7 +443,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -462,7 +464,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -483,7 +485,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved property
@@ -505,7 +507,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved property
@@ -523,7 +525,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved creature
@@ -550,7 +552,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved creature
@@ -573,7 +575,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved creature
@@ -596,7 +598,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -623,7 +625,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -646,7 +648,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved mobile
@@ -669,7 +671,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved property
@@ -692,7 +694,7 @@ public class PropertyServiceUnitTest {
         // given: a group
         Group propertyGroup = TestDataFactory.makeGroup();
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.anyString(), Mockito.eq(PropertyType.PROPERTY)))
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.eq(PropertyType.PROPERTY)))
                 .thenReturn(propertyGroup);
 
         // and: a saved property
@@ -725,7 +727,7 @@ public class PropertyServiceUnitTest {
         creaturePropertyContents.add(id + 1);
         creaturePropertyContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(creaturePropertyGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(creaturePropertyGroup);
 
         // and: a creature;
         Creature creature = TestDataFactory.makeCreature(5400L, "Test Creature");
@@ -760,7 +762,7 @@ public class PropertyServiceUnitTest {
         mobilePropertyContents.add(id + 1);
         mobilePropertyContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(mobilePropertyGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(mobilePropertyGroup);
 
         // and: a mobile;
         Mobile mobile = TestDataFactory.makeMobile(5400L, "Test Mobile");
@@ -795,7 +797,7 @@ public class PropertyServiceUnitTest {
         globalPropertyContents.add(id + 1);
         globalPropertyContents.add(id + 2);
 
-        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any())).thenReturn(globalPropertyGroup);
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(globalPropertyGroup);
 
         // when: I get global properties
         Map<String, Property> result = service.getGlobalProperties();
@@ -811,4 +813,36 @@ public class PropertyServiceUnitTest {
         Set<Long> capturedIds = (Set<Long>) findIdsCaptor.getValue();
         Assert.assertEquals("should pass mock group contents into dao", globalPropertyContents, capturedIds);
     }
+
+    @Test
+    public void propertyService_getGlobalProperty_shouldLookUpOneByName() throws GroupException, PropertyException {
+        // given: a global group holding the property
+        Property active = TestDataFactory.makeProperty(1400L, "$ACTIVE");
+        Group globalPropertyGroup = TestDataFactory.makeGroup();
+        globalPropertyGroup.getContents().add(1400L);
+        globalPropertyGroup.getContents().add(1401L);
+
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(globalPropertyGroup);
+        Mockito.when(mockDao.findFirstByNameAndIdIn(Mockito.eq("$ACTIVE"), Mockito.any())).thenReturn(Optional.of(active));
+
+        // when: I get it by name
+        Property result = service.getGlobalProperty("$ACTIVE");
+
+        // then: I expect the one property, without loading the rest
+        Assert.assertEquals(active, result);
+        Mockito.verify(mockDao, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    public void propertyService_getGlobalProperty_shouldReturnNullForAnEmptyGroup() throws GroupException, PropertyException {
+        // given: an empty global group
+        Mockito.when(mockGroupService.resolveSystemGroup(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(TestDataFactory.makeGroup());
+
+        // when: I get a property by name
+        Property result = service.getGlobalProperty("$ACTIVE");
+
+        // then: I expect none, and no query
+        Assert.assertNull(result);
+        Mockito.verify(mockDao, Mockito.never()).findFirstByNameAndIdIn(Mockito.any(), Mockito.any());
+    }
 }
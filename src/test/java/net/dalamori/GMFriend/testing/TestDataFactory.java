@@ -10,9 +10,12 @@ import net.dalamori.GMFriend.models.Note;
 import net.dalamori.GMFriend.models.Property;
 import net.dalamori.GMFriend.models.enums.PrivacyType;
 import net.dalamori.GMFriend.models.enums.PropertyType;
+import net.dalamori.GMFriend.repository.NamedId;
 
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class TestDataFactory {
 
@@ -181,4 +184,28 @@ public class TestDataFactory {
     public static Property makeProperty() {
         return makeProperty(DEFAULT_ID, DEFAULT_NAME);
     }
+
+    // Name index rows
+    public static NamedId makeNamedId(Long id, String name) {
+        return new NamedId() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    public static List<NamedId> makeNamedIds(String... names) {
+        List<NamedId> rows = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            rows.add(makeNamedId(Long.valueOf(i + 1), names[i]));
+        }
+
+        return rows;
+    }
 }
@@ -0,0 +1,68 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(UnitTest.class)
+public class CommandDispatcherUnitTest {
+
+    private CommandDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        dispatcher = new CommandDispatcher(2, 100);
+    }
+
+    @After
+    public void teardown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void commandDispatcher_drain_shouldFinishQueuedWork() throws Exception {
+        // given: a backlog of slow commands on one channel
+        AtomicInteger finished = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.submit(1L, () -> {
+                sleep(20);
+                finished.incrementAndGet();
+            });
+        }
+
+        // when: I drain the dispatcher
+        boolean drained = dispatcher.drain(5, TimeUnit.SECONDS);
+
+        // then: every queued command should have run, and new work should be refused
+        Assert.assertTrue("drained in time", drained);
+        Assert.assertEquals("all commands ran", 5, finished.get());
+        Assert.assertFalse("closed to new work", dispatcher.submit(1L, () -> { }));
+    }
+
+    @Test
+    public void commandDispatcher_drain_shouldGiveUpAtDeadline() throws Exception {
+        // given: a command that won't finish before the deadline
+        dispatcher.submit(1L, () -> sleep(500));
+
+        // when: I drain with a short deadline
+        boolean drained = dispatcher.drain(50, TimeUnit.MILLISECONDS);
+
+        // then: the drain should report that work was left behind
+        Assert.assertFalse("not drained", drained);
+        Assert.assertEquals("still pending", 1, dispatcher.getPending());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.exceptions.DmFriendGeneralServiceException;
+import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.metrics.CommandMetrics;
+import net.dalamori.GMFriend.models.Macro;
+import net.dalamori.GMFriend.repository.MacroDao;
+import net.dalamori.GMFriend.services.MacroService;
+import net.dalamori.GMFriend.testing.IntegrationTest;
+import net.dalamori.GMFriend.testing.TestDataFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Category(IntegrationTest.class)
+public class DispatchStageIntegrationTest {
+
+    @Autowired
+    public MacroDao macroDao;
+
+    @Autowired
+    public MacroService macroService;
+
+    @Autowired
+    public AbstractCommand rootCommand;
+
+    @Autowired
+    public PlatformTransactionManager transactionManager;
+
+    private CommandDispatcher dispatcher;
+    private DispatchStage stage;
+
+    @Before
+    public void setup() {
+        dispatcher = new CommandDispatcher(1, 1);
+        stage = new DispatchStage(dispatcher, rootCommand, new CommandMetrics(0),
+                new TransactionTemplate(transactionManager), "busy");
+    }
+
+    @After
+    public void teardown() {
+        dispatcher.shutdown();
+        macroDao.deleteAll();
+    }
+
+    @Test
+    public void dispatchStage_executeBatch_shouldKeepWritesPastAHandledNotFound() throws DmFriendGeneralServiceException {
+        // given: a batch with a write, then a lookup the command answers with "Not Found!"
+        CommandContext define = TestDataFactory.makeContextFromCommandLine(";; macro def round = turn next");
+        CommandContext show = TestDataFactory.makeContextFromCommandLine(";; macro show nothing_here");
+
+        // when: I run the batch
+        CommandContext result = stage.executeBatch(Arrays.asList(define, show));
+
+        // then: both commands should report normally, and the write should be saved
+        Assert.assertEquals("combined response", "OK\nNot Found!\n", result.getResponse());
+
+        Macro macro = macroService.read("", "round");
+        Assert.assertEquals("body", "turn next", macro.getBody());
+    }
+}
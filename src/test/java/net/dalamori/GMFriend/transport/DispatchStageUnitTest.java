@@ -0,0 +1,178 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.exceptions.InterpreterException;
+import net.dalamori.GMFriend.interpreter.AbstractCommand;
+import net.dalamori.GMFriend.interpreter.CommandContext;
+import net.dalamori.GMFriend.metrics.CommandMetrics;
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Category(UnitTest.class)
+public class DispatchStageUnitTest {
+
+    private static final String BUSY = "busy";
+
+    private CommandDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        dispatcher = new CommandDispatcher(1, 1);
+    }
+
+    @After
+    public void teardown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void dispatchStage_dispatch_shouldReplyWithResponse() throws Exception {
+        // given: an interpreter that echoes the command
+        DispatchStage stage = new DispatchStage(dispatcher, new EchoCommand(), new CommandMetrics(0), null, BUSY);
+        FutureReplyChannel channel = new FutureReplyChannel();
+
+        // when: I dispatch a command
+        boolean result = stage.dispatch(channel, makeContext("roll", "dice"));
+
+        // then: the reply channel should get the response
+        Assert.assertTrue("dispatch accepted", result);
+        Assert.assertEquals("response", "roll dice", channel.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals("accepted count", 1, stage.getAccepted());
+    }
+
+    @Test
+    public void dispatchStage_dispatch_shouldReplyBusyWhenSaturated() throws Exception {
+        // given: a dispatcher whose only slot is held by a blocked command
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.submit(1L, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        DispatchStage stage = new DispatchStage(dispatcher, new EchoCommand(), new CommandMetrics(0), null, BUSY);
+        FutureReplyChannel channel = new FutureReplyChannel();
+
+        // when: I dispatch another command
+        boolean result = stage.dispatch(channel, makeContext("roll"));
+        release.countDown();
+
+        // then: it should be dropped with the busy message
+        Assert.assertFalse("dispatch refused", result);
+        Assert.assertEquals("response", BUSY, channel.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals("dropped count", 1, stage.getDropped());
+    }
+
+    @Test
+    public void dispatchStage_execute_shouldReportUncaughtErrors() {
+        // given: an interpreter that always fails
+        DispatchStage stage = new DispatchStage(dispatcher, new FailCommand(), new CommandMetrics(0), null, BUSY);
+
+        // when: I execute a command
+        CommandContext context = stage.execute(makeContext("roll"));
+
+        // then: the error should become the response
+        Assert.assertEquals("response", "Error Received, and not caught!: nope", context.getResponse());
+    }
+
+    @Test
+    public void dispatchStage_dispatch_shouldReplyWhenACommandThrowsUnexpectedly() throws Exception {
+        // given: an interpreter that blows up with a runtime exception
+        DispatchStage stage = new DispatchStage(dispatcher, new BrokenCommand(), new CommandMetrics(0), null, BUSY);
+        FutureReplyChannel channel = new FutureReplyChannel();
+
+        // when: I dispatch a command
+        stage.dispatch(channel, makeContext("roll"));
+
+        // then: the channel should still get a reply
+        Assert.assertEquals("response", DispatchStage.UNEXPECTED_ERROR, channel.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dispatchStage_dispatchBatch_shouldReplyWhenACommandThrowsUnexpectedly() throws Exception {
+        // given: an interpreter that blows up with a runtime exception
+        DispatchStage stage = new DispatchStage(dispatcher, new BrokenCommand(), new CommandMetrics(0), null, BUSY);
+        FutureReplyChannel channel = new FutureReplyChannel();
+
+        // when: I dispatch a batch
+        stage.dispatchBatch(channel, Arrays.asList(makeContext("roll"), makeContext("never")));
+
+        // then: the batch should stop at the failure and still reply
+        Assert.assertEquals("response", DispatchStage.UNEXPECTED_ERROR + "\n**Batch stopped at command 1.**",
+                channel.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dispatchStage_executeBatch_shouldCombineResponsesAndStopAtFailure() {
+        // given: an interpreter that fails on "fail", and a batch with a failure in the middle
+        AbstractCommand interpreter = new AbstractCommand() {
+            @Override
+            public void handle(CommandContext context) throws InterpreterException {
+                if (context.getCommand().get(0).equals("fail")) {
+                    throw new InterpreterException("nope");
+                }
+                context.setResponse(String.join(" ", context.getCommand()));
+            }
+        };
+        DispatchStage stage = new DispatchStage(dispatcher, interpreter, new CommandMetrics(0), null, BUSY);
+
+        // when: I run the batch
+        CommandContext result = stage.executeBatch(Arrays.asList(
+                makeContext("first"), makeContext("fail"), makeContext("never")));
+
+        // then: I expect both responses up to the failure, and a note of where it stopped
+        Assert.assertEquals("combined response",
+                "first\nError Received, and not caught!: nope\n**Batch stopped at command 2.**",
+                result.getResponse());
+        Assert.assertEquals("label", "batch", result.pathLabel());
+    }
+
+    private static CommandContext makeContext(String... command) {
+        CommandContext context = new CommandContext();
+        context.setCommand(Arrays.asList(command));
+        context.setOwner("owner");
+        return context;
+    }
+
+    private static class EchoCommand extends AbstractCommand {
+        @Override
+        public void handle(CommandContext context) {
+            context.setResponse(String.join(" ", context.getCommand()));
+        }
+    }
+
+    private static class FailCommand extends AbstractCommand {
+        @Override
+        public void handle(CommandContext context) throws InterpreterException {
+            throw new InterpreterException("nope");
+        }
+    }
+
+    private static class BrokenCommand extends AbstractCommand {
+        @Override
+        public void handle(CommandContext context) {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    private static class FutureReplyChannel extends CompletableFuture<String> implements ReplyChannel {
+        @Override
+        public long getId() {
+            return 2L;
+        }
+
+        @Override
+        public void reply(String response) {
+            complete(response);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PrefixGateStageUnitTest {
+
+    private PrefixGateStage gate;
+
+    @Before
+    public void setup() {
+        gate = new PrefixGateStage(";;");
+    }
+
+    @Test
+    public void prefixGate_test_shouldAcceptPrefixedCommands() {
+        // when: I offer prefixed commands, with and without a space after the prefix
+        boolean attached = gate.test(";;mob list");
+        boolean spaced = gate.test(";; turn next");
+
+        // then: both should pass
+        Assert.assertTrue("attached prefix passes", attached);
+        Assert.assertTrue("spaced prefix passes", spaced);
+        Assert.assertEquals("accepted count", 2, gate.getAccepted());
+        Assert.assertEquals("dropped count", 0, gate.getDropped());
+    }
+
+    @Test
+    public void prefixGate_test_shouldDropChatter() {
+        // when: I offer ordinary messages, a lone partial prefix, and nothing at all
+        gate.test("hey, who brought the snacks?");
+        gate.test(";");
+        gate.test("");
+        gate.test(null);
+
+        // then: all of them should be dropped
+        Assert.assertEquals("accepted count", 0, gate.getAccepted());
+        Assert.assertEquals("dropped count", 4, gate.getDropped());
+    }
+
+    @Test
+    public void prefixGate_test_shouldIgnoreCase() {
+        // given: a prefix with letters in it
+        gate = new PrefixGateStage("!gm");
+
+        // when: I offer a command in a different case
+        boolean result = gate.test("!GM help");
+
+        // then: it should pass, same as the command map's lower-cased lookup
+        Assert.assertTrue("case-insensitive match", result);
+    }
+}
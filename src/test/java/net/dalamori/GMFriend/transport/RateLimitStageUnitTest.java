@@ -0,0 +1,88 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class RateLimitStageUnitTest {
+
+    private static final long HOUR = 3600000L;
+
+    @Test
+    public void rateLimitStage_test_shouldThrottleUserAfterBucketEmpties() {
+        // given: 2 tokens per user, refilled slowly
+        RateLimitStage stage = new RateLimitStage(new TokenBuckets<>(2, HOUR), new TokenBuckets<>(0, HOUR));
+
+        // when: one user sends 3 commands, then another user sends 1
+        boolean first = stage.test("spammer#0001", "guild");
+        boolean second = stage.test("spammer#0001", "guild");
+        boolean third = stage.test("spammer#0001", "guild");
+        boolean other = stage.test("player#0002", "guild");
+
+        // then: only the spammer's third command should be throttled
+        Assert.assertTrue("first passes", first);
+        Assert.assertTrue("second passes", second);
+        Assert.assertFalse("third throttled", third);
+        Assert.assertTrue("other user unaffected", other);
+        Assert.assertEquals("user throttled count", 1, stage.getUserThrottled());
+        Assert.assertEquals("dropped count", 1, stage.getDropped());
+    }
+
+    @Test
+    public void rateLimitStage_test_shouldThrottleGuildAcrossUsers() {
+        // given: plenty of tokens per user, but only 2 per guild
+        RateLimitStage stage = new RateLimitStage(new TokenBuckets<>(10, HOUR), new TokenBuckets<>(2, HOUR));
+
+        // when: three users in one guild each send a command, and a user with no guild sends one
+        stage.test("a#0001", "guild");
+        stage.test("b#0002", "guild");
+        boolean third = stage.test("c#0003", "guild");
+        boolean direct = stage.test("c#0003", null);
+
+        // then: the guild's third command should be throttled, but not the one from outside the guild
+        Assert.assertFalse("guild throttled", third);
+        Assert.assertTrue("no guild, no guild limit", direct);
+        Assert.assertEquals("guild throttled count", 1, stage.getGuildThrottled());
+    }
+
+    @Test
+    public void rateLimitStage_test_shouldNotChargeUsersForGuildThrottledCommands() {
+        // given: 2 tokens per user, and a guild that has run dry
+        TokenBuckets<String> guilds = new TokenBuckets<>(1, HOUR);
+        RateLimitStage stage = new RateLimitStage(new TokenBuckets<>(2, HOUR), guilds);
+        guilds.tryTake("busy");
+
+        // when: a user sends three commands to the busy guild, then two from outside it
+        stage.test("player#0002", "busy");
+        stage.test("player#0002", "busy");
+        stage.test("player#0002", "busy");
+        boolean first = stage.test("player#0002", null);
+        boolean second = stage.test("player#0002", null);
+
+        // then: the guild's refusals should have left the user's tokens alone
+        Assert.assertEquals("guild throttled count", 3, stage.getGuildThrottled());
+        Assert.assertTrue("first passes", first);
+        Assert.assertTrue("second passes", second);
+        Assert.assertEquals("user throttled count", 0, stage.getUserThrottled());
+    }
+
+    @Test
+    public void tokenBuckets_sweep_shouldEvictRefilledBuckets() throws Exception {
+        // given: buckets that refill within a few milliseconds, and one that won't
+        TokenBuckets<String> fast = new TokenBuckets<>(1, 1);
+        TokenBuckets<String> slow = new TokenBuckets<>(1, HOUR);
+        fast.tryTake("idle");
+        slow.tryTake("busy");
+
+        // when: I sweep after the fast bucket has refilled
+        Thread.sleep(10);
+        fast.sweep();
+        slow.sweep();
+
+        // then: only the refilled bucket should be gone
+        Assert.assertEquals("refilled bucket evicted", 0, fast.size());
+        Assert.assertEquals("empty bucket kept", 1, slow.size());
+    }
+}
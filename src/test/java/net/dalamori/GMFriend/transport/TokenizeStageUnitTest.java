@@ -0,0 +1,52 @@
+package net.dalamori.GMFriend.transport;
+
+import net.dalamori.GMFriend.testing.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class TokenizeStageUnitTest {
+
+    private TokenizeStage stage;
+
+    @Before
+    public void setup() {
+        stage = new TokenizeStage(";;", 3);
+    }
+
+    @Test
+    public void tokenizeStage_split_shouldSplitBeforePrefixedCommands() {
+        // when: I split a batch on semicolons and newlines
+        List<String> commands = stage.split(";;mob dmg goblin 3; ;;mob dmg orc 2\n;;turn next");
+
+        // then: I expect three commands
+        Assert.assertEquals("commands",
+                Arrays.asList(";;mob dmg goblin 3", " ;;mob dmg orc 2", ";;turn next"), commands);
+    }
+
+    @Test
+    public void tokenizeStage_split_shouldLeaveOtherSeparatorsAlone() {
+        // when: I split a multi-line note with a semicolon in it
+        String note = ";;note new Plans\nfirst, the docks; then\nthe tower";
+        List<String> commands = stage.split(note);
+
+        // then: it should stay one command
+        Assert.assertEquals("one command", Collections.singletonList(note), commands);
+    }
+
+    @Test
+    public void tokenizeStage_tokenize_shouldRefuseOversizedBatches() {
+        // when: I tokenize a batch over the limit
+        Object batch = stage.tokenize(Arrays.asList(";;a", ";;b", ";;c", ";;d"), "owner", null);
+
+        // then: it should be dropped
+        Assert.assertNull("refused", batch);
+        Assert.assertEquals("dropped count", 1, stage.getDropped());
+    }
+}